@@ -0,0 +1,47 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx
+
+import io.gatling.core.Predef._
+import org.eclipse.openvsx.Scenarios._
+
+import scala.concurrent.duration.DurationInt
+
+/**
+ * Steady-state traffic with roughly the mix of a public registry: mostly update checks and web resources from VS Code,
+ * some downloads and a few Registry API reads. The assertions report the p50 and p99 response time of every endpoint.
+ */
+class MixedTrafficSimulation extends Simulation {
+  private val getExtension = feed(csv(ExtensionFeed).random)
+    .exec(registryGetExtension)
+
+  private val download = feed(csv(ExtensionVersionFeed).random)
+    .exec(vspackage)
+
+  private val endpoints = Seq(
+    "VSCodeAdapter.extensionQuery.updateCheck",
+    "VSCodeAdapter.getWebResource",
+    "VSCodeAdapter.browse.webResource",
+    "VSCodeAdapter.download",
+    "RegistryAPI.getExtension"
+  )
+
+  setUp(
+    steadyStateScenario("Update Check", extensionQueryUpdateCheck(200)).inject(rampUsersPerSec(1).to(10).during(1.minute), constantUsersPerSec(10).during(steadyStateDuration)),
+    steadyStateScenario("Web Resource", webResource).inject(rampUsersPerSec(1).to(20).during(1.minute), constantUsersPerSec(20).during(steadyStateDuration)),
+    steadyStateScenario("Browse Web Resource", unpkgWebResource).inject(rampUsersPerSec(1).to(5).during(1.minute), constantUsersPerSec(5).during(steadyStateDuration)),
+    steadyStateScenario("Download", download).inject(rampUsersPerSec(1).to(5).during(1.minute), constantUsersPerSec(5).during(steadyStateDuration)),
+    steadyStateScenario("Get Extension", getExtension).inject(rampUsersPerSec(1).to(2).during(1.minute), constantUsersPerSec(2).during(steadyStateDuration))
+  ).protocols(httpProtocol)
+    .assertions(endpoints.flatMap(endpoint => Seq(
+      details(endpoint).responseTime.percentile(50).lt(conf.getInt("steadyStateMaxP50")),
+      details(endpoint).responseTime.percentile(99).lt(conf.getInt("steadyStateMaxP99"))
+    )))
+}
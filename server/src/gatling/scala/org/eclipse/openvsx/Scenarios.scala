@@ -12,12 +12,12 @@ package org.eclipse.openvsx
 import com.typesafe.config.ConfigFactory
 import io.gatling.core.Predef._
 import io.gatling.core.session.Expression
-import io.gatling.core.structure.ScenarioBuilder
+import io.gatling.core.structure.{ChainBuilder, ScenarioBuilder}
 import io.gatling.http.Predef._
 
 import java.nio.file.Files
 import scala.collection.mutable.ListBuffer
-import scala.concurrent.duration.DurationInt
+import scala.concurrent.duration.{DurationInt, FiniteDuration}
 import scala.reflect.io.File
 
 object Scenarios {
@@ -28,6 +28,7 @@ object Scenarios {
   
   val conf = ConfigFactory.load()
   val users = 5
+  val steadyStateDuration: FiniteDuration = conf.getDuration("steadyStateDuration").toSeconds.seconds
   val httpProtocol = http
     .baseUrl(conf.getString("baseUrl"))
     .disableCaching
@@ -142,6 +143,11 @@ object Scenarios {
       }
   }
 
+  val registryGetExtension: ChainBuilder = exec(http("RegistryAPI.getExtension")
+    .get("""/api/#{namespace}/#{name}""")
+    .headers(headers())
+    .check(status.is(200)))
+
   def getExtensionScenario(): ScenarioBuilder = {
     scenario("RegistryAPI: Get Extension")
       .repeat(1000) {
@@ -432,12 +438,64 @@ object Scenarios {
       }
   }
 
+  def extensionQueryUpdateCheck(extensionsCount: Int): ChainBuilder = {
+    val buildRequestBody: Expression[String] = session => {
+      val namespaces = session("namespace").as[Seq[String]]
+      val names = session("name").as[Seq[String]]
+      val criteria = namespaces.zip(names)
+        .map { case (namespace, name) => s"""{"filterType":7,"value":"$namespace.$name"}""" }
+        .mkString(",")
+
+      s"""{"filters":[{"criteria":[{"filterType":8,"value":"Microsoft.VisualStudio.Code"},$criteria],"pageNumber":1,"pageSize":$extensionsCount,"sortBy":0,"sortOrder":0}],"assetTypes":[],"flags":950}"""
+    }
+
+    feed(csv(ExtensionFeed).random, extensionsCount)
+      .exec(http("VSCodeAdapter.extensionQuery.updateCheck")
+        .post(s"/vscode/gallery/extensionquery")
+        .headers(headers())
+        .body(StringBody(buildRequestBody)).asJson
+        .requestTimeout(3.minutes)
+        .check(status.is(200)))
+  }
+
+  def extensionQueryUpdateCheckScenario(extensionsCount: Int = 200): ScenarioBuilder = {
+    scenario("VSCodeAdapter: Extension Query Update Check")
+      .repeat(100) {
+        exec(extensionQueryUpdateCheck(extensionsCount))
+      }
+  }
+
+  val vspackage: ChainBuilder = exec(http("VSCodeAdapter.download")
+    .get("""/vscode/gallery/publishers/#{namespace}/vsextensions/#{name}/#{version}/vspackage""")
+    .headers(headers())
+    .requestTimeout(3.minutes)
+    .check(status.is(200)))
+
   def vspackageScenario(): ScenarioBuilder = {
     scenario("VSCodeAdapter: Download")
       .repeat(1000) {
         feed(csv(ExtensionVersionFeed).circular)
-          .exec(http("VSCodeAdapter.download")
-            .get("""/vscode/gallery/publishers/#{namespace}/vsextensions/#{name}/#{version}/vspackage""")
+          .exec(vspackage)
+      }
+  }
+
+  /**
+   * Many users downloading the same extension version at the same time, e.g. right after a popular release.
+   * All downloads increase the download count of one extension.
+   */
+  def downloadStormScenario(): ScenarioBuilder = {
+    val extension = Map(
+      "namespace" -> conf.getString("downloadStormNamespace"),
+      "name" -> conf.getString("downloadStormName"),
+      "version" -> conf.getString("downloadStormVersion")
+    )
+
+    scenario("Download Storm")
+      .exec(_.setAll(extension))
+      .repeat(50) {
+        exec(vspackage)
+          .exec(http("RegistryAPI.getFile.download")
+            .get("""/api/#{namespace}/#{name}/#{version}/file/#{namespace}.#{name}-#{version}.vsix""")
             .headers(headers())
             .requestTimeout(3.minutes)
             .check(status.is(200)))
@@ -490,15 +548,39 @@ object Scenarios {
       }
   }
 
+  val webResource: ChainBuilder = feed(csv("adapter/webresources.csv").random)
+    .exec(http("VSCodeAdapter.getWebResource")
+      .get("""/vscode/asset/#{namespace}/#{extension}/#{version}/Microsoft.VisualStudio.Code.WebResources#{asset}""")
+      .headers(headers())
+      .requestTimeout(3.minutes)
+      .check(status.is(200)))
+
+  val unpkgWebResource: ChainBuilder = feed(csv("adapter/webresources.csv").random)
+    .exec(http("VSCodeAdapter.browse.webResource")
+      .get("""/vscode/unpkg/#{namespace}/#{extension}/#{version}#{asset}""")
+      .headers(headers())
+      .requestTimeout(3.minutes)
+      .check(status.is(200)))
+
   def getWebResourceScenario(): ScenarioBuilder = {
     scenario("VSCodeAdapter: Get WebResource")
       .repeat(10000) {
-        feed(csv("adapter/webresources.csv").random)
-          .exec(http("VSCodeAdapter.getWebResource")
-            .get("""/vscode/asset/#{namespace}/#{extension}/#{version}/Microsoft.VisualStudio.Code.WebResources#{asset}""")
-            .headers(headers())
-            .requestTimeout(3.minutes)
-            .check(status.is(200)))
+        exec(webResource)
       }
   }
+
+  def unpkgWebResourceScenario(): ScenarioBuilder = {
+    scenario("VSCodeAdapter: Browse WebResource")
+      .repeat(10000) {
+        exec(unpkgWebResource)
+      }
+  }
+
+  /**
+   * Open workload of single requests for the mixed steady-state profile:
+   * every virtual user sends one request and new users keep arriving at a fixed rate.
+   */
+  def steadyStateScenario(name: String, chain: ChainBuilder): ScenarioBuilder = {
+    scenario(s"Steady State: $name").exec(chain)
+  }
 }
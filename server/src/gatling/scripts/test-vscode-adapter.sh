@@ -6,4 +6,8 @@ cd ../../..
 ./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterItemSimulation
 ./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterUnpkgSimulation
 ./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterVspackageSimulation
+./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterExtensionQueryUpdateCheckSimulation
+./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterExtensionQueryUpdateCheckXLSimulation
+./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterGetWebResourceSimulation
+./gradlew --rerun-tasks gatlingRun --simulation=org.eclipse.openvsx.adapter.VSCodeAdapterUnpkgWebResourceSimulation
 cd src/gatling/scripts
\ No newline at end of file
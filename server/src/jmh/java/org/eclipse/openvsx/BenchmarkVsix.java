@@ -0,0 +1,95 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a minimal extension package for benchmarks, with a manifest, a package.json
+ * and a number of pseudo-random files. The seed is fixed so every run signs and parses the same bytes.
+ */
+public final class BenchmarkVsix {
+
+    private static final String VSIX_MANIFEST = """
+            <?xml version="1.0" encoding="utf-8"?>
+            <PackageManifest Version="2.0.0" xmlns="http://schemas.microsoft.com/developer/vsx-schema/2011" xmlns:d="http://schemas.microsoft.com/developer/vsx-schema-design/2011">
+              <Metadata>
+                <Identity Language="en-US" Id="bar" Version="1.2.3" Publisher="foo" TargetPlatform="linux-x64"/>
+                <DisplayName>Bar</DisplayName>
+                <Description xml:space="preserve">Benchmark extension</Description>
+                <Tags>benchmark,Benchmark,jmh,performance,__ext_bar</Tags>
+                <Categories>Other,Testing</Categories>
+                <GalleryFlags>Public</GalleryFlags>
+                <Properties>
+                  <Property Id="Microsoft.VisualStudio.Code.Engine" Value="^1.90.0" />
+                  <Property Id="Microsoft.VisualStudio.Code.ExtensionDependencies" Value="" />
+                  <Property Id="Microsoft.VisualStudio.Code.ExtensionPack" Value="" />
+                  <Property Id="Microsoft.VisualStudio.Code.ExtensionKind" Value="workspace,web" />
+                  <Property Id="Microsoft.VisualStudio.Code.LocalizedLanguages" Value="" />
+                  <Property Id="Microsoft.VisualStudio.Services.Links.Source" Value="https://github.com/foo/bar.git" />
+                  <Property Id="Microsoft.VisualStudio.Services.Branding.Color" Value="#37699A" />
+                  <Property Id="Microsoft.VisualStudio.Services.Branding.Theme" Value="dark" />
+                </Properties>
+                <License>extension/LICENSE.md</License>
+              </Metadata>
+              <Installation>
+                <InstallationTarget Id="Microsoft.VisualStudio.Code"/>
+              </Installation>
+              <Dependencies/>
+            </PackageManifest>
+            """;
+
+    private static final String PACKAGE_JSON = """
+            {
+              "name": "bar",
+              "publisher": "foo",
+              "displayName": "Bar",
+              "description": "Benchmark extension",
+              "version": "1.2.3",
+              "license": "EPL-2.0",
+              "engines": { "vscode": "^1.90.0" },
+              "categories": ["Other", "Testing"],
+              "keywords": ["benchmark", "jmh"],
+              "repository": { "type": "git", "url": "https://github.com/foo/bar.git" },
+              "bugs": { "url": "https://github.com/foo/bar/issues" },
+              "homepage": "https://github.com/foo/bar",
+              "galleryBanner": { "color": "#37699A", "theme": "dark" },
+              "main": "./out/extension.js"
+            }
+            """;
+
+    private BenchmarkVsix() {}
+
+    public static void write(Path path, int fileCount, int fileSize) throws IOException {
+        var random = new Random(42);
+        var content = new byte[fileSize];
+        try (var zip = new ZipOutputStream(Files.newOutputStream(path))) {
+            writeEntry(zip, "extension.vsixmanifest", VSIX_MANIFEST.getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "extension/package.json", PACKAGE_JSON.getBytes(StandardCharsets.UTF_8));
+            writeEntry(zip, "extension/LICENSE.md", "EPL-2.0".getBytes(StandardCharsets.UTF_8));
+            for (var i = 0; i < fileCount; i++) {
+                random.nextBytes(content);
+                writeEntry(zip, "extension/out/file" + i + ".js", content);
+            }
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+}
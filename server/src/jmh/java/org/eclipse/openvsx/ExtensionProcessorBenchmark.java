@@ -0,0 +1,51 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.util.TempFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the package.json and extension.vsixmanifest of an extension package with 200 files of 4 KiB,
+ * like publishing does before the package is stored.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ExtensionProcessorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionProcessorBenchmark {
+
+    private TempFile extensionFile;
+
+    @Setup
+    public void setup() throws IOException {
+        extensionFile = new TempFile("benchmark", ".vsix");
+        BenchmarkVsix.write(extensionFile.getPath(), 200, 4096);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        extensionFile.close();
+    }
+
+    @Benchmark
+    public ExtensionVersion getMetadata() {
+        try (var processor = new ExtensionProcessor(extensionFile)) {
+            return processor.getMetadata();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.openvsx.adapter.ExtensionQueryResult.ExtensionFile.*;
+
+/**
+ * Rewrites the URLs of an extensionquery result with 100 extensions, as returned by the upstream registry.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=UpstreamProxyServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpstreamProxyServiceBenchmark {
+
+    private static final String UPSTREAM_URL = "https://open-vsx.org";
+    private static final String ORIGIN = "https://mirror.example.com:8443";
+
+    private UpstreamProxyService proxy;
+    private ExtensionQueryResult result;
+
+    @Setup
+    public void setup() {
+        proxy = new UpstreamProxyService();
+
+        var fileTypes = List.of(FILE_ICON, FILE_DETAILS, FILE_CHANGELOG, FILE_MANIFEST, FILE_VSIX, FILE_LICENSE, FILE_SIGNATURE, FILE_PUBLIC_KEY);
+        var extensions = new ArrayList<ExtensionQueryResult.Extension>();
+        for(var i = 0; i < 100; i++) {
+            var assetUri = UPSTREAM_URL + "/vscode/asset/publisher" + i + "/extension" + i + "/1.0." + i;
+            var files = fileTypes.stream()
+                    .map(type -> new ExtensionQueryResult.ExtensionFile(type, assetUri + "/" + type))
+                    .toList();
+
+            var version = new ExtensionQueryResult.ExtensionVersion(
+                    "1.0." + i,
+                    "2026-01-01T00:00:00Z",
+                    assetUri,
+                    assetUri,
+                    files,
+                    List.of(),
+                    "universal"
+            );
+            var publisher = new ExtensionQueryResult.Publisher("Publisher " + i, "id-" + i, "publisher" + i, null, null);
+            extensions.add(new ExtensionQueryResult.Extension(
+                    "publisher" + i + ".extension" + i,
+                    "extension" + i,
+                    "Extension " + i,
+                    "Description of extension " + i,
+                    publisher,
+                    List.of(version),
+                    List.of(),
+                    List.of("tag"),
+                    "2026-01-01T00:00:00Z",
+                    "2026-01-01T00:00:00Z",
+                    "2026-01-01T00:00:00Z",
+                    List.of("Other"),
+                    ""
+            ));
+        }
+
+        var metadata = List.of(new ExtensionQueryResult.ResultMetadata("ResultCount", List.of(new ExtensionQueryResult.ResultMetadataItem("TotalCount", 100))));
+        result = new ExtensionQueryResult(List.of(new ExtensionQueryResult.ResultItem(extensions, metadata)));
+    }
+
+    @Benchmark
+    public ExtensionQueryResult rewriteExtensionQueryResult() {
+        return proxy.rewriteUrls(result, ORIGIN);
+    }
+}
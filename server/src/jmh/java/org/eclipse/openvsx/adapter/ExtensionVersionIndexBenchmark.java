@@ -0,0 +1,99 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.adapter;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.util.TargetPlatform;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Groups the versions of an extensionquery covering 100 extensions with 50 versions each
+ * and computes the latest versions per target platform and overall.
+ * {@code streamGrouping} is the grouping that extensionquery used before {@link ExtensionVersionIndex}.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ExtensionVersionIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionVersionIndexBenchmark {
+
+    private static final List<String> TARGET_PLATFORMS = List.of(
+            TargetPlatform.NAME_LINUX_X64, TargetPlatform.NAME_WIN32_X64,
+            TargetPlatform.NAME_DARWIN_ARM64, TargetPlatform.NAME_UNIVERSAL
+    );
+
+    private List<Extension> extensions;
+    private List<ExtensionVersion> versions;
+
+    @Setup
+    public void setup() {
+        extensions = new ArrayList<>();
+        versions = new ArrayList<>();
+        var id = 0L;
+        for (var e = 0; e < 100; e++) {
+            var extension = new Extension();
+            extension.setId(1000 + e);
+            extensions.add(extension);
+            for (var v = 0; v < 50; v++) {
+                var extVersion = new ExtensionVersion();
+                extVersion.setId(id++);
+                extVersion.setVersion("1." + (v / 4) + "." + (v % 4));
+                extVersion.setTargetPlatform(TARGET_PLATFORMS.get(v % TARGET_PLATFORMS.size()));
+                extVersion.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0).plusHours(v));
+                extVersion.setExtension(extension);
+                versions.add(extVersion);
+            }
+        }
+    }
+
+    @Benchmark
+    public void index(Blackhole blackhole) {
+        var index = ExtensionVersionIndex.of(versions, extensions.size());
+        for (var extension : extensions) {
+            blackhole.consume(index.getLatestPerTargetPlatform(extension.getId()));
+            blackhole.consume(index.getLatest(extension.getId()));
+        }
+    }
+
+    @Benchmark
+    public void streamGrouping(Blackhole blackhole) {
+        var latestPerPlatform = versions.stream()
+                .collect(Collectors.groupingBy(ev -> ev.getExtension().getId() + "@" + ev.getTargetPlatform()))
+                .values()
+                .stream()
+                .map(list -> list.stream().min(ExtensionVersion.SORT_COMPARATOR).orElse(null))
+                .sorted(Comparator.<ExtensionVersion, Long>comparing(ev -> ev.getExtension().getId()).thenComparing(ExtensionVersion.SORT_COMPARATOR))
+                .collect(Collectors.groupingBy(ev -> ev.getExtension().getId()));
+
+        var latest = versions.stream()
+                .collect(Collectors.groupingBy(ev -> ev.getExtension().getId()))
+                .values()
+                .stream()
+                .map(list -> list.stream().min(ExtensionVersion.SORT_COMPARATOR).orElse(null))
+                .collect(Collectors.toMap(ev -> ev.getExtension().getId(), ev -> ev));
+
+        for (var extension : extensions) {
+            blackhole.consume(latestPerPlatform.get(extension.getId()));
+            blackhole.consume(latest.get(extension.getId()));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the cache keys and cached file paths of extension files, as done on every cached file download.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=FilesCacheKeyGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilesCacheKeyGeneratorBenchmark {
+
+    private FilesCacheKeyGenerator generator;
+    private FileResource resource;
+
+    @Setup
+    public void setup() {
+        generator = new FilesCacheKeyGenerator();
+
+        var namespace = new Namespace();
+        namespace.setName("RedHat");
+        var extension = new Extension();
+        extension.setName("VSCode-YAML");
+        extension.setNamespace(namespace);
+        var extVersion = new ExtensionVersion();
+        extVersion.setVersion("1.15.0");
+        extVersion.setTargetPlatform("linux-x64");
+        extVersion.setExtension(extension);
+        resource = new FileResource();
+        resource.setName("redhat.vscode-yaml-1.15.0@linux-x64.vsix");
+        resource.setType(FileResource.DOWNLOAD);
+        resource.setExtension(extVersion);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate(resource);
+    }
+
+    @Benchmark
+    public Path generateCachedExtensionPath() {
+        return generator.generateCachedExtensionPath(resource);
+    }
+
+    @Benchmark
+    public Path generateCachedWebResourcePath() {
+        return generator.generateCachedWebResourcePath("RedHat", "VSCode-YAML", "linux-x64", "1.15.0", "extension/README.md", ".md");
+    }
+}
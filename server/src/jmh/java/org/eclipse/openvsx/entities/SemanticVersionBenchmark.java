@@ -0,0 +1,64 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.entities;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses and compares 1000 semantic versions, a mix of releases, pre-releases and build metadata.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=SemanticVersionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemanticVersionBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private String[] versions;
+    private SemanticVersion[] semanticVersions;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        versions = new String[SIZE];
+        semanticVersions = new SemanticVersion[SIZE];
+        for (var i = 0; i < SIZE; i++) {
+            var version = random.nextInt(3) + "." + random.nextInt(30) + "." + random.nextInt(100);
+            versions[i] = switch (i % 4) {
+                case 1 -> version + "-next." + random.nextInt(10);
+                case 2 -> version + "-beta.1+build." + random.nextInt(1000);
+                default -> version;
+            };
+            semanticVersions[i] = SemanticVersion.parse(versions[i]);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (var version : versions) {
+            blackhole.consume(SemanticVersion.parse(version));
+        }
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole blackhole) {
+        for (var i = 1; i < SIZE; i++) {
+            blackhole.consume(semanticVersions[i - 1].compareTo(semanticVersions[i]));
+        }
+    }
+}
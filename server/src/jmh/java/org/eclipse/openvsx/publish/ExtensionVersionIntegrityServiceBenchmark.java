@@ -0,0 +1,83 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.bouncycastle.crypto.generators.Ed25519KeyPairGenerator;
+import org.bouncycastle.crypto.params.Ed25519KeyGenerationParameters;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.eclipse.openvsx.BenchmarkVsix;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.util.TempFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs extension packages of different sizes, writing the signature archive with the signature and manifest.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ExtensionVersionIntegrityServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionVersionIntegrityServiceBenchmark {
+
+    @Param({ "10", "500" })
+    public int fileCount;
+
+    private ExtensionVersionIntegrityService integrityService;
+    private SignatureKeyPair keyPair;
+    private TempFile extensionFile;
+
+    @Setup
+    public void setup() throws IOException {
+        integrityService = new ExtensionVersionIntegrityService(null, null);
+
+        var generator = new Ed25519KeyPairGenerator();
+        generator.init(new Ed25519KeyGenerationParameters(new SecureRandom()));
+        var pair = generator.generateKeyPair();
+        keyPair = new SignatureKeyPair();
+        keyPair.setPrivateKey(((Ed25519PrivateKeyParameters) pair.getPrivate()).getEncoded());
+
+        var namespace = new Namespace();
+        namespace.setName("foo");
+        var extension = new Extension();
+        extension.setName("bar");
+        extension.setNamespace(namespace);
+        var extVersion = new ExtensionVersion();
+        extVersion.setVersion("1.2.3");
+        extVersion.setTargetPlatform("linux-x64");
+        extVersion.setExtension(extension);
+        var download = new FileResource();
+        download.setName("foo.bar-1.2.3@linux-x64.vsix");
+        download.setType(FileResource.DOWNLOAD);
+        download.setExtension(extVersion);
+
+        extensionFile = new TempFile("benchmark", ".vsix");
+        extensionFile.setResource(download);
+        BenchmarkVsix.write(extensionFile.getPath(), fileCount, 4096);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        extensionFile.close();
+    }
+
+    @Benchmark
+    public long generateSignature() throws IOException {
+        try (var signature = integrityService.generateSignature(extensionFile, keyPair)) {
+            return signature.getPath().toFile().length();
+        }
+    }
+}
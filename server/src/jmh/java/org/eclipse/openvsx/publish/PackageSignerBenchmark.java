@@ -0,0 +1,113 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.bouncycastle.crypto.generators.Ed25519KeyPairGenerator;
+import org.bouncycastle.crypto.params.Ed25519KeyGenerationParameters;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
+import org.bouncycastle.crypto.signers.Ed25519Signer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs and verifies packages of 10 MB, 100 MB and 500 MB.
+ * The {@code ed25519Signer} benchmarks feed the BouncyCastle signer from a 1 KB buffer, like signing did before {@link PackageSigner}.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PackageSignerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PackageSignerBenchmark {
+
+    @Param({ "10", "100", "500" })
+    public int sizeMb;
+
+    private Path extensionFile;
+    private Ed25519PrivateKeyParameters privateKey;
+    private Ed25519PublicKeyParameters publicKey;
+    private byte[] signature;
+
+    @Setup
+    public void setup() throws IOException {
+        var generator = new Ed25519KeyPairGenerator();
+        generator.init(new Ed25519KeyGenerationParameters(new SecureRandom()));
+        var pair = generator.generateKeyPair();
+        privateKey = (Ed25519PrivateKeyParameters) pair.getPrivate();
+        publicKey = (Ed25519PublicKeyParameters) pair.getPublic();
+
+        extensionFile = Files.createTempFile("benchmark", ".vsix");
+        var random = new Random(42);
+        var chunk = new byte[1024 * 1024];
+        try (var out = Files.newOutputStream(extensionFile)) {
+            for (var i = 0; i < sizeMb; i++) {
+                random.nextBytes(chunk);
+                out.write(chunk);
+            }
+        }
+
+        signature = packageSigner();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(extensionFile);
+    }
+
+    @Benchmark
+    public byte[] ed25519Signer() throws IOException {
+        var signer = new Ed25519Signer();
+        signer.init(true, privateKey);
+        update(signer);
+        return signer.generateSignature();
+    }
+
+    @Benchmark
+    public byte[] packageSigner() throws IOException {
+        try (var signer = new PackageSigner(privateKey.getEncoded(), Files.size(extensionFile))) {
+            try (var in = Files.newInputStream(extensionFile)) {
+                in.transferTo(signer);
+            }
+            return signer.sign();
+        }
+    }
+
+    @Benchmark
+    public boolean ed25519SignerVerify() throws IOException {
+        var signer = new Ed25519Signer();
+        signer.init(false, publicKey);
+        update(signer);
+        return signer.verifySignature(signature);
+    }
+
+    @Benchmark
+    public boolean packageSignerVerify() throws IOException {
+        return PackageSigner.verify(extensionFile, signature, publicKey.getEncoded());
+    }
+
+    private void update(Ed25519Signer signer) throws IOException {
+        try (var in = Files.newInputStream(extensionFile)) {
+            int len;
+            var buffer = new byte[1024];
+            while ((len = in.read(buffer)) > 0) {
+                signer.update(buffer, 0, len);
+            }
+        }
+    }
+}
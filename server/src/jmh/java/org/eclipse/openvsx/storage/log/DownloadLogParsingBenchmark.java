@@ -0,0 +1,85 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.storage.log;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses 1000 lines of CloudFront and Azure Blob Storage access logs, of which half are extension package downloads.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=DownloadLogParsingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DownloadLogParsingBenchmark {
+
+    private static final String AZURE_ENDPOINT = "https://openvsxorg.blob.core.windows.net";
+    private static final String AZURE_CONTAINER = "resources";
+
+    private AwsDownloadCountService aws;
+    private AzureDownloadCountService azure;
+    private List<String> awsLines;
+    private List<String> azureLines;
+
+    @Setup
+    public void setup() {
+        aws = new AwsDownloadCountService(null, null);
+        azure = new AzureDownloadCountService(null);
+        azure.storageServiceEndpoint = AZURE_ENDPOINT;
+        azure.storageBlobContainer = AZURE_CONTAINER;
+
+        awsLines = new ArrayList<>();
+        azureLines = new ArrayList<>();
+        for (var i = 0; i < 1000; i++) {
+            var path = "/foo" + (i % 50) + "/bar/1.0." + (i % 20) + "/" + fileName(i);
+            awsLines.add(String.join("\t",
+                    "2026-01-01", "00:00:" + (i % 60), "AMS1-C1", "1024", "192.0.2." + (i % 255), "GET",
+                    "d111111abcdef8.cloudfront.net", path, i % 10 == 0 ? "304" : "200", "-",
+                    "Mozilla/5.0%20(X11;%20Linux%20x86_64)", "-", "-", "Hit", "SOMEREQUESTID" + i,
+                    "open-vsx.org", "https", "250", "0.002", "-", "TLSv1.3", "TLS_AES_128_GCM_SHA256", "Hit",
+                    "HTTP/2.0", "-", "-", "443", "0.001", "Hit", "application/octet-stream", "1024", "-", "-"));
+            azureLines.add("{\"time\":\"2026-01-01T00:00:00.0000000Z\",\"resourceId\":\"/subscriptions/x\","
+                    + "\"category\":\"StorageRead\",\"operationName\":\"GetBlob\",\"operationVersion\":\"2009-09-19\","
+                    + "\"schemaVersion\":\"1.0\",\"statusCode\":" + (i % 10 == 0 ? 304 : 200) + ",\"statusText\":\"Success\","
+                    + "\"durationMs\":3,\"callerIpAddress\":\"192.0.2." + (i % 255) + ":443\","
+                    + "\"uri\":\"" + AZURE_ENDPOINT + "/" + AZURE_CONTAINER + path + "\","
+                    + "\"properties\":{\"accountName\":\"openvsxorg\",\"userAgentHeader\":\"Mozilla/5.0\",\"serviceType\":\"blob\"}}");
+        }
+    }
+
+    private String fileName(int i) {
+        return i % 2 == 0
+                ? "foo" + (i % 50) + ".bar-1.0." + (i % 20) + ".vsix"
+                : "foo" + (i % 50) + ".bar-1.0." + (i % 20) + ".sigzip";
+    }
+
+    @Benchmark
+    public void aws(Blackhole blackhole) {
+        for (var line : awsLines) {
+            blackhole.consume(aws.getDownloadedFileName(line));
+        }
+    }
+
+    @Benchmark
+    public void azure(Blackhole blackhole) throws JsonProcessingException {
+        for (var line : azureLines) {
+            blackhole.consume(azure.getDownloadedFileName(line));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the file names and API URLs that are created for every extension version in search and query results.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=UrlBuildingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlBuildingBenchmark {
+
+    private static final String BASE_URL = "https://open-vsx.org";
+
+    @Param({ "universal", "linux-x64" })
+    public String targetPlatform;
+
+    private final String namespace = "redhat";
+    private final String extension = "vscode-yaml";
+    private final String version = "1.15.0";
+
+    @Benchmark
+    public String toFileFormat() {
+        return NamingUtil.toFileFormat(namespace, extension, targetPlatform, version);
+    }
+
+    @Benchmark
+    public String toExtensionId() {
+        return NamingUtil.toExtensionId(namespace, extension);
+    }
+
+    @Benchmark
+    public String createApiFileUrl() {
+        return UrlUtil.createApiFileUrl(BASE_URL, namespace, extension, targetPlatform, version, "redhat.vscode-yaml-1.15.0.vsix");
+    }
+
+    @Benchmark
+    public String createApiVersionUrl() {
+        return UrlUtil.createApiVersionUrl(BASE_URL, namespace, extension, targetPlatform, version);
+    }
+
+    @Benchmark
+    public String createApiUrl() {
+        return UrlUtil.createApiUrl(BASE_URL, "api", namespace, extension, "reviews");
+    }
+}
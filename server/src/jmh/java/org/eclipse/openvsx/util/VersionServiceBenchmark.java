@@ -0,0 +1,76 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts 200 versions of an extension with {@link ExtensionVersion#SORT_COMPARATOR}
+ * and finds the latest version with {@link VersionService#getLatest}, bypassing the cache.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=VersionServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionServiceBenchmark {
+
+    private static final List<String> TARGET_PLATFORMS = List.of(
+            TargetPlatform.NAME_LINUX_X64, TargetPlatform.NAME_WIN32_X64,
+            TargetPlatform.NAME_DARWIN_ARM64, TargetPlatform.NAME_UNIVERSAL
+    );
+
+    private VersionService versions;
+    private List<ExtensionVersion> extVersions;
+
+    @Setup
+    public void setup() {
+        versions = new VersionService();
+        extVersions = new ArrayList<>();
+        for (var i = 0; i < 200; i++) {
+            var extVersion = new ExtensionVersion();
+            var version = "1." + (i / 40) + "." + (i % 10);
+            extVersion.setVersion(i % 5 == 0 ? version + "-next." + i : version);
+            extVersion.setTargetPlatform(TARGET_PLATFORMS.get(i % TARGET_PLATFORMS.size()));
+            extVersion.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(i));
+            extVersion.setPreRelease(i % 5 == 0);
+            extVersions.add(extVersion);
+        }
+
+        Collections.shuffle(extVersions, new Random(42));
+    }
+
+    @Benchmark
+    public List<ExtensionVersion> sortComparator() {
+        var sorted = new ArrayList<>(extVersions);
+        sorted.sort(ExtensionVersion.SORT_COMPARATOR);
+        return sorted;
+    }
+
+    @Benchmark
+    public ExtensionVersion getLatest() {
+        return versions.getLatest(extVersions, false);
+    }
+
+    @Benchmark
+    public ExtensionVersion getLatestPreRelease() {
+        return versions.getLatest(extVersions, false, true);
+    }
+}
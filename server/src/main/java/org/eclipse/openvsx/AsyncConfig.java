@@ -0,0 +1,92 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+
+import java.util.concurrent.*;
+
+/**
+ * Bounded executors for {@link org.springframework.scheduling.annotation.Async @Async} methods, one per workload,
+ * so that a burst of one workload doesn't delay the others. Methods that don't name an executor run on the default one.
+ * The queue length, active threads and rejected tasks of each executor are registered as {@code ovsx.executor.*} metrics,
+ * tagged with the executor name. When the queue is full, the task runs on the calling thread.
+ */
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String SEARCH_UPDATE_EXECUTOR = "searchUpdateExecutor";
+
+    private static final String METRIC_PREFIX = "ovsx";
+
+    private final MeterRegistry registry;
+
+    @Value("${ovsx.async.default.pool-size:4}")
+    int defaultPoolSize;
+
+    @Value("${ovsx.async.default.queue-capacity:100}")
+    int defaultQueueCapacity;
+
+    @Value("${ovsx.async.default.virtual-threads:false}")
+    boolean defaultVirtualThreads;
+
+    public AsyncConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return createExecutor("async", defaultPoolSize, defaultQueueCapacity, defaultVirtualThreads);
+    }
+
+    @Bean(SEARCH_UPDATE_EXECUTOR)
+    public ExecutorService searchUpdateExecutor(
+            @Value("${ovsx.async.search-update.pool-size:2}") int poolSize,
+            @Value("${ovsx.async.search-update.queue-capacity:100}") int queueCapacity,
+            @Value("${ovsx.async.search-update.virtual-threads:false}") boolean virtualThreads
+    ) {
+        return createExecutor("search-update", poolSize, queueCapacity, virtualThreads);
+    }
+
+    private ExecutorService createExecutor(String name, int poolSize, int queueCapacity, boolean virtualThreads) {
+        var threads = virtualThreads
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : Thread.ofPlatform().daemon().name(name + "-", 0).factory();
+
+        var rejected = Counter.builder(METRIC_PREFIX + ".executor.rejected")
+                .description("Tasks that ran on the calling thread because the executor queue was full")
+                .tag("name", name)
+                .register(registry);
+
+        var size = Math.max(1, poolSize);
+        var executor = new ThreadPoolExecutor(
+                size,
+                size,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+                threads,
+                (task, pool) -> {
+                    rejected.increment();
+                    if (!pool.isShutdown()) {
+                        task.run();
+                    }
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(registry, executor, name, METRIC_PREFIX);
+    }
+}
@@ -0,0 +1,97 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.util.TempFile;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of reading an extension package with {@link ExtensionProcessor#scan}: the digests of the package
+ * and its entries, and the extracted file resources. Closing the scan deletes the extracted files.
+ */
+public class ExtensionPackageScan implements AutoCloseable {
+
+    public record Entry(String name, long size, byte[] sha256) {}
+
+    /**
+     * Size and SHA-256 digest of the package, computed while it was received.
+     */
+    public record Digest(long size, byte[] sha256) {}
+
+    private final boolean potentiallyMalicious;
+    private final long size;
+    private final byte[] sha256;
+    private final List<Entry> entries;
+    private final List<TempFile> fileResources;
+
+    ExtensionPackageScan(long size, byte[] sha256, List<Entry> entries, List<TempFile> fileResources) {
+        this(false, size, sha256, entries, fileResources);
+    }
+
+    private ExtensionPackageScan(boolean potentiallyMalicious, long size, byte[] sha256, List<Entry> entries, List<TempFile> fileResources) {
+        this.potentiallyMalicious = potentiallyMalicious;
+        this.size = size;
+        this.sha256 = sha256;
+        this.entries = entries;
+        this.fileResources = fileResources;
+    }
+
+    static ExtensionPackageScan potentiallyMalicious() {
+        return new ExtensionPackageScan(true, 0, null, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * @return whether an entry has extra fields, in which case the package isn't read.
+     */
+    public boolean isPotentiallyMalicious() {
+        return potentiallyMalicious;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public byte[] getSha256() {
+        return sha256;
+    }
+
+    /**
+     * @return the files of the package, excluding directories, in the order of the central directory.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public List<TempFile> getFileResources() {
+        return fileResources;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException exception = null;
+        for (var file : fileResources) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
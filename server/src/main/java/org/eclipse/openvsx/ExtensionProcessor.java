@@ -14,6 +14,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.adapter.ExtensionQueryResult;
@@ -24,8 +25,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ServerErrorException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.security.DigestInputStream;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -33,6 +37,7 @@ import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 
 /**
  * Processes uploaded extension files and extracts their metadata.
@@ -99,7 +104,7 @@ public class ExtensionProcessor implements AutoCloseable {
             }
 
             var mapper = new ObjectMapper();
-            packageJson = mapper.readTree(entryFile.getPath().toFile());
+            packageJson = mapper.readTree(entryFile.newInputStream());
         } catch (JsonParseException exc) {
             throw new ErrorResultException("Invalid JSON format in " + PACKAGE_JSON
                     + ": " + exc.getMessage());
@@ -122,7 +127,7 @@ public class ExtensionProcessor implements AutoCloseable {
             }
 
             var mapper = new XmlMapper();
-            vsixManifest = mapper.readTree(entryFile.getPath().toFile());
+            vsixManifest = mapper.readTree(entryFile.newInputStream());
         } catch (JsonParseException exc) {
             throw new ErrorResultException("Invalid JSON format in " + VSIX_MANIFEST
                     + ": " + exc.getMessage());
@@ -333,6 +338,14 @@ public class ExtensionProcessor implements AutoCloseable {
             hash = DigestUtils.sha256Hex(input);
         }
 
+        return createSha256File(extVersion, hash);
+    }
+
+    public TempFile generateSha256Checksum(ExtensionVersion extVersion, ExtensionPackageScan scan) throws IOException {
+        return createSha256File(extVersion, Hex.encodeHexString(scan.getSha256()));
+    }
+
+    private TempFile createSha256File(ExtensionVersion extVersion, String hash) throws IOException {
         var sha256File = new TempFile("extension_", ".sha256");
         Files.writeString(sha256File.getPath(), hash);
 
@@ -345,44 +358,56 @@ public class ExtensionProcessor implements AutoCloseable {
     }
 
     protected TempFile getManifest(ExtensionVersion extVersion) throws IOException {
+        return readResource(resolveManifest(extVersion));
+    }
+
+    private ResourceEntry resolveManifest(ExtensionVersion extVersion) {
         readInputStream();
-        var entryFile = ArchiveUtil.readEntry(zipFile, PACKAGE_JSON);
-        if (entryFile == null) {
-            throw new ErrorResultException(entryNotFoundMessage(PACKAGE_JSON));
-        }
+        var entry = getEntry(PACKAGE_JSON);
         var manifestResource = new FileResource();
         manifestResource.setExtension(extVersion);
         manifestResource.setName("package.json");
         manifestResource.setType(FileResource.MANIFEST);
-        entryFile.setResource(manifestResource);
-        return entryFile;
+        return new ResourceEntry(entry, manifestResource);
     }
 
     protected TempFile getReadme(ExtensionVersion extVersion) throws IOException {
-        var result = readFromVsixPackage(ExtensionQueryResult.ExtensionFile.FILE_DETAILS, README);
+        return readResource(resolveReadme(extVersion));
+    }
+
+    private ResourceEntry resolveReadme(ExtensionVersion extVersion) {
+        var result = resolveFromVsixPackage(ExtensionQueryResult.ExtensionFile.FILE_DETAILS, README);
         if (result == null) {
             return null;
         }
 
-        var readme = result.getResource();
+        var readme = result.resource();
         readme.setExtension(extVersion);
         readme.setType(FileResource.README);
         return result;
     }
 
     public TempFile getChangelog(ExtensionVersion extVersion) throws IOException {
-        var result = readFromVsixPackage(ExtensionQueryResult.ExtensionFile.FILE_CHANGELOG, CHANGELOG);
+        return readResource(resolveChangelog(extVersion));
+    }
+
+    private ResourceEntry resolveChangelog(ExtensionVersion extVersion) {
+        var result = resolveFromVsixPackage(ExtensionQueryResult.ExtensionFile.FILE_CHANGELOG, CHANGELOG);
         if (result == null) {
             return null;
         }
 
-        var changelog = result.getResource();
+        var changelog = result.resource();
         changelog.setExtension(extVersion);
         changelog.setType(FileResource.CHANGELOG);
         return result;
     }
 
     public TempFile getLicense(ExtensionVersion extVersion) throws IOException {
+        return readResource(resolveLicense(extVersion));
+    }
+
+    private ResourceEntry resolveLicense(ExtensionVersion extVersion) {
         readInputStream();
         var licenseResource = new FileResource();
         licenseResource.setExtension(extVersion);
@@ -393,49 +418,37 @@ public class ExtensionProcessor implements AutoCloseable {
             return null;
         }
 
-        var entryFile = ArchiveUtil.readEntry(zipFile, assetPath);
-        if(entryFile == null) {
-            throw new ErrorResultException(entryNotFoundMessage(assetPath));
-        }
-
+        var entry = getEntry(assetPath);
         var lastSegmentIndex = assetPath.lastIndexOf('/');
         var lastSegment = assetPath.substring(lastSegmentIndex + 1);
         licenseResource.setName(lastSegment);
-        entryFile.setResource(licenseResource);
-        return entryFile;
+        return new ResourceEntry(entry, licenseResource);
     }
 
-    private TempFile readFromVsixPackage(String assetType, String[] alternateNames) throws IOException {
+    private ResourceEntry resolveFromVsixPackage(String assetType, String[] alternateNames) {
         var assetPath = tryGetAssetPath(assetType);
         if(StringUtils.isNotEmpty(assetPath)) {
-            var entryFile = ArchiveUtil.readEntry(zipFile, assetPath);
-            if(entryFile == null) {
-                throw new ErrorResultException(entryNotFoundMessage(assetPath));
-            }
-
+            var entry = getEntry(assetPath);
             var lastSegmentIndex = assetPath.lastIndexOf('/');
             var lastSegment = assetPath.substring(lastSegmentIndex + 1);
             var resource = new FileResource();
             resource.setName(lastSegment);
-            entryFile.setResource(resource);
-            return entryFile;
+            return new ResourceEntry(entry, resource);
         } else {
             readInputStream();
-            return readFromAlternateNames(alternateNames);
+            return resolveFromAlternateNames(alternateNames);
         }
     }
 
-    private TempFile readFromAlternateNames(String[] names) throws IOException {
+    private ResourceEntry resolveFromAlternateNames(String[] names) {
         for (var name : names) {
             var entry = ArchiveUtil.getEntryIgnoreCase(zipFile, name);
             if (entry != null) {
-                var entryFile = ArchiveUtil.readEntry(zipFile, entry);
                 var lastSegmentIndex = entry.getName().lastIndexOf('/');
                 var lastSegment = entry.getName().substring(lastSegmentIndex + 1);
                 var resource = new FileResource();
                 resource.setName(lastSegment);
-                entryFile.setResource(resource);
-                return entryFile;
+                return new ResourceEntry(entry, resource);
             }
         }
         return null;
@@ -463,6 +476,10 @@ public class ExtensionProcessor implements AutoCloseable {
     }
 
     protected TempFile getIcon(ExtensionVersion extVersion) throws IOException {
+        return readResource(resolveIcon(extVersion));
+    }
+
+    private ResourceEntry resolveIcon(ExtensionVersion extVersion) {
         var iconPath = tryGetAssetPath(ExtensionQueryResult.ExtensionFile.FILE_ICON);
         if(StringUtils.isEmpty(iconPath)) {
             loadPackageJson();
@@ -476,11 +493,7 @@ public class ExtensionProcessor implements AutoCloseable {
             return null;
         }
 
-        var entryFile = ArchiveUtil.readEntry(zipFile, iconPath);
-        if (entryFile == null) {
-            throw new ErrorResultException(entryNotFoundMessage(iconPath));
-        }
-
+        var entry = getEntry(iconPath);
         var iconResource = new FileResource();
         iconResource.setExtension(extVersion);
         var fileNameIndex = iconPath.lastIndexOf('/');
@@ -490,37 +503,204 @@ public class ExtensionProcessor implements AutoCloseable {
 
         iconResource.setName(iconName);
         iconResource.setType(FileResource.ICON);
-        entryFile.setResource(iconResource);
-        return entryFile;
+        return new ResourceEntry(entry, iconResource);
     }
 
     public TempFile getVsixManifest(ExtensionVersion extVersion) throws IOException {
+        return readResource(resolveVsixManifest(extVersion));
+    }
+
+    private ResourceEntry resolveVsixManifest(ExtensionVersion extVersion) {
         readInputStream();
         var vsixManifestResource = new FileResource();
         vsixManifestResource.setExtension(extVersion);
         vsixManifestResource.setName(VSIX_MANIFEST);
         vsixManifestResource.setType(FileResource.VSIXMANIFEST);
+        return new ResourceEntry(getEntry(VSIX_MANIFEST), vsixManifestResource);
+    }
 
-        var entryFile = ArchiveUtil.readEntry(zipFile, VSIX_MANIFEST);
-        if(entryFile == null) {
-            throw new ErrorResultException(entryNotFoundMessage(VSIX_MANIFEST));
+    private ZipEntry getEntry(String entryName) {
+        var entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new ErrorResultException(entryNotFoundMessage(entryName));
         }
 
-        entryFile.setResource(vsixManifestResource);
+        return entry;
+    }
+
+    private TempFile readResource(ResourceEntry resourceEntry) throws IOException {
+        if (resourceEntry == null) {
+            return null;
+        }
+
+        var entryFile = ArchiveUtil.readEntry(zipFile, resourceEntry.entry());
+        entryFile.setResource(resourceEntry.resource());
         return entryFile;
     }
 
     public boolean isPotentiallyMalicious() {
         readInputStream();
+        return findPotentiallyMaliciousEntry() != null;
+    }
+
+    private ZipEntry findPotentiallyMaliciousEntry() {
         Enumeration<? extends ZipEntry> entries = zipFile.entries();
         while (entries.hasMoreElements()) {
             ZipEntry entry = entries.nextElement();
             if (entry.getExtra() != null) {
                 logger.warn("Potentially harmful zip entry with extra fields detected: {}", entry.getName());
-                return true;
+                return entry;
             }
         }
 
-        return false;
+        return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the extension package for publishing. The package is read once as a whole, passing its bytes to
+     * {@code packageOut} and computing its SHA-256 digest. Then each entry is read once, computing its SHA-256 digest
+     * and extracting the entries of the {@link #getFileResources file resources} at the same time.
+     * Nothing is read when the package is {@link #isPotentiallyMalicious potentially malicious}.
+     */
+    public ExtensionPackageScan scan(ExtensionVersion extVersion, OutputStream packageOut) throws IOException {
+        return scan(extVersion, null, packageOut);
+    }
+
+    /**
+     * Reads the extension package like {@link #scan(ExtensionVersion, OutputStream)}. When the package digest
+     * was computed while the package was received and {@code packageOut} is {@code null},
+     * the package isn't read as a whole, only its entries are read.
+     */
+    public ExtensionPackageScan scan(ExtensionVersion extVersion, ExtensionPackageScan.Digest digest, OutputStream packageOut) throws IOException {
+        readInputStream();
+        if (findPotentiallyMaliciousEntry() != null) {
+            return ExtensionPackageScan.potentiallyMalicious();
+        }
+
+        var resources = Stream.of(
+                resolveManifest(extVersion),
+                resolveReadme(extVersion),
+                resolveChangelog(extVersion),
+                resolveLicense(extVersion),
+                resolveIcon(extVersion),
+                resolveVsixManifest(extVersion)
+        ).filter(Objects::nonNull).toList();
+
+        return scan(resources, digest, packageOut);
+    }
+
+    /**
+     * Reads the extension package like {@link #scan(ExtensionVersion, OutputStream)}, but only computes the digests.
+     */
+    public ExtensionPackageScan digest(OutputStream packageOut) throws IOException {
+        readInputStream();
+        return scan(Collections.emptyList(), null, packageOut);
+    }
+
+    /**
+     * Computes the digests of an extension package that is held in memory, like {@link #digest(OutputStream)},
+     * without writing it to a file. The entries are read with their local headers and listed in central directory order.
+     * @throws ZipException when the package can't be read this way, e.g. a ZIP64 archive or an archive whose local headers
+     * don't match its central directory. Such packages must be read from a file.
+     */
+    public static ExtensionPackageScan digest(byte[] content, int length) throws IOException {
+        var names = ArchiveUtil.getEntryNames(content, length);
+        var entriesByName = new HashMap<String, ExtensionPackageScan.Entry>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(content, 0, length))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+
+                var entrySha256 = DigestUtils.getSha256Digest();
+                var size = new DigestInputStream(zip, entrySha256).transferTo(OutputStream.nullOutputStream());
+                var scanned = new ExtensionPackageScan.Entry(entry.getName(), size, entrySha256.digest());
+                if (entriesByName.put(entry.getName(), scanned) != null) {
+                    throw new ZipException("Duplicate entry: " + entry.getName());
+                }
+            }
+        }
+
+        var entries = new ArrayList<ExtensionPackageScan.Entry>(entriesByName.size());
+        for (var name : names) {
+            if (name.endsWith("/")) {
+                continue;
+            }
+
+            var entry = entriesByName.remove(name);
+            if (entry == null) {
+                throw new ZipException("Entry not found: " + name);
+            }
+            entries.add(entry);
+        }
+        if (!entriesByName.isEmpty()) {
+            throw new ZipException("Entries are missing from the central directory: " + entriesByName.keySet());
+        }
+
+        var sha256 = DigestUtils.getSha256Digest();
+        sha256.update(content, 0, length);
+        return new ExtensionPackageScan(length, sha256.digest(), entries, Collections.emptyList());
+    }
+
+    private ExtensionPackageScan scan(List<ResourceEntry> resources, ExtensionPackageScan.Digest digest, OutputStream packageOut) throws IOException {
+        if (digest == null || packageOut != null) {
+            var sha256 = DigestUtils.getSha256Digest();
+            try (var in = new DigestInputStream(Files.newInputStream(extensionFile.getPath()), sha256)) {
+                var size = in.transferTo(packageOut != null ? packageOut : OutputStream.nullOutputStream());
+                digest = new ExtensionPackageScan.Digest(size, sha256.digest());
+            }
+        }
+
+        var resourceIndexes = new HashMap<String, List<Integer>>();
+        for (var i = 0; i < resources.size(); i++) {
+            resourceIndexes.computeIfAbsent(resources.get(i).entry().getName(), k -> new ArrayList<>()).add(i);
+        }
+
+        var entries = new ArrayList<ExtensionPackageScan.Entry>(zipFile.size());
+        var files = new TempFile[resources.size()];
+        try {
+            var iterator = zipFile.stream().iterator();
+            while (iterator.hasNext()) {
+                var entry = iterator.next();
+                var indexes = resourceIndexes.getOrDefault(entry.getName(), Collections.emptyList());
+                if (entry.isDirectory() && indexes.isEmpty()) {
+                    continue;
+                }
+
+                var entrySha256 = DigestUtils.getSha256Digest();
+                try (var in = new DigestInputStream(zipFile.getInputStream(entry), entrySha256)) {
+                    if (!indexes.isEmpty() && files[indexes.get(0)] == null) {
+                        files[indexes.get(0)] = ArchiveUtil.readEntry(entry, in);
+                        for (var i = 1; i < indexes.size(); i++) {
+                            // the same entry is used for multiple file resources
+                            files[indexes.get(i)] = ArchiveUtil.readEntry(zipFile, entry);
+                        }
+                    } else {
+                        in.transferTo(OutputStream.nullOutputStream());
+                    }
+                }
+                if (!entry.isDirectory()) {
+                    entries.add(new ExtensionPackageScan.Entry(entry.getName(), entry.getSize(), entrySha256.digest()));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (var file : files) {
+                if (file != null) {
+                    file.close();
+                }
+            }
+            throw e;
+        }
+
+        var fileResources = new ArrayList<TempFile>(files.length);
+        for (var i = 0; i < files.length; i++) {
+            files[i].setResource(resources.get(i).resource());
+            fileResources.add(files[i]);
+        }
+
+        return new ExtensionPackageScan(digest.size(), digest.sha256(), entries, fileResources);
+    }
+
+    private record ResourceEntry(ZipEntry entry, FileResource resource) {}
+}
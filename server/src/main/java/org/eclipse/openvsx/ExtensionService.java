@@ -9,10 +9,11 @@
  ********************************************************************************/
 package org.eclipse.openvsx;
 
-import com.google.common.io.ByteStreams;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.transaction.Transactional.TxType;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.admin.RemoveFileJobRequest;
@@ -21,6 +22,7 @@ import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.json.ResultJson;
 import org.eclipse.openvsx.json.TargetPlatformVersionJson;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.util.ErrorResultException;
@@ -33,10 +35,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerErrorException;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.security.DigestInputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
@@ -48,12 +50,14 @@ import java.util.stream.Collectors;
 public class ExtensionService {
 
     private static final int MAX_CONTENT_SIZE = 512 * 1024 * 1024;
+    private static final int RECEIVE_BUFFER_SIZE = 64 * 1024;
 
     private final EntityManager entityManager;
     private final RepositoryService repositories;
     private final SearchUtilService search;
     private final CacheService cache;
     private final PublishExtensionVersionHandler publishHandler;
+    private final PublishQueue publishQueue;
     private final JobRequestScheduler scheduler;
 
     @Value("${ovsx.publishing.require-license:false}")
@@ -68,6 +72,7 @@ public class ExtensionService {
             SearchUtilService search,
             CacheService cache,
             PublishExtensionVersionHandler publishHandler,
+            PublishQueue publishQueue,
             JobRequestScheduler scheduler
     ) {
         this.entityManager = entityManager;
@@ -75,62 +80,106 @@ public class ExtensionService {
         this.search = search;
         this.cache = cache;
         this.publishHandler = publishHandler;
+        this.publishQueue = publishQueue;
         this.scheduler = scheduler;
     }
 
     @Transactional
     public ExtensionVersion mirrorVersion(TempFile extensionFile, String signatureName, PersonalAccessToken token, String binaryName, String timestamp) {
-        doPublish(extensionFile, binaryName, token, TimeUtil.fromUTCString(timestamp), false);
+        try (var processor = new ExtensionProcessor(extensionFile)) {
+            doPublish(processor, extensionFile, binaryName, token, TimeUtil.fromUTCString(timestamp), false);
+        }
         publishHandler.mirror(extensionFile, signatureName);
         return extensionFile.getResource().getExtension();
     }
 
     public ExtensionVersion publishVersion(InputStream content, PersonalAccessToken token) throws ErrorResultException {
-        var extensionFile = createExtensionFile(content);
-        doPublish(extensionFile, null, token, TimeUtil.getCurrentUTC(), true);
-        publishHandler.publishAsync(extensionFile, this);
-        var download = extensionFile.getResource();
-        publishHandler.schedulePublicIdJob(download);
-        return download.getExtension();
-    }
-
-    private void doPublish(TempFile extensionFile, String binaryName, PersonalAccessToken token, LocalDateTime timestamp, boolean checkDependencies) {
-        try (var processor = new ExtensionProcessor(extensionFile)) {
-            var extVersion = publishHandler.createExtensionVersion(processor, token, timestamp, checkDependencies);
-            if (requireLicense) {
-                // Check the extension's license
-                try(var licenseFile = processor.getLicense(extVersion)) {
-                    checkLicense(extVersion, licenseFile);
-                } catch (IOException e) {
-                    throw new ServerErrorException("Failed read license file", e);
+        try (var admission = publishQueue.admit()) {
+            // Compute the package digest while the package is received, so that publishing doesn't have to read it again
+            var sha256 = DigestUtils.getSha256Digest();
+            var extensionFile = createExtensionFile(new DigestInputStream(content, sha256));
+            try {
+                var digest = new ExtensionPackageScan.Digest(extensionFile.size(), sha256.digest());
+                admission.trackTempFile(extensionFile);
+                var validation = Timer.start();
+                try (var processor = new ExtensionProcessor(extensionFile)) {
+                    // Reject before anything is persisted, so that the publisher can simply retry
+                    admission.claimNamespace(processor.getNamespace());
+                    doPublish(processor, extensionFile, null, token, TimeUtil.getCurrentUTC(), true);
+                }
+                validation.stop(publishQueue.getStageTimer(PublishQueue.STAGE_VALIDATE));
+                var description = NamingUtil.toLogFormat(extensionFile.getResource().getExtension());
+                publishQueue.submit(admission, description, () -> publishHandler.publish(extensionFile, digest, this));
+            } catch (IOException | RuntimeException e) {
+                deleteExtensionFile(extensionFile);
+                if (e instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
                 }
+
+                throw new ErrorResultException("Failed to read extension file", e);
             }
 
-            var download = processor.getBinary(extVersion, binaryName);
-            extensionFile.setResource(download);
+            var download = extensionFile.getResource();
+            publishHandler.schedulePublicIdJob(download);
+            return download.getExtension();
         }
     }
 
-    private TempFile createExtensionFile(InputStream content) {
-        try (var input = ByteStreams.limit(new BufferedInputStream(content), maxContentSize + 1)) {
-            long size;
-            var extensionFile = new TempFile("extension_", ".vsix");
-            try(var out = Files.newOutputStream(extensionFile.getPath())) {
-                size = input.transferTo(out);
+    private void doPublish(ExtensionProcessor processor, TempFile extensionFile, String binaryName, PersonalAccessToken token, LocalDateTime timestamp, boolean checkDependencies) {
+        var extVersion = publishHandler.createExtensionVersion(processor, token, timestamp, checkDependencies);
+        if (requireLicense) {
+            // Check the extension's license
+            try(var licenseFile = processor.getLicense(extVersion)) {
+                checkLicense(extVersion, licenseFile);
+            } catch (IOException e) {
+                throw new ServerErrorException("Failed read license file", e);
             }
+        }
 
-            if (size > maxContentSize) {
-                try {
-                    extensionFile.close();
-                } catch (IOException _) {}
-                var maxSize = FileUtils.byteCountToDisplaySize(maxContentSize);
-                throw new ErrorResultException("The extension package exceeds the size limit of " + maxSize + ".", HttpStatus.PAYLOAD_TOO_LARGE);
-            }
+        var download = processor.getBinary(extVersion, binaryName);
+        extensionFile.setResource(download);
+    }
 
-            return extensionFile;
+    /**
+     * Writes the package to a temp file, rejecting it as soon as it exceeds the size limit.
+     */
+    private TempFile createExtensionFile(InputStream content) {
+        TempFile extensionFile;
+        try {
+            extensionFile = new TempFile("extension_", ".vsix");
         } catch (IOException e) {
             throw new ErrorResultException("Failed to read extension file", e);
         }
+
+        try (var out = Files.newOutputStream(extensionFile.getPath())) {
+            var buffer = new byte[RECEIVE_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                size += read;
+                if (size > maxContentSize) {
+                    var maxSize = FileUtils.byteCountToDisplaySize(maxContentSize);
+                    throw new ErrorResultException("The extension package exceeds the size limit of " + maxSize + ".", HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteExtensionFile(extensionFile);
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new ErrorResultException("Failed to read extension file", e);
+        }
+
+        return extensionFile;
+    }
+
+    private void deleteExtensionFile(TempFile extensionFile) {
+        try {
+            extensionFile.close();
+        } catch (IOException _) {}
     }
 
     private void checkLicense(ExtensionVersion extVersion, TempFile licenseFile) {
@@ -116,13 +116,13 @@ public class LocalRegistryService implements IExtensionRegistry {
     }
 
     @Override
-    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON)
+    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON, sync = true)
     public ExtensionJson getExtension(String namespace, String extensionName, String targetPlatform) {
         return getExtension(namespace, extensionName, targetPlatform, VersionAlias.LATEST);
     }
 
     @Override
-    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON)
+    @Cacheable(value = CACHE_EXTENSION_JSON, keyGenerator = GENERATOR_EXTENSION_JSON, sync = true)
     public ExtensionJson getExtension(String namespace, String extensionName, String targetPlatform, String version) {
         var extVersion = findExtensionVersion(namespace, extensionName, targetPlatform, version);
         var json = toExtensionVersionJson(extVersion, targetPlatform, true);
@@ -213,8 +213,8 @@ public class LocalRegistryService implements IExtensionRegistry {
     @Override
     public ResponseEntity<StreamingResponseBody> getFile(String namespace, String extensionName, String targetPlatform, String version, String fileName) {
         var resource = isType(fileName)
-                ? repositories.findFileByType(namespace, extensionName, targetPlatform, version, fileName.toLowerCase())
-                : repositories.findFileByName(namespace, extensionName, targetPlatform, version, fileName);
+                ? findFileByType(namespace, extensionName, targetPlatform, version, fileName.toLowerCase())
+                : findFileByName(namespace, extensionName, targetPlatform, version, fileName);
 
         if (resource == null)
             throw new NotFoundException();
@@ -224,6 +224,30 @@ public class LocalRegistryService implements IExtensionRegistry {
         return storageUtil.getFileResponse(resource);
     }
 
+    private FileResource findFileByType(String namespace, String extensionName, String targetPlatform, String version, String type) {
+        var resource = cache.getFileByType(namespace, extensionName, targetPlatform, version, type);
+        if(resource == null) {
+            resource = repositories.findFileByType(namespace, extensionName, targetPlatform, version, type);
+            if(resource != null) {
+                cache.putFileByType(namespace, extensionName, targetPlatform, version, type, resource);
+            }
+        }
+
+        return resource;
+    }
+
+    private FileResource findFileByName(String namespace, String extensionName, String targetPlatform, String version, String fileName) {
+        var resource = cache.getFileByName(namespace, extensionName, targetPlatform, version, fileName);
+        if(resource == null) {
+            resource = repositories.findFileByName(namespace, extensionName, targetPlatform, version, fileName);
+            if(resource != null) {
+                cache.putFileByName(namespace, extensionName, targetPlatform, version, fileName, resource);
+            }
+        }
+
+        return resource;
+    }
+
     public boolean isType (String fileName){
         var expectedTypes = new ArrayList<>(List.of(MANIFEST, README, LICENSE, ICON, DOWNLOAD, DOWNLOAD_SHA256, CHANGELOG, VSIXMANIFEST));
         if(integrityService.isEnabled()) {
@@ -427,7 +451,7 @@ public class LocalRegistryService implements IExtensionRegistry {
 
     @Override
     @Transactional
-    @Cacheable(CACHE_NAMESPACE_DETAILS_JSON)
+    @Cacheable(value = CACHE_NAMESPACE_DETAILS_JSON, sync = true)
     public NamespaceDetailsJson getNamespaceDetails(String namespaceName) {
         var namespace = repositories.findNamespace(namespaceName);
         if (namespace == null) {
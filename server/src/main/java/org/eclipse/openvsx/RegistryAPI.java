@@ -19,11 +19,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.LocalMissCache;
 import org.eclipse.openvsx.entities.SemanticVersion;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.search.ISearchService;
 import org.eclipse.openvsx.search.SortBy;
 import org.eclipse.openvsx.util.*;
+import org.eclipse.openvsx.web.ExtensionETagFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.CacheControl;
@@ -38,7 +41,9 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.eclipse.openvsx.util.TargetPlatform.*;
 
@@ -54,15 +59,18 @@ public class RegistryAPI {
     private final LocalRegistryService local;
     private final UpstreamRegistryService upstream;
     private final UserService users;
+    private final CacheService cache;
 
     public RegistryAPI(
             LocalRegistryService local,
             UpstreamRegistryService upstream,
-            UserService users
+            UserService users,
+            CacheService cache
     ) {
         this.local = local;
         this.upstream = upstream;
         this.users = users;
+        this.cache = cache;
     }
 
     protected Iterable<IExtensionRegistry> getRegistries() {
@@ -73,6 +81,19 @@ public class RegistryAPI {
         return registries;
     }
 
+    /**
+     * Returns the result of the first registry that has the requested extension resource, see {@link RegistryUtil#findFirst}.
+     */
+    private <T> Optional<T> findFirst(String namespace, String extension, String lookup, Function<IExtensionRegistry, T> call) {
+        return RegistryUtil.findFirst(getRegistries(), local, upstream.isValid(), cache, namespace, extension, lookup, registry -> {
+            var result = call.apply(registry);
+            if (registry == local) {
+                ExtensionETagFilter.markLocalResponse();
+            }
+            return result;
+        });
+    }
+
     @GetMapping(
         path = "/api/{namespace}",
         produces = MediaType.APPLICATION_JSON_VALUE
@@ -162,9 +183,13 @@ public class RegistryAPI {
     ) {
         for (var registry : getRegistries()) {
             try {
+                var json = registry.getNamespaceDetails(namespace);
+                if (registry == local) {
+                    ExtensionETagFilter.markLocalResponse();
+                }
                 return ResponseEntity.ok()
                         .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getNamespaceDetails(namespace));
+                        .body(json);
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
@@ -245,17 +270,15 @@ public class RegistryAPI {
             @PathVariable @Parameter(description = "Extension name", example = "rust-analyzer")
             String extension
     ) {
-        for (var registry : getRegistries()) {
-            try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getExtension(namespace, extension, null));
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
+        var json = findFirst(namespace, extension, LocalMissCache.lookup("extension"), registry -> registry.getExtension(namespace, extension, null));
+        if (json.isPresent()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .body(json.get());
         }
-        var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toExtensionId(namespace, extension)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+
+        var error = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toExtensionId(namespace, extension)));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
     @GetMapping(
@@ -292,17 +315,16 @@ public class RegistryAPI {
             )
             CharSequence targetPlatform
     ) {
-        for (var registry : getRegistries()) {
-            try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getExtension(namespace, extension, targetPlatform.toString()));
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
+        var lookup = LocalMissCache.lookup("extension", "targetPlatform", targetPlatform.toString());
+        var json = findFirst(namespace, extension, lookup, registry -> registry.getExtension(namespace, extension, targetPlatform.toString()));
+        if (json.isPresent()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
+                    .body(json.get());
         }
-        var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform.toString(), null)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+
+        var error = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform.toString(), null)));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
     @GetMapping(
@@ -328,17 +350,16 @@ public class RegistryAPI {
             @PathVariable @Parameter(description = "Extension version", example = "3.172.0")
             String version
     ) {
-        for (var registry : getRegistries()) {
-            try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.noCache().cachePublic())
-                        .body(registry.getExtension(namespace, extension, null, version));
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
+        var lookup = LocalMissCache.lookup("extension", "version", version);
+        var json = findFirst(namespace, extension, lookup, registry -> registry.getExtension(namespace, extension, null, version));
+        if (json.isPresent()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePublic())
+                    .body(json.get());
         }
-        var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, version)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+
+        var error = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, version)));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
     @GetMapping(
@@ -377,17 +398,16 @@ public class RegistryAPI {
             @PathVariable @Parameter(description = "Extension version", example = "1.124.2")
             String version
     ) {
-        for (var registry : getRegistries()) {
-            try {
-                return ResponseEntity.ok()
-                        .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getExtension(namespace, extension, targetPlatform, version));
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
+        var lookup = LocalMissCache.lookup("extension", "targetPlatform", targetPlatform, "version", version);
+        var json = findFirst(namespace, extension, lookup, registry -> registry.getExtension(namespace, extension, targetPlatform, version));
+        if (json.isPresent()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
+                    .body(json.get());
         }
-        var json = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform, version)));
-        return new ResponseEntity<>(json, HttpStatus.NOT_FOUND);
+
+        var error = ExtensionJson.error(extensionNotFoundMessage(NamingUtil.toLogFormat(namespace, extension, targetPlatform, version)));
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
     @GetMapping(
@@ -474,9 +494,13 @@ public class RegistryAPI {
         }
         for (var registry : getRegistries()) {
             try {
+                var json = registry.getVersions(namespace, extension, targetPlatform, size, offset);
+                if (registry == local) {
+                    ExtensionETagFilter.markLocalResponse();
+                }
                 return ResponseEntity.ok()
                         .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getVersions(namespace, extension, targetPlatform, size, offset));
+                        .body(json);
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
@@ -569,9 +593,13 @@ public class RegistryAPI {
         }
         for (var registry : getRegistries()) {
             try {
+                var json = registry.getVersionReferences(namespace, extension, targetPlatform, size, offset);
+                if (registry == local) {
+                    ExtensionETagFilter.markLocalResponse();
+                }
                 return ResponseEntity.ok()
                         .cacheControl(CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic())
-                        .body(registry.getVersionReferences(namespace, extension, targetPlatform, size, offset));
+                        .body(json);
             } catch (NotFoundException exc) {
                 // Try the next registry
             }
@@ -612,14 +640,9 @@ public class RegistryAPI {
             String version
     ) {
         var fileName = UrlUtil.extractWildcardPath(request, "/api/{namespace}/{extension}/{version}/file/**");
-        for (var registry : getRegistries()) {
-            try {
-                return registry.getFile(namespace, extension, NAME_UNIVERSAL, version, fileName);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-        throw new NotFoundException();
+        var lookup = LocalMissCache.lookup("file", "targetPlatform", NAME_UNIVERSAL, "version", version, "name", fileName);
+        return findFirst(namespace, extension, lookup, registry -> registry.getFile(namespace, extension, NAME_UNIVERSAL, version, fileName))
+                .orElseThrow(NotFoundException::new);
     }
 
     @GetMapping("/api/{namespace}/{extension}/{targetPlatform:" + TargetPlatform.NAMES_PATH_PARAM_REGEX + "}/{version:" + VERSION_PATH_PARAM_REGEX + "}/file/**")
@@ -667,14 +690,9 @@ public class RegistryAPI {
             String version
     ) {
         var fileName = UrlUtil.extractWildcardPath(request, "/api/{namespace}/{extension}/{targetPlatform}/{version}/file/**");
-        for (var registry : getRegistries()) {
-            try {
-                return registry.getFile(namespace, extension, targetPlatform, version, fileName);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-        throw new NotFoundException();
+        var lookup = LocalMissCache.lookup("file", "targetPlatform", targetPlatform, "version", version, "name", fileName);
+        return findFirst(namespace, extension, lookup, registry -> registry.getFile(namespace, extension, targetPlatform, version, fileName))
+                .orElseThrow(NotFoundException::new);
     }
 
     @GetMapping(
@@ -1239,6 +1257,14 @@ public class RegistryAPI {
             examples = @ExampleObject(value = "{ \"error\": \"Invalid access token.\" }")
         )
     )
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many extensions are being published to the namespace, retry after the number of seconds in the Retry-After header"
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many extensions are being published, retry after the number of seconds in the Retry-After header"
+    )
     public ResponseEntity<ExtensionJson> publish(
             InputStream content,
             @RequestParam @Parameter(description = "A personal access token") String token
@@ -1290,6 +1316,14 @@ public class RegistryAPI {
         responseCode = "403",
         description = "User is not logged in"
     )
+    @ApiResponse(
+        responseCode = "429",
+        description = "Too many extensions are being published to the namespace, retry after the number of seconds in the Retry-After header"
+    )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many extensions are being published, retry after the number of seconds in the Retry-After header"
+    )
     public ResponseEntity<ExtensionJson> publish(InputStream content) {
         try {
             var user = users.findLoggedInUser();
@@ -10,8 +10,8 @@
 package org.eclipse.openvsx;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.adapter.ExtensionQueryResult;
 import org.eclipse.openvsx.json.*;
@@ -23,10 +23,10 @@ import org.springframework.stereotype.Component;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Component
 @ConditionalOnProperty(value="ovsx.upstream.proxy.enabled", havingValue = "true")
@@ -35,102 +35,117 @@ public class UpstreamProxyService {
     protected final Logger logger = LoggerFactory.getLogger(UpstreamProxyService.class);
 
     public NamespaceJson rewriteUrls(NamespaceJson json) {
-        rewriteUrlMap(json.getExtensions());
+        var origin = getOrigin();
+        rewriteUrlMap(json.getExtensions(), origin);
         if(!StringUtils.isEmpty(json.getMembersUrl())) {
-            json.setMembersUrl(rewriteUrl(json.getMembersUrl()));
+            json.setMembersUrl(rewriteUrl(json.getMembersUrl(), origin));
         }
         if(!StringUtils.isEmpty(json.getRoleUrl())) {
-            json.setRoleUrl(rewriteUrl(json.getRoleUrl()));
+            json.setRoleUrl(rewriteUrl(json.getRoleUrl(), origin));
         }
 
         return json;
     }
 
     public ExtensionJson rewriteUrls(ExtensionJson json) {
-        json.setNamespaceUrl(rewriteUrl(json.getNamespaceUrl()));
-        json.setReviewsUrl(rewriteUrl(json.getReviewsUrl()));
-        rewriteUrlMap(json.getFiles());
-        rewriteUrlMap(json.getAllVersions());
-        json.setDependencies(rewriteUrlList(json.getDependencies(), this::rewriteUrls));
-        json.setBundledExtensions(rewriteUrlList(json.getBundledExtensions(), this::rewriteUrls));
-        rewriteUrlMap(json.getDownloads());
-        return json;
+        return rewriteUrls(json, getOrigin());
     }
 
     public SearchResultJson rewriteUrls(SearchResultJson json) {
-        json.setExtensions(rewriteUrlList(json.getExtensions(), this::rewriteUrls));
+        var origin = getOrigin();
+        rewriteUrlList(json.getExtensions(), entry -> rewriteUrls(entry, origin));
         return json;
     }
 
     public QueryResultJson rewriteUrls(QueryResultJson json) {
-        json.setExtensions(rewriteUrlList(json.getExtensions(), this::rewriteUrls));
+        var origin = getOrigin();
+        rewriteUrlList(json.getExtensions(), extension -> rewriteUrls(extension, origin));
         return json;
     }
 
     public ExtensionQueryResult rewriteUrls(ExtensionQueryResult json) {
-        return new ExtensionQueryResult(json.results().stream()
-                .map(result -> new ExtensionQueryResult.ResultItem(rewriteExtensionUrls(result.extensions()), result.resultMetadata()))
-                .toList());
-    }
-
-    private List<ExtensionQueryResult.Extension> rewriteExtensionUrls(List<ExtensionQueryResult.Extension> extensions) {
-        return extensions.stream()
-                .map(extension -> new ExtensionQueryResult.Extension(
-                        extension.extensionId(),
-                        extension.extensionName(),
-                        extension.displayName(),
-                        extension.shortDescription(),
-                        extension.publisher(),
-                        rewriteVersionUrls(extension.versions()),
-                        extension.statistics(),
-                        extension.tags(),
-                        extension.releaseDate(),
-                        extension.publishedDate(),
-                        extension.lastUpdated(),
-                        extension.categories(),
-                        extension.flags()
-                ))
-                .toList();
-    }
-
-    private List<ExtensionQueryResult.ExtensionVersion> rewriteVersionUrls(List<ExtensionQueryResult.ExtensionVersion> versions) {
-        return versions.stream()
-                .map(version -> new ExtensionQueryResult.ExtensionVersion(
-                        version.version(),
-                        version.lastUpdated(),
-                        rewriteUrl(version.assetUri()),
-                        rewriteUrl(version.fallbackAssetUri()),
-                        rewriteFileUrls(version.files()),
-                        version.properties(),
-                        version.targetPlatform()
-                ))
-                .toList();
-    }
-
-    private List<ExtensionQueryResult.ExtensionFile> rewriteFileUrls(List<ExtensionQueryResult.ExtensionFile> files) {
-        return files.stream()
-                .map(file -> new ExtensionQueryResult.ExtensionFile(
-                        file.assetType(),
-                        rewriteUrl(file.source())
-                ))
-                .toList();
+        return rewriteUrls(json, getOrigin());
+    }
+
+    /**
+     * Records are immutable, so the result is copied. Only the lists that contain URLs are rebuilt,
+     * all other values are shared with the original result.
+     */
+    ExtensionQueryResult rewriteUrls(ExtensionQueryResult json, String origin) {
+        var results = new ArrayList<ExtensionQueryResult.ResultItem>(json.results().size());
+        for(var result : json.results()) {
+            results.add(new ExtensionQueryResult.ResultItem(rewriteExtensionUrls(result.extensions(), origin), result.resultMetadata()));
+        }
+
+        return new ExtensionQueryResult(results);
+    }
+
+    private List<ExtensionQueryResult.Extension> rewriteExtensionUrls(List<ExtensionQueryResult.Extension> extensions, String origin) {
+        var rewritten = new ArrayList<ExtensionQueryResult.Extension>(extensions.size());
+        for(var extension : extensions) {
+            rewritten.add(new ExtensionQueryResult.Extension(
+                    extension.extensionId(),
+                    extension.extensionName(),
+                    extension.displayName(),
+                    extension.shortDescription(),
+                    extension.publisher(),
+                    rewriteVersionUrls(extension.versions(), origin),
+                    extension.statistics(),
+                    extension.tags(),
+                    extension.releaseDate(),
+                    extension.publishedDate(),
+                    extension.lastUpdated(),
+                    extension.categories(),
+                    extension.flags()
+            ));
+        }
+
+        return rewritten;
+    }
+
+    private List<ExtensionQueryResult.ExtensionVersion> rewriteVersionUrls(List<ExtensionQueryResult.ExtensionVersion> versions, String origin) {
+        var rewritten = new ArrayList<ExtensionQueryResult.ExtensionVersion>(versions.size());
+        for(var version : versions) {
+            rewritten.add(new ExtensionQueryResult.ExtensionVersion(
+                    version.version(),
+                    version.lastUpdated(),
+                    rewriteUrl(version.assetUri(), origin),
+                    rewriteUrl(version.fallbackAssetUri(), origin),
+                    rewriteFileUrls(version.files(), origin),
+                    version.properties(),
+                    version.targetPlatform()
+            ));
+        }
+
+        return rewritten;
+    }
+
+    private List<ExtensionQueryResult.ExtensionFile> rewriteFileUrls(List<ExtensionQueryResult.ExtensionFile> files, String origin) {
+        var rewritten = new ArrayList<ExtensionQueryResult.ExtensionFile>(files.size());
+        for(var file : files) {
+            rewritten.add(new ExtensionQueryResult.ExtensionFile(file.assetType(), rewriteUrl(file.source(), origin)));
+        }
+
+        return rewritten;
     }
 
     public VersionsJson rewriteUrls(VersionsJson json) {
-        rewriteUrlMap(json.getVersions());
+        rewriteUrlMap(json.getVersions(), getOrigin());
         return json;
     }
 
     public VersionReferencesJson rewriteUrls(VersionReferencesJson json) {
-        json.setVersions(json.getVersions().stream().map(this::rewriteUrls).toList());
+        var origin = getOrigin();
+        rewriteUrlList(json.getVersions(), version -> rewriteUrls(version, origin));
         return json;
     }
 
     public JsonNode rewriteUrls(JsonNode json) {
         if(json.isArray()) {
-            var list = new ObjectMapper().createArrayNode();
+            var origin = getOrigin();
             var array = (ArrayNode) json;
-            array.forEach(url -> list.add(rewriteUrl(url.asText())));
+            var list = JsonNodeFactory.instance.arrayNode(array.size());
+            array.forEach(url -> list.add(rewriteUrl(url.asText(), origin)));
             json = list;
         }
 
@@ -138,40 +153,96 @@ public class UpstreamProxyService {
     }
 
     public URI rewriteUrl(URI location) {
-        return URI.create(rewriteUrl(location.toString()));
+        return URI.create(rewriteUrl(location.toString(), getOrigin()));
     }
 
-    private SearchEntryJson rewriteUrls(SearchEntryJson json) {
-        json.setUrl(rewriteUrl(json.getUrl()));
-        rewriteUrlMap(json.getFiles());
-        json.setAllVersions(rewriteUrlList(json.getAllVersions(), this::rewriteUrls));
+    private ExtensionJson rewriteUrls(ExtensionJson json, String origin) {
+        json.setNamespaceUrl(rewriteUrl(json.getNamespaceUrl(), origin));
+        json.setReviewsUrl(rewriteUrl(json.getReviewsUrl(), origin));
+        rewriteUrlMap(json.getFiles(), origin);
+        rewriteUrlMap(json.getAllVersions(), origin);
+        rewriteUrlList(json.getDependencies(), dependency -> rewriteUrls(dependency, origin));
+        rewriteUrlList(json.getBundledExtensions(), bundled -> rewriteUrls(bundled, origin));
+        rewriteUrlMap(json.getDownloads(), origin);
+        return json;
+    }
+
+    private SearchEntryJson rewriteUrls(SearchEntryJson json, String origin) {
+        json.setUrl(rewriteUrl(json.getUrl(), origin));
+        rewriteUrlMap(json.getFiles(), origin);
+        rewriteUrlList(json.getAllVersions(), version -> rewriteUrls(version, origin));
 
         return json;
     }
 
-    private VersionReferenceJson rewriteUrls(VersionReferenceJson json) {
-        json.setUrl(rewriteUrl(json.getUrl()));
-        rewriteUrlMap(json.getFiles());
+    private VersionReferenceJson rewriteUrls(VersionReferenceJson json, String origin) {
+        json.setUrl(rewriteUrl(json.getUrl(), origin));
+        rewriteUrlMap(json.getFiles(), origin);
         return json;
     }
 
-    private ExtensionReferenceJson rewriteUrls(ExtensionReferenceJson json) {
-        json.setUrl(rewriteUrl(json.getUrl()));
+    private ExtensionReferenceJson rewriteUrls(ExtensionReferenceJson json, String origin) {
+        json.setUrl(rewriteUrl(json.getUrl(), origin));
         return json;
     }
 
-    private <T> List<T> rewriteUrlList(List<T> jsonList, Function<T,T> mapper) {
-        return jsonList != null ? jsonList.stream().map(mapper).collect(Collectors.toList()) : jsonList;
+    /**
+     * The elements are rewritten in place, the list itself isn't copied.
+     */
+    private <T> void rewriteUrlList(List<T> jsonList, Consumer<T> rewriter) {
+        if(jsonList != null) {
+            jsonList.forEach(rewriter);
+        }
     }
 
-    private void rewriteUrlMap(Map<String, String> map) {
+    private void rewriteUrlMap(Map<String, String> map, String origin) {
         if(map != null) {
-            map.replaceAll((k, v) -> rewriteUrl(v));
+            map.replaceAll((k, v) -> rewriteUrl(v, origin));
         }
     }
 
-    private String rewriteUrl(String url) {
+    /**
+     * @return scheme, user info, host and port of the base URL of the current request,
+     * or an empty string when called outside of a web request.
+     */
+    private String getOrigin() {
         var baseUri = URI.create(UrlUtil.getBaseUrl());
+        try {
+            return new URI(baseUri.getScheme(), baseUri.getUserInfo(), baseUri.getHost(), baseUri.getPort(), null, null, null).toString();
+        } catch (URISyntaxException e) {
+            logger.error("failed to get origin of base URI: {}", baseUri);
+            return "";
+        }
+    }
+
+    /**
+     * Replaces the scheme and authority of the URL with the origin, path, query and fragment are kept as is.
+     */
+    String rewriteUrl(String url, String origin) {
+        if(url == null) {
+            return null;
+        }
+
+        var schemeEnd = url.indexOf("://");
+        if(schemeEnd < 0) {
+            return url.startsWith("/") ? origin + url : rewriteUri(url, origin);
+        }
+
+        var authorityStart = schemeEnd + 3;
+        var authorityEnd = url.length();
+        for(var i = authorityStart; i < url.length(); i++) {
+            var c = url.charAt(i);
+            if(c == '/' || c == '?' || c == '#') {
+                authorityEnd = i;
+                break;
+            }
+        }
+
+        return origin.concat(url.substring(authorityEnd));
+    }
+
+    private String rewriteUri(String url, String origin) {
+        var baseUri = URI.create(origin);
         var uri = URI.create(url);
 
         var scheme = baseUri.getScheme();
@@ -10,12 +10,16 @@
 package org.eclipse.openvsx;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.search.ISearchService;
 import org.eclipse.openvsx.util.NotFoundException;
 import org.eclipse.openvsx.util.TargetPlatform;
+import org.eclipse.openvsx.util.UrlUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +37,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Component
@@ -53,15 +58,21 @@ public class UpstreamRegistryService implements IExtensionRegistry {
     private final RestTemplate restTemplate;
     private UpstreamProxyService proxy;
     private final UrlConfigService urlConfigService;
+    private final UpstreamRequestExecutor requests;
+    private final CacheService cache;
 
     public UpstreamRegistryService(
             RestTemplate restTemplate,
             Optional<UpstreamProxyService> upstreamProxyService,
-            UrlConfigService urlConfigService
+            UrlConfigService urlConfigService,
+            UpstreamRequestExecutor requests,
+            CacheService cache
     ) {
         this.restTemplate = restTemplate;
         upstreamProxyService.ifPresent(service -> this.proxy = service);
         this.urlConfigService = urlConfigService;
+        this.requests = requests;
+        this.cache = cache;
     }
 
     public boolean isValid() {
@@ -73,8 +84,9 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         var urlTemplate = urlConfigService.getUpstreamUrl() + "/api/{namespace}";
         var uriVariables = Map.of(VAR_NAMESPACE, namespace);
         try {
-            var json = restTemplate.getForObject(urlTemplate, NamespaceJson.class, uriVariables);
-            return proxy != null ? proxy.rewriteUrls(json) : json;
+            return proxy != null
+                    ? getRewritten(urlTemplate, uriVariables, NamespaceJson.class, proxy::rewriteUrls)
+                    : restTemplate.getForObject(urlTemplate, NamespaceJson.class, uriVariables);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -115,12 +127,14 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
+            if(proxy != null) {
+                return getRewritten(urlTemplate, uriVariables, ExtensionJson.class, this::rewriteUrls);
+            }
+
+            var requestUrl = urlTemplate;
+            var json = requests.call(() -> restTemplate.getForObject(requestUrl, ExtensionJson.class, uriVariables));
             if(json != null) {
                 makeDownloadsCompatible(json);
-                if(proxy != null) {
-                    proxy.rewriteUrls(json);
-                }
             }
 
             return json;
@@ -149,12 +163,14 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, ExtensionJson.class, uriVariables);
+            if(proxy != null) {
+                return getRewritten(urlTemplate, uriVariables, ExtensionJson.class, this::rewriteUrls);
+            }
+
+            var requestUrl = urlTemplate;
+            var json = requests.call(() -> restTemplate.getForObject(requestUrl, ExtensionJson.class, uriVariables));
             if(json != null) {
                 makeDownloadsCompatible(json);
-                if(proxy != null) {
-                    proxy.rewriteUrls(json);
-                }
             }
 
             return json;
@@ -183,8 +199,9 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put(VAR_SIZE, String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionsJson.class, uriVariables);
-            return proxy != null ? proxy.rewriteUrls(json) : json;
+            return proxy != null
+                    ? getRewritten(urlTemplate, uriVariables, VersionsJson.class, proxy::rewriteUrls)
+                    : restTemplate.getForObject(urlTemplate, VersionsJson.class, uriVariables);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -210,8 +227,9 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         uriVariables.put(VAR_SIZE, String.valueOf(size));
 
         try {
-            var json = restTemplate.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
-            return proxy != null ? proxy.rewriteUrls(json) : json;
+            return proxy != null
+                    ? getRewritten(urlTemplate, uriVariables, VersionReferencesJson.class, proxy::rewriteUrls)
+                    : restTemplate.getForObject(urlTemplate, VersionReferencesJson.class, uriVariables);
         } catch (RestClientException exc) {
             if(!isNotFound(exc)) {
                 var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables);
@@ -453,6 +471,59 @@ public class UpstreamRegistryService implements IExtensionRegistry {
         }
     }
 
+    private ExtensionJson rewriteUrls(ExtensionJson json) {
+        if(json != null) {
+            makeDownloadsCompatible(json);
+            proxy.rewriteUrls(json);
+        }
+
+        return json;
+    }
+
+    /**
+     * Gets the JSON response from the upstream registry and rewrites its URLs. The rewritten response is cached
+     * and revalidated with a conditional request once it's stale. A stale response is also used when
+     * the upstream registry fails with an error other than 404 Not Found.
+     */
+    private <T> T getRewritten(String urlTemplate, Map<String, String> uriVariables, Class<T> type, UnaryOperator<T> rewrite) {
+        var url = UriComponentsBuilder.fromUriString(urlTemplate).build(uriVariables).toString();
+        // rewritten URLs depend on the base URL of the request
+        var key = UrlUtil.getBaseUrl() + " " + url;
+        var cached = cache.getUpstreamResponse(key);
+        if(cached != null && cached.isFresh()) {
+            return type.cast(cached.body());
+        }
+
+        var headers = new HttpHeaders();
+        if(cached != null && cached.eTag() != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
+        if(cached != null && cached.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = requests.call(() -> restTemplate.exchange(urlTemplate, HttpMethod.GET, new HttpEntity<>(headers), type, uriVariables));
+        } catch (RestClientException exc) {
+            if(cached == null || isNotFound(exc)) {
+                throw exc;
+            }
+
+            logger.warn("GET {} failed, using stale response: {}", url, exc.getMessage());
+            return type.cast(cached.body());
+        }
+
+        if(cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            cache.revalidatedUpstreamResponse(key, cached, response.getHeaders());
+            return type.cast(cached.body());
+        }
+
+        var json = rewrite.apply(response.getBody());
+        cache.putUpstreamResponse(key, json, response.getHeaders());
+        return json;
+    }
+
     private void makeDownloadsCompatible(ExtensionJson json) {
         if (json.getDownloads() == null && json.getFiles().containsKey("download")) {
             var downloads = new HashMap<String, String>();
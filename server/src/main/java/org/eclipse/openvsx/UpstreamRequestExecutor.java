@@ -0,0 +1,203 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs requests to the upstream registry on virtual threads. Foreground requests, which a client waits for,
+ * and mirror requests have separate limits of concurrent requests, so that mirroring can't starve proxied lookups.
+ * When a hedge delay is configured, a request that didn't complete within the delay is sent a second time
+ * and the first request to succeed decides the outcome. A request only fails when all attempts that were sent failed.
+ * Only use it for idempotent requests.
+ * Requests that are sent from within a running request are executed directly on the calling thread,
+ * so that nesting doesn't wait for permits that are held by the outer requests.
+ * The context of the calling thread, e.g. the current observation and trace, is propagated to the requests.
+ */
+@Component
+public class UpstreamRequestExecutor {
+
+    public enum Lane { FOREGROUND, MIRROR }
+
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private final ExecutorService executor;
+    private final Map<Lane, Semaphore> permits = new EnumMap<>(Lane.class);
+    private final Duration hedgeDelay;
+
+    public UpstreamRequestExecutor(
+            @Value("${ovsx.upstream.max-concurrent-requests:20}") int maxConcurrentRequests,
+            @Value("${ovsx.upstream.mirror.max-concurrent-requests:4}") int maxConcurrentMirrorRequests,
+            @Value("${ovsx.upstream.hedge-delay:#{null}}") Duration hedgeDelay
+    ) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory());
+        this.permits.put(Lane.FOREGROUND, new Semaphore(maxConcurrentRequests));
+        this.permits.put(Lane.MIRROR, new Semaphore(maxConcurrentMirrorRequests));
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sends a foreground request and waits for its response.
+     * Unchecked exceptions of the request are rethrown as is.
+     */
+    public <T> T call(Supplier<T> request) {
+        return join(submit(Lane.FOREGROUND, request));
+    }
+
+    /**
+     * Sends a request for every input concurrently and returns the responses in the order of the inputs.
+     * Fails with the exception of the first failed request, in input order, and cancels the other requests.
+     */
+    public <I, T> List<T> callAll(Lane lane, Collection<I> inputs, Function<I, T> request) {
+        var futures = new ArrayList<CompletableFuture<T>>(inputs.size());
+        for(var input : inputs) {
+            futures.add(submit(lane, () -> request.apply(input)));
+        }
+
+        var results = new ArrayList<T>(futures.size());
+        try {
+            for (var future : futures) {
+                results.add(join(future));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        return results;
+    }
+
+    /**
+     * Cancelling the returned future interrupts the threads that send the request. Interrupting a virtual thread
+     * that is blocked on a socket closes the socket, so the HTTP request is aborted and its connection is released.
+     * The same happens to the request that loses the race against its hedged copy.
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> request) {
+        if(IN_REQUEST.get() != null) {
+            try {
+                return CompletableFuture.completedFuture(request.get());
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        var context = CONTEXT_SNAPSHOTS.captureAll();
+        var attempts = new Attempts<T>();
+        attempts.launch(() -> executor.submit(context.wrap(() -> attempt(lane, request, attempts, true))));
+        if(hedgeDelay != null && hedgeDelay.isPositive()) {
+            CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if(!executor.isShutdown()) {
+                    attempts.launch(() -> executor.submit(context.wrap(() -> attempt(lane, request, attempts, false))));
+                }
+            });
+        }
+
+        return attempts.result;
+    }
+
+    private <T> void attempt(Lane lane, Supplier<T> request, Attempts<T> attempts, boolean primary) {
+        var lanePermits = permits.get(lane);
+        try {
+            lanePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            attempts.failed(new CancellationException("Interrupted while waiting for an upstream request slot"), primary);
+            return;
+        }
+
+        IN_REQUEST.set(Boolean.TRUE);
+        try {
+            if(!attempts.result.isDone()) {
+                attempts.result.complete(request.get());
+            }
+        } catch (RuntimeException | Error e) {
+            attempts.failed(e, primary);
+        } finally {
+            IN_REQUEST.remove();
+            lanePermits.release();
+        }
+    }
+
+    /**
+     * The attempts of one request. The result fails once every launched attempt has failed, with the error
+     * of the primary attempt, and no attempt is launched after that. Completing the result cancels the attempts that are still running.
+     */
+    private static class Attempts<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final List<Future<?>> futures = new ArrayList<>();
+        private int running;
+        private Throwable error;
+
+        Attempts() {
+            result.whenComplete((value, e) -> cancel());
+        }
+
+        synchronized void launch(Supplier<Future<?>> submit) {
+            if(result.isDone()) {
+                return;
+            }
+
+            try {
+                futures.add(submit.get());
+                running++;
+            } catch (RejectedExecutionException e) {
+                if(running == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        }
+
+        synchronized void failed(Throwable e, boolean primary) {
+            running--;
+            if(primary || error == null) {
+                error = e;
+            }
+            if(running == 0) {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private synchronized void cancel() {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if(e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw e;
+        }
+    }
+}
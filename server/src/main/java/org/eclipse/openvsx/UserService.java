@@ -211,6 +211,7 @@ public class UserService {
             namespace.setLogoStorageType(null);
         }
 
+        cache.evictNamespaceDetails(namespace);
         return ResultJson.success("Updated details for namespace " + details.getName());
     }
 
@@ -249,6 +250,7 @@ public class UserService {
             throw new ServerErrorException("Failed to update namespace logo", e);
         }
 
+        cache.evictNamespaceDetails(namespace);
         return ResultJson.success("Updated logo for namespace " + namespace.getName());
     }
 
@@ -0,0 +1,24 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.adapter;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Parameters of the batch asset query")
+public record AssetBatchParam(
+        @Schema(description = "Extension identifiers in the format {publisher}.{name}", example = "[\"redhat.vscode-yaml\"]")
+        List<String> extensionIds,
+        @Schema(description = "Asset types to resolve, defaults to the icon and details (README)", example = "[\"Microsoft.VisualStudio.Services.Icons.Default\"]")
+        List<String> assetTypes,
+        @Schema(description = "Target platform of the extension versions", example = "linux-x64")
+        String targetPlatform
+) {}
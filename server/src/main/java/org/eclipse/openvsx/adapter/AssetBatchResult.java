@@ -0,0 +1,28 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.adapter;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resolved asset URLs of the latest versions of the requested extensions")
+public record AssetBatchResult(List<ExtensionAssets> extensions) {
+
+    public record ExtensionAssets(
+            @Schema(description = "Extension identifier in the format {publisher}.{name}", example = "redhat.vscode-yaml")
+            String extensionId,
+            @Schema(description = "Latest version of the extension")
+            String version,
+            @Schema(description = "Target platform of the latest version")
+            String targetPlatform,
+            List<ExtensionQueryResult.ExtensionFile> files
+    ) {}
+}
@@ -29,7 +29,7 @@ public class DefaultExtensionQueryRequestHandler implements IExtensionQueryReque
     @Override
     public ExtensionQueryResult getResult(ExtensionQueryParam param, int pageSize, int defaultPageSize) {
         var totalCount = 0L;
-        var extensions = new ArrayList<ExtensionQueryResult.Extension>();
+        List<ExtensionQueryResult.Extension> extensions = Collections.emptyList();
         var extensionIds = new HashSet<String>();
 
         var services = getVSCodeServices().iterator();
@@ -40,7 +40,9 @@ public class DefaultExtensionQueryRequestHandler implements IExtensionQueryReque
                     var subResult = service.extensionQuery(param, defaultPageSize);
                     var subExtensions = subResult.results().get(0).extensions();
                     if(subExtensions != null) {
-                        extensions.addAll(subExtensions);
+                        // don't copy the list, a large local result is built while it's written,
+                        // see LocalVSCodeService#extensionQuery
+                        extensions = subExtensions;
                     }
 
                     totalCount = getTotalCount(subResult);
@@ -51,6 +53,7 @@ public class DefaultExtensionQueryRequestHandler implements IExtensionQueryReque
                     var subExtensionsCount = subExtensions != null ? subExtensions.size() : 0;
                     if (subExtensionsCount > 0) {
                         int limit = pageSize - extensionCount;
+                        extensions = new ArrayList<>(extensions);
                         mergeExtensionQueryResults(extensions, extensionIds, subExtensions, limit);
                     }
 
@@ -0,0 +1,179 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.adapter;
+
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.util.TargetPlatform;
+
+import java.util.*;
+
+/**
+ * Groups the versions of an extensionquery by extension in a single pass, keyed by the primitive extension id.
+ * The latest version overall and the latest version per target platform are computed while grouping,
+ * using {@link ExtensionVersion#SORT_COMPARATOR} like {@link org.eclipse.openvsx.util.VersionService#getLatest}.
+ */
+public class ExtensionVersionIndex {
+
+    private static final Map<String, Integer> PLATFORM_INDEXES = new HashMap<>();
+    static {
+        for (var i = 0; i < TargetPlatform.TARGET_PLATFORM_NAMES.size(); i++) {
+            PLATFORM_INDEXES.put(TargetPlatform.TARGET_PLATFORM_NAMES.get(i), i);
+        }
+    }
+
+    private long[] keys;
+    private Group[] groups;
+    private int size;
+
+    private ExtensionVersionIndex(int expectedExtensions) {
+        var capacity = Integer.highestOneBit(Math.max(8, expectedExtensions * 2 - 1)) << 1;
+        keys = new long[capacity];
+        groups = new Group[capacity];
+    }
+
+    public static ExtensionVersionIndex of(List<ExtensionVersion> versions, int expectedExtensions) {
+        var index = new ExtensionVersionIndex(expectedExtensions);
+        for (var version : versions) {
+            index.group(version.getExtension().getId()).add(version);
+        }
+
+        return index;
+    }
+
+    /**
+     * @return the latest version of the extension or {@code null} if it has no versions.
+     */
+    public ExtensionVersion getLatest(long extensionId) {
+        var group = find(extensionId);
+        return group != null ? group.latest : null;
+    }
+
+    /**
+     * @return the latest version of every target platform of the extension, sorted by {@link ExtensionVersion#SORT_COMPARATOR}.
+     */
+    public List<ExtensionVersion> getLatestPerTargetPlatform(long extensionId) {
+        var group = find(extensionId);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+
+        var latest = new ArrayList<ExtensionVersion>();
+        for (var version : group.latestByPlatform) {
+            if (version != null) {
+                latest.add(version);
+            }
+        }
+        if (group.latestByOtherPlatform != null) {
+            latest.addAll(group.latestByOtherPlatform.values());
+        }
+
+        latest.sort(ExtensionVersion.SORT_COMPARATOR);
+        return latest;
+    }
+
+    /**
+     * @return all versions of the extension, sorted by {@link ExtensionVersion#SORT_COMPARATOR}.
+     */
+    public List<ExtensionVersion> getVersions(long extensionId) {
+        var group = find(extensionId);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        if (!group.sorted) {
+            group.versions.sort(ExtensionVersion.SORT_COMPARATOR);
+            group.sorted = true;
+        }
+
+        return group.versions;
+    }
+
+    private Group find(long extensionId) {
+        var mask = keys.length - 1;
+        for (var i = slot(extensionId, mask); groups[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == extensionId) {
+                return groups[i];
+            }
+        }
+
+        return null;
+    }
+
+    private Group group(long extensionId) {
+        var mask = keys.length - 1;
+        var i = slot(extensionId, mask);
+        for (; groups[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == extensionId) {
+                return groups[i];
+            }
+        }
+
+        var group = new Group();
+        keys[i] = extensionId;
+        groups[i] = group;
+        if (++size * 2 > keys.length) {
+            resize();
+            return find(extensionId);
+        }
+
+        return group;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldGroups = groups;
+        keys = new long[oldKeys.length * 2];
+        groups = new Group[oldGroups.length * 2];
+        var mask = keys.length - 1;
+        for (var j = 0; j < oldKeys.length; j++) {
+            if (oldGroups[j] != null) {
+                var i = slot(oldKeys[j], mask);
+                while (groups[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                groups[i] = oldGroups[j];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        var hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static class Group {
+        final List<ExtensionVersion> versions = new ArrayList<>();
+        final ExtensionVersion[] latestByPlatform = new ExtensionVersion[TargetPlatform.TARGET_PLATFORM_NAMES.size()];
+        Map<String, ExtensionVersion> latestByOtherPlatform;
+        ExtensionVersion latest;
+        boolean sorted;
+
+        void add(ExtensionVersion version) {
+            versions.add(version);
+            if (latest == null || ExtensionVersion.SORT_COMPARATOR.compare(version, latest) < 0) {
+                latest = version;
+            }
+
+            var platformIndex = PLATFORM_INDEXES.get(version.getTargetPlatform());
+            if (platformIndex != null) {
+                var platformLatest = latestByPlatform[platformIndex];
+                if (platformLatest == null || ExtensionVersion.SORT_COMPARATOR.compare(version, platformLatest) < 0) {
+                    latestByPlatform[platformIndex] = version;
+                }
+            } else {
+                if (latestByOtherPlatform == null) {
+                    latestByOtherPlatform = new HashMap<>();
+                }
+                latestByOtherPlatform.merge(version.getTargetPlatform(), version,
+                        (a, b) -> ExtensionVersion.SORT_COMPARATOR.compare(b, a) < 0 ? b : a);
+            }
+        }
+    }
+}
@@ -53,19 +53,34 @@ public class LocalVSCodeService implements IVSCodeService {
     protected final Logger logger = LoggerFactory.getLogger(LocalVSCodeService.class);
 
     private final RepositoryService repositories;
-    private final VersionService versions;
     private final SearchUtilService search;
     private final StorageUtilService storageUtil;
     private final ExtensionVersionIntegrityService integrityService;
     private final WebResourceService webResources;
     private final CacheService cache;
 
+    private static final Map<String, String> ASSET_FILE_TYPES = Map.of(
+            FILE_VSIX, DOWNLOAD,
+            FILE_MANIFEST, MANIFEST,
+            FILE_DETAILS, README,
+            FILE_CHANGELOG, CHANGELOG,
+            FILE_LICENSE, LICENSE,
+            FILE_ICON, ICON,
+            FILE_VSIXMANIFEST, VSIXMANIFEST,
+            FILE_SIGNATURE, DOWNLOAD_SIG
+    );
+
     @Value("${ovsx.webui.url:}")
     String webuiUrl;
 
+    /**
+     * Results with more extensions are built chunk by chunk, so that only one chunk of versions and files is loaded at a time.
+     */
+    @Value("${ovsx.vscode.extension-query.chunk-size:100}")
+    int queryChunkSize = 100;
+
     public LocalVSCodeService(
             RepositoryService repositories,
-            VersionService versions,
             SearchUtilService search,
             StorageUtilService storageUtil,
             ExtensionVersionIntegrityService integrityService,
@@ -73,7 +88,6 @@ public class LocalVSCodeService implements IVSCodeService {
             CacheService cache
     ) {
         this.repositories = repositories;
-        this.versions = versions;
         this.search = search;
         this.storageUtil = storageUtil;
         this.integrityService = integrityService;
@@ -83,6 +97,64 @@ public class LocalVSCodeService implements IVSCodeService {
 
     @Override
     public ExtensionQueryResult extensionQuery(ExtensionQueryParam param, int defaultPageSize) {
+        return isUpdateCheck(param) ? updateCheck(param, defaultPageSize) : queryExtensions(param, defaultPageSize);
+    }
+
+    /**
+     * An update check asks for the latest versions of extensions by name, VS Code polls it for all installed extensions.
+     */
+    private boolean isUpdateCheck(ExtensionQueryParam param) {
+        if(!test(param.flags(), FLAG_INCLUDE_LATEST_VERSION_ONLY) || param.filters() == null || param.filters().size() != 1) {
+            return false;
+        }
+
+        var criteria = param.filters().get(0).criteria();
+        return criteria != null
+                && criteria.stream().anyMatch(c -> c.filterType() == FILTER_EXTENSION_NAME && c.value() != null)
+                && criteria.stream().allMatch(c -> c.filterType() == FILTER_EXTENSION_NAME || c.filterType() == FILTER_TARGET || c.filterType() == FILTER_EXCLUDE_WITH_FLAGS);
+    }
+
+    private ExtensionQueryResult updateCheck(ExtensionQueryParam param, int defaultPageSize) {
+        var filter = param.filters().get(0);
+        var targetCriterion = filter.findCriterion(FILTER_TARGET);
+        var targetPlatform = TargetPlatform.isValid(targetCriterion) ? targetCriterion : null;
+        var baseUrl = UrlUtil.getBaseUrl();
+        var extensionIds = filter.findCriteria(FILTER_EXTENSION_NAME).stream()
+                .map(extensionId -> extensionId.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        var results = new HashMap<>(cache.getUpdateCheckExtensions(baseUrl, param.flags(), targetPlatform, extensionIds));
+        var missingIds = extensionIds.stream()
+                .filter(extensionId -> !results.containsKey(extensionId))
+                .collect(Collectors.toList());
+
+        if(!missingIds.isEmpty()) {
+            var criteria = filter.criteria().stream()
+                    .filter(c -> c.filterType() != FILTER_EXTENSION_NAME)
+                    .collect(Collectors.toList());
+            missingIds.forEach(extensionId -> criteria.add(new Criterion(FILTER_EXTENSION_NAME, extensionId)));
+
+            var missingFilter = new Filter(criteria, filter.pageNumber(), filter.pageSize(), filter.sortBy(), filter.sortOrder());
+            var missingResult = queryExtensions(new ExtensionQueryParam(List.of(missingFilter), param.flags()), defaultPageSize);
+            var queryExtensions = missingResult.results().get(0).extensions().stream()
+                    .collect(Collectors.toMap(e -> NamingUtil.toExtensionId(e).toLowerCase(Locale.ROOT), Function.identity(), (a, b) -> a));
+
+            for(var extensionId : missingIds) {
+                var queryExtension = queryExtensions.get(extensionId);
+                cache.putUpdateCheckExtension(baseUrl, param.flags(), targetPlatform, extensionId, queryExtension);
+                results.put(extensionId, Optional.ofNullable(queryExtension));
+            }
+        }
+
+        var extensions = extensionIds.stream()
+                .map(results::get)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+
+        return toQueryResult(extensions);
+    }
+
+    private ExtensionQueryResult queryExtensions(ExtensionQueryParam param, int defaultPageSize) {
         String targetPlatform;
         String queryString = null;
         String category = null;
@@ -124,13 +196,14 @@ public class LocalVSCodeService implements IVSCodeService {
         if (!extensionIds.isEmpty()) {
             extensionsList = repositories.findActiveExtensionsByPublicId(extensionIds, BuiltInExtensionUtil.getBuiltInNamespace());
         } else if (!extensionNames.isEmpty()) {
-            extensionsList = extensionNames.stream()
+            var ids = extensionNames.stream()
                     .map(NamingUtil::fromExtensionId)
                     .filter(Objects::nonNull)
                     .filter(extensionId -> !BuiltInExtensionUtil.isBuiltIn(extensionId.namespace()))
-                    .map(extensionId -> repositories.findActiveExtension(extensionId.extension(), extensionId.namespace()))
-                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
+
+            // resolve all names in a single query instead of one query per name
+            extensionsList = repositories.findActiveExtensions(ids);
         } else if (!search.isEnabled()) {
             extensionsList = Collections.emptyList();
         } else {
@@ -162,47 +235,52 @@ public class LocalVSCodeService implements IVSCodeService {
         }
 
         var flags = param.flags();
+        List<ExtensionQueryResult.Extension> extensionQueryResults;
+        if(extensionsList.size() <= queryChunkSize) {
+            extensionQueryResults = toQueryExtensions(extensionsList, targetPlatform, flags);
+        } else {
+            // keep only one chunk in memory at a time, the remaining chunks are built while
+            // the response is written, see VSCodeAPI#extensionQuery
+            extensionQueryResults = new ChunkedList<>(extensionsList, queryChunkSize, chunk -> toQueryExtensions(chunk, targetPlatform, flags));
+            // build the first chunk now, so that e.g. a database failure still produces an error response
+            extensionQueryResults.getFirst();
+        }
+
+        return toQueryResult(extensionQueryResults, totalCount);
+    }
+
+    /**
+     * @return one query extension per extension, in the same order.
+     */
+    private List<ExtensionQueryResult.Extension> toQueryExtensions(List<Extension> extensionsList, String targetPlatform, int flags) {
         // when mapping the list of extensions to a map, we need to handle duplicate entries which can happen,
         // see https://github.com/eclipse/openvsx/issues/1394
         var extensionsMap = extensionsList.stream().collect(Collectors.toMap(Extension::getId, Function.identity(), (a, b) -> a));
         List<ExtensionVersion> allActiveExtensionVersions = repositories.findActiveExtensionVersions(extensionsMap.keySet(), targetPlatform);
+        for(var extVersion : allActiveExtensionVersions) {
+            extVersion.setExtension(extensionsMap.get(extVersion.getExtension().getId()));
+        }
 
-        List<ExtensionVersion> extensionVersions;
+        // group once and compute the latest versions while grouping
+        var index = ExtensionVersionIndex.of(allActiveExtensionVersions, extensionsMap.size());
+        var extensionVersionsMap = new HashMap<Long, List<ExtensionVersion>>(extensionsMap.size());
         if (test(flags, FLAG_INCLUDE_LATEST_VERSION_ONLY)) {
-            extensionVersions = allActiveExtensionVersions.stream()
-                    .collect(Collectors.groupingBy(ev -> ev.getExtension().getId() + "@" + ev.getTargetPlatform()))
-                    .values()
-                    .stream()
-                    .map(list -> versions.getLatest(list, true))
-                    .collect(Collectors.toList());
+            extensionsMap.keySet().forEach(id -> extensionVersionsMap.put(id, index.getLatestPerTargetPlatform(id)));
         } else if (test(flags, FLAG_INCLUDE_VERSIONS) || test(flags, FLAG_INCLUDE_VERSION_PROPERTIES)) {
-            extensionVersions = allActiveExtensionVersions;
-        } else {
-            extensionVersions = Collections.emptyList();
+            extensionsMap.keySet().forEach(id -> extensionVersionsMap.put(id, index.getVersions(id)));
         }
 
-        var comparator = Comparator.<ExtensionVersion, Long>comparing(ev -> ev.getExtension().getId())
-                .thenComparing(ExtensionVersion.SORT_COMPARATOR);
-
-        var extensionVersionsMap = extensionVersions.stream()
-                .map(ev -> {
-                    ev.setExtension(extensionsMap.get(ev.getExtension().getId()));
-                    return ev;
-                })
-                .sorted(comparator)
-                .collect(Collectors.groupingBy(ev -> ev.getExtension().getId()));
+        var idsMap = extensionVersionsMap.values().stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toMap(ExtensionVersion::getId, ev -> ev));
 
         Map<Long, List<FileResource>> fileResources;
-        if (test(flags, FLAG_INCLUDE_FILES) && !extensionVersionsMap.isEmpty()) {
+        if (test(flags, FLAG_INCLUDE_FILES) && !idsMap.isEmpty()) {
             var types = new ArrayList<>(List.of(MANIFEST, README, LICENSE, ICON, DOWNLOAD, CHANGELOG, VSIXMANIFEST));
             if(integrityService.isEnabled()) {
                 types.add(DOWNLOAD_SIG);
             }
 
-            var idsMap = extensionVersionsMap.values().stream()
-                    .flatMap(Collection::stream)
-                    .collect(Collectors.toMap(ExtensionVersion::getId, ev -> ev));
-
             fileResources = repositories.findFileResourcesByExtensionVersionIdAndType(idsMap.keySet(), types).stream()
                     .map(r -> {
                         r.setExtension(idsMap.get(r.getExtension().getId()));
@@ -213,16 +291,9 @@ public class LocalVSCodeService implements IVSCodeService {
             fileResources = Collections.emptyMap();
         }
 
-        var latestVersions = allActiveExtensionVersions.stream()
-                .collect(Collectors.groupingBy(ev -> ev.getExtension().getId()))
-                .values()
-                .stream()
-                .map(list -> versions.getLatest(list, false))
-                .collect(Collectors.toMap(ev -> ev.getExtension().getId(), ev -> ev));
-
-        var extensionQueryResults = new ArrayList<ExtensionQueryResult.Extension>();
+        var extensionQueryResults = new ArrayList<ExtensionQueryResult.Extension>(extensionsList.size());
         for(var extension : extensionsList) {
-            var latest = latestVersions.get(extension.getId());
+            var latest = index.getLatest(extension.getId());
             var queryVersions = extensionVersionsMap.getOrDefault(extension.getId(), Collections.emptyList()).stream()
                     .map(extVer -> toQueryVersion(extVer, fileResources, flags))
                     .collect(Collectors.toList());
@@ -231,7 +302,7 @@ public class LocalVSCodeService implements IVSCodeService {
             extensionQueryResults.add(queryExt);
         }
 
-        return toQueryResult(extensionQueryResults, totalCount);
+        return extensionQueryResults;
     }
 
     private String createFileUrl(List<FileResource> singleResource, String fileBaseUrl) {
@@ -306,20 +377,9 @@ public class LocalVSCodeService implements IVSCodeService {
             }
         }
 
-        var assets = Map.of(
-                FILE_VSIX, DOWNLOAD,
-                FILE_MANIFEST, MANIFEST,
-                FILE_DETAILS, README,
-                FILE_CHANGELOG, CHANGELOG,
-                FILE_LICENSE, LICENSE,
-                FILE_ICON, ICON,
-                FILE_VSIXMANIFEST, VSIXMANIFEST,
-                FILE_SIGNATURE, DOWNLOAD_SIG
-        );
-
-        var type = assets.get(assetType);
+        var type = ASSET_FILE_TYPES.get(assetType);
         if(type != null) {
-            var resource = repositories.findFileByType(namespace, extensionName, targetPlatform, version, type);
+            var resource = findFileByType(namespace, extensionName, targetPlatform, version, type);
             if (resource == null) {
                 throw new NotFoundException();
             }
@@ -340,6 +400,95 @@ public class LocalVSCodeService implements IVSCodeService {
         throw new NotFoundException();
     }
 
+    /**
+     * Resolves the asset URLs of the latest versions of the given extensions,
+     * so that a client can prefetch the assets of a whole page of extensions in one round trip.
+     */
+    public AssetBatchResult getAssetUrls(AssetBatchParam param) {
+        var assetTypes = param.assetTypes() == null || param.assetTypes().isEmpty()
+                ? List.of(FILE_ICON, FILE_DETAILS)
+                : param.assetTypes();
+        var types = assetTypes.stream()
+                .map(ASSET_FILE_TYPES::get)
+                .filter(Objects::nonNull)
+                .filter(type -> !type.equals(DOWNLOAD_SIG) || integrityService.isEnabled())
+                .collect(Collectors.toSet());
+        var extensionIds = Optional.ofNullable(param.extensionIds()).orElse(Collections.emptyList()).stream()
+                .map(NamingUtil::fromExtensionId)
+                .filter(Objects::nonNull)
+                .filter(extensionId -> !BuiltInExtensionUtil.isBuiltIn(extensionId.namespace()))
+                .collect(Collectors.toList());
+        if(types.isEmpty() || extensionIds.isEmpty()) {
+            return new AssetBatchResult(Collections.emptyList());
+        }
+
+        var extensionsMap = repositories.findActiveExtensions(extensionIds).stream()
+                .collect(Collectors.toMap(Extension::getId, Function.identity(), (a, b) -> a));
+        if(extensionsMap.isEmpty()) {
+            return new AssetBatchResult(Collections.emptyList());
+        }
+
+        var targetPlatform = TargetPlatform.isValid(param.targetPlatform()) ? param.targetPlatform() : null;
+        var index = ExtensionVersionIndex.of(repositories.findActiveExtensionVersions(extensionsMap.keySet(), targetPlatform), extensionsMap.size());
+        var latestVersions = new HashMap<String, ExtensionVersion>(extensionsMap.size());
+        for(var extension : extensionsMap.values()) {
+            var latest = index.getLatest(extension.getId());
+            if(latest != null) {
+                latest.setExtension(extension);
+                latestVersions.put(NamingUtil.toExtensionId(extension).toLowerCase(), latest);
+            }
+        }
+
+        var latestVersionIds = latestVersions.values().stream().map(ExtensionVersion::getId).collect(Collectors.toList());
+        var fileResources = repositories.findFileResourcesByExtensionVersionIdAndType(latestVersionIds, types).stream()
+                .collect(Collectors.groupingBy(fr -> fr.getExtension().getId()));
+
+        var serverUrl = UrlUtil.getBaseUrl();
+        var results = extensionIds.stream()
+                .map(extensionId -> NamingUtil.toExtensionId(extensionId.namespace(), extensionId.extension()).toLowerCase())
+                .distinct()
+                .map(latestVersions::get)
+                .filter(Objects::nonNull)
+                .map(extVersion -> toExtensionAssets(extVersion, fileResources.getOrDefault(extVersion.getId(), Collections.emptyList()), assetTypes, serverUrl))
+                .collect(Collectors.toList());
+
+        return new AssetBatchResult(results);
+    }
+
+    private AssetBatchResult.ExtensionAssets toExtensionAssets(ExtensionVersion extVersion, List<FileResource> resources, List<String> assetTypes, String serverUrl) {
+        var extension = extVersion.getExtension();
+        var namespaceName = extension.getNamespace().getName();
+        var resourcesByType = resources.stream().collect(Collectors.toMap(FileResource::getType, r -> r, (a, b) -> a));
+        var fileBaseUrl = UrlUtil.createApiFileBaseUrl(serverUrl, namespaceName, extension.getName(), extVersion.getTargetPlatform(), extVersion.getVersion());
+
+        var files = new ArrayList<ExtensionQueryResult.ExtensionFile>();
+        for(var assetType : assetTypes) {
+            var type = ASSET_FILE_TYPES.get(assetType);
+            if(type != null) {
+                addQueryExtensionVersionFile(files, assetType, createFileUrl(resourcesByType.get(type), fileBaseUrl));
+            }
+        }
+
+        return new AssetBatchResult.ExtensionAssets(
+                NamingUtil.toExtensionId(extension),
+                extVersion.getVersion(),
+                extVersion.getTargetPlatform(),
+                files
+        );
+    }
+
+    private FileResource findFileByType(String namespace, String extensionName, String targetPlatform, String version, String type) {
+        var resource = cache.getFileByType(namespace, extensionName, targetPlatform, version, type);
+        if(resource == null) {
+            resource = repositories.findFileByType(namespace, extensionName, targetPlatform, version, type);
+            if(resource != null) {
+                cache.putFileByType(namespace, extensionName, targetPlatform, version, type, resource);
+            }
+        }
+
+        return resource;
+    }
+
     private Path getWebResource(String namespaceName, String extensionName, String targetPlatform, String version, String name, Path extensionDownloadPath) {
         var file = webResources.getWebResource(namespaceName, extensionName, targetPlatform, version, name, extensionDownloadPath);
         if(file != null && !Files.exists(file)) {
@@ -378,7 +527,7 @@ public class LocalVSCodeService implements IVSCodeService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, builtinExtensionMessage());
         }
 
-        var resource = repositories.findFileByType(namespaceName, extensionName, targetPlatform, version, FileResource.DOWNLOAD);
+        var resource = findFileByType(namespaceName, extensionName, targetPlatform, version, FileResource.DOWNLOAD);
         if (resource == null) {
             throw new NotFoundException();
         }
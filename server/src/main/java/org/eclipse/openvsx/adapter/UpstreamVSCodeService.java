@@ -12,6 +12,7 @@ package org.eclipse.openvsx.adapter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.openvsx.UpstreamProxyService;
+import org.eclipse.openvsx.UpstreamRequestExecutor;
 import org.eclipse.openvsx.UrlConfigService;
 import org.eclipse.openvsx.util.HttpHeadersUtil;
 import org.eclipse.openvsx.util.NotFoundException;
@@ -47,17 +48,20 @@ public class UpstreamVSCodeService implements IVSCodeService {
     private UpstreamProxyService proxy;
     private final RestTemplate nonRedirectingRestTemplate;
     private final UrlConfigService urlConfigService;
+    private final UpstreamRequestExecutor requests;
 
     public UpstreamVSCodeService(
             RestTemplate restTemplate,
             Optional<UpstreamProxyService> upstreamProxyService,
             RestTemplate nonRedirectingRestTemplate,
-            UrlConfigService urlConfigService
+            UrlConfigService urlConfigService,
+            UpstreamRequestExecutor requests
     ) {
         this.restTemplate = restTemplate;
         upstreamProxyService.ifPresent(service -> this.proxy = service);
         this.nonRedirectingRestTemplate = nonRedirectingRestTemplate;
         this.urlConfigService = urlConfigService;
+        this.requests = requests;
     }
 
     public boolean isValid() {
@@ -70,7 +74,7 @@ public class UpstreamVSCodeService implements IVSCodeService {
         var request = new RequestEntity<>(param, HttpHeadersUtil.getForwardedHeaders(), HttpMethod.POST, URI.create(urlTemplate));
         ResponseEntity<ExtensionQueryResult> response;
         try {
-            response = restTemplate.exchange(request, ExtensionQueryResult.class);
+            response = requests.call(() -> restTemplate.exchange(request, ExtensionQueryResult.class));
         } catch(RestClientException exc) {
             throw propagateRestException(exc, request.getMethod(), urlTemplate, null);
         }
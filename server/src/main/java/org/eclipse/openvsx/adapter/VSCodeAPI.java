@@ -9,6 +9,8 @@
  ********************************************************************************/
 package org.eclipse.openvsx.adapter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,9 +20,14 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import org.eclipse.openvsx.util.NotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.cache.LocalMissCache;
+import org.eclipse.openvsx.util.RegistryUtil;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.UrlUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -31,10 +38,13 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.eclipse.openvsx.adapter.ExtensionQueryParam.*;
 import static org.eclipse.openvsx.adapter.ExtensionQueryResult.ExtensionFile.*;
@@ -44,19 +54,28 @@ import static org.eclipse.openvsx.util.TargetPlatform.*;
 public class VSCodeAPI {
 
     private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_ASSET_BATCH_SIZE = 100;
+
+    protected final Logger logger = LoggerFactory.getLogger(VSCodeAPI.class);
 
     private final LocalVSCodeService local;
     private final UpstreamVSCodeService upstream;
     private final IExtensionQueryRequestHandler extensionQueryRequestHandler;
+    private final CacheService cache;
+    private final ObjectMapper objectMapper;
 
     public VSCodeAPI(
             LocalVSCodeService local,
             UpstreamVSCodeService upstream,
-            IExtensionQueryRequestHandler extensionQueryRequestHandler
+            IExtensionQueryRequestHandler extensionQueryRequestHandler,
+            CacheService cache,
+            ObjectMapper objectMapper
     ) {
         this.local = local;
         this.upstream = upstream;
         this.extensionQueryRequestHandler = extensionQueryRequestHandler;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
     }
 
     private Iterable<IVSCodeService> getVSCodeServices() {
@@ -67,6 +86,13 @@ public class VSCodeAPI {
         return registries;
     }
 
+    /**
+     * Returns the result of the first registry that has the requested extension resource, see {@link RegistryUtil#findFirst}.
+     */
+    private <T> Optional<T> findFirst(String namespaceName, String extensionName, String lookup, Function<IVSCodeService, T> call) {
+        return RegistryUtil.findFirst(getVSCodeServices(), local, upstream.isValid(), cache, namespaceName, extensionName, lookup, call);
+    }
+
     @PostMapping(
         path = "/vscode/gallery/extensionquery",
         consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -76,9 +102,13 @@ public class VSCodeAPI {
     @Operation(summary = "Provides metadata of extensions matching the given parameters")
     @ApiResponse(
             responseCode = "200",
-            description = "Returns the query results"
+            description = "Returns the query results",
+            content = @Content(schema = @Schema(implementation = ExtensionQueryResult.class))
     )
-    public ExtensionQueryResult extensionQuery(@RequestBody @Parameter(description = "Parameters of the extension query") ExtensionQueryParam param) {
+    public void extensionQuery(
+            @RequestBody @Parameter(description = "Parameters of the extension query") ExtensionQueryParam param,
+            HttpServletResponse response
+    ) throws IOException {
         var size = 0;
         if(param.filters() != null && !param.filters().isEmpty()) {
             size = param.filters().get(0).pageSize();
@@ -87,7 +117,79 @@ public class VSCodeAPI {
             size = DEFAULT_PAGE_SIZE;
         }
 
-        return extensionQueryRequestHandler.getResult(param, size, DEFAULT_PAGE_SIZE);
+        var result = extensionQueryRequestHandler.getResult(param, size, DEFAULT_PAGE_SIZE);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        writeExtensionQueryResult(result, response.getOutputStream());
+    }
+
+    /**
+     * Writes the result one extension at a time, so that a large result is never held in memory as a whole
+     * (see {@link LocalVSCodeService#extensionQuery}). Once the response is committed, a failure can't change
+     * the status anymore. The JSON document is then left unterminated, so that clients reject the truncated result.
+     */
+    private void writeExtensionQueryResult(ExtensionQueryResult result, OutputStream out) throws IOException {
+        var generator = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+        var written = 0;
+        try {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+            for(var item : result.results()) {
+                generator.writeStartObject();
+                generator.writeFieldName("extensions");
+                if(item.extensions() != null) {
+                    generator.writeStartArray();
+                    for(var extension : item.extensions()) {
+                        generator.writeObject(extension);
+                        written++;
+                    }
+                    generator.writeEndArray();
+                } else {
+                    generator.writeNull();
+                }
+
+                generator.writeFieldName("resultMetadata");
+                generator.writeObject(item.resultMetadata());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (RuntimeException e) {
+            logger.error("Aborted extension query response after {} extensions", written, e);
+            throw e;
+        }
+
+        generator.close();
+    }
+
+    @PostMapping(
+        path = "/vscode/gallery/assets",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @CrossOrigin
+    @Operation(summary = "Provides the asset URLs of the latest versions of up to 100 extensions")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Returns the asset URLs of the extensions that were found"
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Too many extensions were requested",
+            content = @Content()
+    )
+    public ResponseEntity<AssetBatchResult> getAssetUrls(@RequestBody @Parameter(description = "Extensions and asset types to resolve") AssetBatchParam param) {
+        if(param.extensionIds() != null && param.extensionIds().size() > MAX_ASSET_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Maximum number of extensions is " + MAX_ASSET_BATCH_SIZE);
+        }
+
+        // POST responses aren't reusable by shared caches, the asset URLs themselves are cacheable
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(local.getAssetUrls(param));
     }
 
     @Observed
@@ -149,15 +251,9 @@ public class VSCodeAPI {
             String targetPlatform
     ) {
         var restOfTheUrl = UrlUtil.extractWildcardPath(request);
-        for (var service : getVSCodeServices()) {
-            try {
-                return service.getAsset(namespaceName, extensionName, version, assetType, targetPlatform, restOfTheUrl);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-
-        return ResponseEntity.notFound().build();
+        var lookup = LocalMissCache.lookup("asset", "version", version, "targetPlatform", targetPlatform, "type", assetType, "path", restOfTheUrl);
+        return findFirst(namespaceName, extensionName, lookup, service -> service.getAsset(namespaceName, extensionName, version, assetType, targetPlatform, restOfTheUrl))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/vscode/item")
@@ -196,16 +292,9 @@ public class VSCodeAPI {
 
         var namespace = itemName.substring(0, dotIndex);
         var extension = itemName.substring(dotIndex + 1);
-        for (var service : getVSCodeServices()) {
-            try {
-                var itemUrl = service.getItemUrl(namespace, extension);
-                return new ModelAndView("redirect:" + itemUrl, model);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-
-        return new ModelAndView(null, HttpStatus.NOT_FOUND);
+        return findFirst(namespace, extension, LocalMissCache.lookup("item"), service -> service.getItemUrl(namespace, extension))
+                .map(itemUrl -> new ModelAndView("redirect:" + itemUrl, model))
+                .orElseGet(() -> new ModelAndView(null, HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/vscode/gallery/publishers/{namespaceName}/vsextensions/{extensionName}/{version}/vspackage")
@@ -250,16 +339,10 @@ public class VSCodeAPI {
             String targetPlatform,
             ModelMap model
     ) {
-        for (var service : getVSCodeServices()) {
-            try {
-                var downloadUrl = service.download(namespaceName, extensionName, version, targetPlatform);
-                return new ModelAndView("redirect:" + downloadUrl, model);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-
-        return new ModelAndView(null, HttpStatus.NOT_FOUND);
+        var lookup = LocalMissCache.lookup("download", "version", version, "targetPlatform", targetPlatform);
+        return findFirst(namespaceName, extensionName, lookup, service -> service.download(namespaceName, extensionName, version, targetPlatform))
+                .map(downloadUrl -> new ModelAndView("redirect:" + downloadUrl, model))
+                .orElseGet(() -> new ModelAndView(null, HttpStatus.NOT_FOUND));
     }
 
     @Observed
@@ -301,15 +384,9 @@ public class VSCodeAPI {
             @PathVariable @Parameter(description = "Extension version", example = "0.3.1710435722") String version
     ) {
         var path = UrlUtil.extractWildcardPath(request);
-        for (var service : getVSCodeServices()) {
-            try {
-                return service.browse(namespaceName, extensionName, version, path);
-            } catch (NotFoundException exc) {
-                // Try the next registry
-            }
-        }
-
-        return ResponseEntity.notFound().build();
+        var lookup = LocalMissCache.lookup("unpkg", "version", version, "path", path);
+        return findFirst(namespaceName, extensionName, lookup, service -> service.browse(namespaceName, extensionName, version, path))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping(
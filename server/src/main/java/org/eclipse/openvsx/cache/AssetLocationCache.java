@@ -0,0 +1,137 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Resolved file resources of the asset and file endpoints, keyed by the request parameters.
+ * Only the columns needed to serve the file or to compute its storage location are kept,
+ * a new detached {@link FileResource} is created for every hit.
+ * Evictions reach all instances through {@link LocalCacheEvictions}.
+ */
+public class AssetLocationCache {
+
+    public static final String CACHE_ASSET_LOCATION = "asset.location";
+
+    private final ExtensionGroupedCache<Key, Location> cache;
+
+    public AssetLocationCache(Duration ttl, long maxSize, MeterRegistry registry) {
+        this.cache = new ExtensionGroupedCache<>(CACHE_ASSET_LOCATION, ttl, maxSize, location -> 1, registry);
+    }
+
+    public FileResource getByType(String namespace, String extension, String targetPlatform, String version, String type) {
+        return get(namespace, extension, Key.ofType(targetPlatform, version, type));
+    }
+
+    public FileResource getByName(String namespace, String extension, String targetPlatform, String version, String name) {
+        return get(namespace, extension, Key.ofName(targetPlatform, version, name));
+    }
+
+    public void putByType(String namespace, String extension, String targetPlatform, String version, String type, FileResource resource) {
+        put(namespace, extension, Key.ofType(targetPlatform, version, type), Location.of(resource));
+    }
+
+    public void putByName(String namespace, String extension, String targetPlatform, String version, String name, FileResource resource) {
+        put(namespace, extension, Key.ofName(targetPlatform, version, name), Location.of(resource));
+    }
+
+    private FileResource get(String namespace, String extension, Key key) {
+        var location = cache.get(namespace, extension, key);
+        return location != null ? location.toFileResource() : null;
+    }
+
+    private void put(String namespace, String extension, Key key, Location location) {
+        cache.put(namespace, extension, key, location);
+    }
+
+    public void evict(String namespaceName, String extensionName) {
+        cache.evict(namespaceName, extensionName);
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    private record Key(String targetPlatform, String version, String type, String name) {
+        static Key ofType(String targetPlatform, String version, String type) {
+            return new Key(targetPlatform, version, type, null);
+        }
+
+        static Key ofName(String targetPlatform, String version, String name) {
+            return new Key(targetPlatform, version, null, name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record Location(
+            long namespaceId,
+            String namespaceName,
+            long extensionId,
+            String extensionName,
+            long extVersionId,
+            String targetPlatform,
+            String version,
+            long resourceId,
+            String name,
+            String type,
+            String storageType
+    ) {
+        static Location of(FileResource resource) {
+            var extVersion = resource.getExtension();
+            var extension = extVersion.getExtension();
+            var namespace = extension.getNamespace();
+            return new Location(
+                    namespace.getId(),
+                    namespace.getName(),
+                    extension.getId(),
+                    extension.getName(),
+                    extVersion.getId(),
+                    extVersion.getTargetPlatform(),
+                    extVersion.getVersion(),
+                    resource.getId(),
+                    resource.getName(),
+                    resource.getType(),
+                    resource.getStorageType()
+            );
+        }
+
+        FileResource toFileResource() {
+            var namespace = new Namespace();
+            namespace.setId(namespaceId);
+            namespace.setName(namespaceName);
+
+            var extension = new Extension();
+            extension.setId(extensionId);
+            extension.setName(extensionName);
+            extension.setNamespace(namespace);
+
+            var extVersion = new ExtensionVersion();
+            extVersion.setId(extVersionId);
+            extVersion.setTargetPlatform(targetPlatform);
+            extVersion.setVersion(version);
+            extVersion.setExtension(extension);
+
+            var resource = new FileResource();
+            resource.setId(resourceId);
+            resource.setName(name);
+            resource.setType(type);
+            resource.setStorageType(storageType);
+            resource.setExtension(extVersion);
+            return resource;
+        }
+    }
+}
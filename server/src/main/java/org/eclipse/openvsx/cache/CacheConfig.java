@@ -19,16 +19,20 @@ import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
 import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
 import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.json.ExtensionJson;
 import org.eclipse.openvsx.json.NamespaceDetailsJson;
 import org.eclipse.openvsx.search.SearchResult;
+import org.eclipse.openvsx.web.ExtensionETagFilter;
+import org.eclipse.openvsx.web.PrerenderedResponseFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -36,9 +40,14 @@ import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.*;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.HostAndPort;
@@ -46,7 +55,9 @@ import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPool;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
 import java.util.OptionalLong;
 import java.util.Properties;
 import java.util.stream.Collectors;
@@ -114,6 +125,127 @@ public class CacheConfig {
         return caffeineCacheManager;
     }
 
+    @Bean
+    public PrerenderedResponseCache prerenderedResponseCache(
+            @Value("${ovsx.caching.prerendered-response.ttl:PT10M}") Duration ttl,
+            @Value("${ovsx.caching.prerendered-response.max-bytes:67108864}") long maxBytes,
+            MeterRegistry registry
+    ) {
+        return new PrerenderedResponseCache(ttl, maxBytes, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public CacheGenerations localCacheGenerations() {
+        return new LocalCacheGenerations();
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "true")
+    public CacheGenerations redisCacheGenerations(RedisConnectionFactory redisConnectionFactory) {
+        return new RedisCacheGenerations(new StringRedisTemplate(redisConnectionFactory));
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public LocalCacheEvictions localCacheEvictions(
+            PrerenderedResponseCache prerenderedResponseCache,
+            UpdateCheckCache updateCheckCache,
+            AssetLocationCache assetLocationCache,
+            LocalMissCache localMissCache
+    ) {
+        return new LocalCacheEvictions(prerenderedResponseCache, updateCheckCache, assetLocationCache, localMissCache, null);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "true")
+    public LocalCacheEvictions redisLocalCacheEvictions(
+            PrerenderedResponseCache prerenderedResponseCache,
+            UpdateCheckCache updateCheckCache,
+            AssetLocationCache assetLocationCache,
+            LocalMissCache localMissCache,
+            RedisConnectionFactory redisConnectionFactory
+    ) {
+        return new LocalCacheEvictions(
+                prerenderedResponseCache,
+                updateCheckCache,
+                assetLocationCache,
+                localMissCache,
+                new StringRedisTemplate(redisConnectionFactory)
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "ovsx.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer localCacheEvictionListener(
+            RedisConnectionFactory redisConnectionFactory,
+            LocalCacheEvictions localCacheEvictions
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> localCacheEvictions.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(LocalCacheEvictions.CHANNEL)
+        );
+        return container;
+    }
+
+    @Bean
+    public UpdateCheckCache updateCheckCache(
+            @Value("${ovsx.caching.update-check.ttl:PT5M}") Duration ttl,
+            @Value("${ovsx.caching.update-check.max-size:20000}") long maxSize,
+            MeterRegistry registry
+    ) {
+        return new UpdateCheckCache(ttl, maxSize, registry);
+    }
+
+    @Bean
+    public AssetLocationCache assetLocationCache(
+            @Value("${ovsx.caching.asset-location.ttl:PT1M}") Duration ttl,
+            @Value("${ovsx.caching.asset-location.max-size:100000}") long maxSize,
+            MeterRegistry registry
+    ) {
+        return new AssetLocationCache(ttl, maxSize, registry);
+    }
+
+    @Bean
+    public LocalMissCache localMissCache(
+            @Value("${ovsx.caching.local-miss.ttl:PT1M}") Duration ttl,
+            @Value("${ovsx.caching.local-miss.max-size:100000}") long maxSize,
+            MeterRegistry registry
+    ) {
+        return new LocalMissCache(ttl, maxSize, registry);
+    }
+
+    @Bean
+    public UpstreamResponseCache upstreamResponseCache(
+            @Value("${ovsx.caching.upstream-response.ttl:PT1H}") Duration ttl,
+            @Value("${ovsx.caching.upstream-response.max-size:10000}") long maxSize,
+            MeterRegistry registry
+    ) {
+        return new UpstreamResponseCache(ttl, maxSize, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrerenderedResponseFilter> prerenderedResponseFilter(PrerenderedResponseCache prerenderedResponseCache) {
+        var registrationBean = new FilterRegistrationBean<PrerenderedResponseFilter>();
+        registrationBean.setFilter(new PrerenderedResponseFilter(prerenderedResponseCache));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+
+        return registrationBean;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ExtensionETagFilter> extensionETagFilter(ExtensionETagService extensionETagService) {
+        var registrationBean = new FilterRegistrationBean<ExtensionETagFilter>();
+        registrationBean.setFilter(new ExtensionETagFilter(extensionETagService));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE - 2);
+
+        return registrationBean;
+    }
+
     @Bean
     @ConditionalOnExpression("${bucket4j.enabled:false} && '${bucket4j.cache-to-use:}' == 'redis-jedis'")
     public JedisPool jedisPool(RedisProperties properties) {
@@ -150,19 +282,20 @@ public class CacheConfig {
             @Value("${ovsx.caching.average-review-rating.max-size:1}") long averageReviewRatingMaxSize,
             @Value("${ovsx.caching.namespace-details-json.ttl:PT1H}") Duration namespaceDetailsJsonTtl,
             @Value("${ovsx.caching.namespace-details-json.max-size:1024}") long namespaceDetailsJsonMaxSize,
+            @Value("${ovsx.caching.namespace-details-json.refresh-after:PT45M}") Duration namespaceDetailsJsonRefreshAfter,
             @Value("${ovsx.caching.database-search.ttl:PT1H}") Duration databaseSearchTtl,
             @Value("${ovsx.caching.database-search.max-size:1024}") long databaseSearchMaxSize,
             @Value("${ovsx.caching.extension-json.ttl:PT1H}") Duration extensionJsonTtl,
             @Value("${ovsx.caching.extension-json.max-size:1024}") long extensionJsonMaxSize,
+            @Value("${ovsx.caching.extension-json.refresh-after:PT45M}") Duration extensionJsonRefreshAfter,
             @Value("${ovsx.caching.latest-extension-version.ttl:PT1H}") Duration latestExtensionVersionTtl,
             @Value("${ovsx.caching.latest-extension-version.max-size:1024}") long latestExtensionVersionMaxSize,
             @Value("${ovsx.caching.sitemap.ttl:PT1H}") Duration sitemapTtl,
             @Value("${ovsx.caching.sitemap.max-size:1}") long sitemapMaxSize,
-            @Value("${ovsx.caching.malicious-extensions.ttl:P3D}") Duration maliciousExtensionsTtl,
-            @Value("${ovsx.caching.malicious-extensions.max-size:1}") long maliciousExtensionsMaxSize,
             @Value("${ovsx.caching.rate-limiting.name:buckets}") String rateLimitingCacheName,
             @Value("${ovsx.caching.rate-limiting.tti:PT1H}") Duration rateLimitingTti,
-            @Value("${ovsx.caching.rate-limiting.max-size:1024}") long rateLimitingMaxSize
+            @Value("${ovsx.caching.rate-limiting.max-size:1024}") long rateLimitingMaxSize,
+            MeterRegistry registry
     ) {
         logger.info("Configure Caffeine cache manager");
         var averageReviewRatingCache = createCaffeineConfiguration(averageReviewRatingTtl, averageReviewRatingMaxSize, false);
@@ -171,7 +304,6 @@ public class CacheConfig {
         var extensionJsonCache = createCaffeineConfiguration(extensionJsonTtl, extensionJsonMaxSize, false);
         var latestExtensionVersionCache = createCaffeineConfiguration(latestExtensionVersionTtl, latestExtensionVersionMaxSize, false);
         var sitemapCache = createCaffeineConfiguration(sitemapTtl, sitemapMaxSize, false);
-        var maliciousExtensionsCache = createCaffeineConfiguration(maliciousExtensionsTtl, maliciousExtensionsMaxSize, false);
         var rateLimitingCache = createCaffeineConfiguration(rateLimitingTti, rateLimitingMaxSize, true);
 
         var cacheManager = new CacheManagerImpl(
@@ -188,9 +320,24 @@ public class CacheConfig {
         cacheManager.createCache(CACHE_EXTENSION_JSON, extensionJsonCache);
         cacheManager.createCache(CACHE_LATEST_EXTENSION_VERSION, latestExtensionVersionCache);
         cacheManager.createCache(CACHE_SITEMAP, sitemapCache);
-        cacheManager.createCache(CACHE_MALICIOUS_EXTENSIONS, maliciousExtensionsCache);
         cacheManager.createCache(rateLimitingCacheName, rateLimitingCache);
-        return new JCacheCacheManager(cacheManager);
+
+        var refreshAfter = Map.of(
+                CACHE_EXTENSION_JSON, extensionJsonRefreshAfter,
+                CACHE_NAMESPACE_DETAILS_JSON, namespaceDetailsJsonRefreshAfter
+        );
+        var refreshLock = new LocalRefreshAheadLock();
+        return new JCacheCacheManager(cacheManager) {
+            @Override
+            protected org.springframework.cache.Cache decorateCache(org.springframework.cache.Cache cache) {
+                return decorateRefreshAhead(super.decorateCache(cache), refreshAfter, refreshLock, registry);
+            }
+        };
+    }
+
+    private org.springframework.cache.Cache decorateRefreshAhead(org.springframework.cache.Cache cache, Map<String, Duration> refreshAfter, RefreshAheadLock lock, MeterRegistry registry) {
+        var duration = refreshAfter.get(cache.getName());
+        return duration != null ? new RefreshAheadCache(cache, duration, lock, registry) : cache;
     }
 
     private CaffeineConfiguration<Object, Object> createCaffeineConfiguration(Duration duration, long maxSize, boolean tti) {
@@ -212,47 +359,54 @@ public class CacheConfig {
             RedisConnectionFactory redisConnectionFactory,
             @Value("${ovsx.caching.average-review-rating.ttl:P3D}") Duration averageReviewRatingTtl,
             @Value("${ovsx.caching.namespace-details-json.ttl:PT1H}") Duration namespaceDetailsJsonTtl,
+            @Value("${ovsx.caching.namespace-details-json.refresh-after:PT45M}") Duration namespaceDetailsJsonRefreshAfter,
             @Value("${ovsx.caching.database-search.ttl:PT1H}") Duration databaseSearchTtl,
             @Value("${ovsx.caching.extension-json.ttl:PT1H}") Duration extensionJsonTtl,
+            @Value("${ovsx.caching.extension-json.refresh-after:PT45M}") Duration extensionJsonRefreshAfter,
             @Value("${ovsx.caching.latest-extension-version.ttl:PT1H}") Duration latestExtensionVersionTtl,
             @Value("${ovsx.caching.sitemap.ttl:PT1H}") Duration sitemapTtl,
-            @Value("${ovsx.caching.malicious-extensions.ttl:P3D}") Duration maliciousExtensionsTtl
+            @Value("${ovsx.caching.refresh-ahead.lock-timeout:PT30S}") Duration refreshLockTimeout,
+            MeterRegistry registry
     ) {
         logger.info("Configure Redis cache manager");
         var extensionVersionMapper = JsonMapper.builder()
                 .addModule(new JavaTimeModule())
                 .serializationInclusion(JsonInclude.Include.NON_NULL)
                 .build();
-        return RedisCacheManager.builder(redisConnectionFactory)
-                .withCacheConfiguration(
-                        CACHE_AVERAGE_REVIEW_RATING,
-                        redisCacheConfig(new GenericJackson2JsonRedisSerializer(), averageReviewRatingTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_NAMESPACE_DETAILS_JSON,
-                        redisCacheConfig(new Jackson2JsonRedisSerializer<>(NamespaceDetailsJson.class), namespaceDetailsJsonTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_DATABASE_SEARCH,
-                        redisCacheConfig(new Jackson2JsonRedisSerializer<>(SearchResult.class), databaseSearchTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_EXTENSION_JSON,
-                        redisCacheConfig(new Jackson2JsonRedisSerializer<>(ExtensionJson.class), extensionJsonTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_LATEST_EXTENSION_VERSION,
-                        redisCacheConfig(new Jackson2JsonRedisSerializer<>(extensionVersionMapper, ExtensionVersion.class), latestExtensionVersionTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_SITEMAP,
-                        redisCacheConfig(new StringRedisSerializer(), sitemapTtl)
-                )
-                .withCacheConfiguration(
-                        CACHE_MALICIOUS_EXTENSIONS,
-                        redisCacheConfig(new GenericJackson2JsonRedisSerializer(), maliciousExtensionsTtl)
-                )
-                .build();
+        var typeFactory = extensionVersionMapper.getTypeFactory();
+        var cacheConfigurations = Map.of(
+                CACHE_AVERAGE_REVIEW_RATING,
+                redisCacheConfig(new GenericJackson2JsonRedisSerializer(), averageReviewRatingTtl),
+                CACHE_NAMESPACE_DETAILS_JSON,
+                refreshAheadRedisCacheConfig(new Jackson2JsonRedisSerializer<>(typeFactory.constructParametricType(RefreshAheadCache.Entry.class, NamespaceDetailsJson.class)), namespaceDetailsJsonTtl),
+                CACHE_DATABASE_SEARCH,
+                redisCacheConfig(new Jackson2JsonRedisSerializer<>(SearchResult.class), databaseSearchTtl),
+                CACHE_EXTENSION_JSON,
+                refreshAheadRedisCacheConfig(new Jackson2JsonRedisSerializer<>(typeFactory.constructParametricType(RefreshAheadCache.Entry.class, ExtensionJson.class)), extensionJsonTtl),
+                CACHE_LATEST_EXTENSION_VERSION,
+                redisCacheConfig(new Jackson2JsonRedisSerializer<>(extensionVersionMapper, ExtensionVersion.class), latestExtensionVersionTtl),
+                CACHE_SITEMAP,
+                redisCacheConfig(new StringRedisSerializer(), sitemapTtl)
+        );
+
+        var refreshAfter = Map.of(
+                CACHE_EXTENSION_JSON, extensionJsonRefreshAfter,
+                CACHE_NAMESPACE_DETAILS_JSON, namespaceDetailsJsonRefreshAfter
+        );
+        var refreshLock = new RedisRefreshAheadLock(new StringRedisTemplate(redisConnectionFactory), refreshLockTimeout);
+        var cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory);
+        return new RedisCacheManager(cacheWriter, RedisCacheConfiguration.defaultCacheConfig(), cacheConfigurations) {
+            @Override
+            protected org.springframework.cache.Cache decorateCache(org.springframework.cache.Cache cache) {
+                return decorateRefreshAhead(super.decorateCache(cache), refreshAfter, refreshLock, registry);
+            }
+        };
+    }
+
+    private <T> RedisCacheConfiguration refreshAheadRedisCacheConfig(RedisSerializer<T> serializer, Duration ttl) {
+        // refresh-ahead entries are wrapped, keep them apart from entries written by older versions
+        return redisCacheConfig(serializer, ttl)
+                .computePrefixWith(cacheName -> cacheName + "::refresh-ahead::");
     }
 
     private <T> RedisCacheConfiguration redisCacheConfig(RedisSerializer<T> serializer, Duration ttl) {
@@ -0,0 +1,30 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import java.util.List;
+
+/**
+ * Counters that change whenever the cached data they stand for changes, see {@link ExtensionETagService}.
+ * With Redis they're shared by all registry instances.
+ */
+public interface CacheGenerations {
+
+    /**
+     * @return the values of the keys in the same order, {@code null} for keys that aren't set.
+     */
+    List<Long> get(List<String> keys);
+
+    void increment(String key);
+
+    void set(String key, long value);
+
+    void setIfAbsent(String key, long value);
+}
@@ -10,16 +10,21 @@
 package org.eclipse.openvsx.cache;
 
 import io.micrometer.observation.annotation.Observed;
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Component
 public class CacheService {
@@ -33,7 +38,6 @@ public class CacheService {
     public static final String CACHE_NAMESPACE_DETAILS_JSON = "namespace.details.json";
     public static final String CACHE_AVERAGE_REVIEW_RATING = "average.review.rating";
     public static final String CACHE_SITEMAP = "sitemap";
-    public static final String CACHE_MALICIOUS_EXTENSIONS = "malicious.extensions";
 
     public static final String GENERATOR_EXTENSION_JSON = "extensionJsonCacheKeyGenerator";
     public static final String GENERATOR_LATEST_EXTENSION_VERSION = "latestExtensionVersionCacheKeyGenerator";
@@ -44,19 +48,37 @@ public class CacheService {
     private final ExtensionJsonCacheKeyGenerator extensionJsonCacheKey;
     private final LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey;
     private final FilesCacheKeyGenerator filesCacheKeyGenerator;
+    private final LocalCacheEvictions localEvictions;
+    private final ExtensionETagService etags;
+    private final UpdateCheckCache updateChecks;
+    private final AssetLocationCache assetLocations;
+    private final LocalMissCache localMisses;
+    private final UpstreamResponseCache upstreamResponses;
 
     public CacheService(
             CacheManager cacheManager,
             RepositoryService repositories,
             ExtensionJsonCacheKeyGenerator extensionJsonCacheKey,
             LatestExtensionVersionCacheKeyGenerator latestExtensionVersionCacheKey,
-            FilesCacheKeyGenerator filesCacheKeyGenerator
+            FilesCacheKeyGenerator filesCacheKeyGenerator,
+            LocalCacheEvictions localEvictions,
+            ExtensionETagService etags,
+            UpdateCheckCache updateChecks,
+            AssetLocationCache assetLocations,
+            LocalMissCache localMisses,
+            UpstreamResponseCache upstreamResponses
     ) {
         this.cacheManager = cacheManager;
         this.repositories = repositories;
         this.extensionJsonCacheKey = extensionJsonCacheKey;
         this.latestExtensionVersionCacheKey = latestExtensionVersionCacheKey;
         this.filesCacheKeyGenerator = filesCacheKeyGenerator;
+        this.localEvictions = localEvictions;
+        this.etags = etags;
+        this.updateChecks = updateChecks;
+        this.assetLocations = assetLocations;
+        this.localMisses = localMisses;
+        this.upstreamResponses = upstreamResponses;
     }
 
     public void evictSitemap() {
@@ -65,6 +87,8 @@ public class CacheService {
 
     public void evictNamespaceDetails() {
         invalidateCache(CACHE_NAMESPACE_DETAILS_JSON);
+        localEvictions.evictNamespaceDetails();
+        etags.evictNamespaceDetails();
     }
 
     public void evictNamespaceDetails(Namespace namespace) {
@@ -76,6 +100,8 @@ public class CacheService {
     }
 
     private void evictNamespaceDetails(String namespaceName) {
+        localEvictions.evictNamespaceDetails(namespaceName);
+        etags.evictNamespaceDetails(namespaceName);
         var cache = cacheManager.getCache(CACHE_NAMESPACE_DETAILS_JSON);
         if(cache == null) {
             return; // cache is not created
@@ -86,6 +112,8 @@ public class CacheService {
 
     public void evictExtensionJsons() {
         invalidateCache(CACHE_EXTENSION_JSON);
+        localEvictions.evictExtensions();
+        etags.evictExtensions();
     }
 
     public void evictExtensionJsons(UserData user) {
@@ -93,6 +121,12 @@ public class CacheService {
     }
 
     public void evictExtensionJsons(Extension extension) {
+        etags.evictExtension(extension.getNamespace().getName(), extension.getName());
+        evictExtensionJsonCaches(extension);
+    }
+
+    private void evictExtensionJsonCaches(Extension extension) {
+        localEvictions.evictExtension(extension.getNamespace().getName(), extension.getName());
         var cache = cacheManager.getCache(CACHE_EXTENSION_JSON);
         if (cache == null) {
             return; // cache is not created
@@ -126,13 +160,15 @@ public class CacheService {
     }
 
     public void evictExtensionJsons(ExtensionVersion extVersion) {
+        var extension = extVersion.getExtension();
+        var namespace = extension.getNamespace();
+        localEvictions.evictExtension(namespace.getName(), extension.getName());
+        etags.evictExtension(namespace.getName(), extension.getName());
         var cache = cacheManager.getCache(CACHE_EXTENSION_JSON);
         if (cache == null) {
             return; // cache is not created
         }
 
-        var extension = extVersion.getExtension();
-        var namespace = extension.getNamespace();
         var versions = new ArrayList<>(List.of(VersionAlias.LATEST, extVersion.getVersion()));
         if (extVersion.isPreRelease()) {
             versions.add(VersionAlias.PRE_RELEASE);
@@ -147,9 +183,31 @@ public class CacheService {
 
     public void evictLatestExtensionVersions() {
         invalidateCache(CACHE_LATEST_EXTENSION_VERSION);
+        localEvictions.evictUpdateChecks();
+        localEvictions.evictAssetLocations();
+        localEvictions.evictLocalMisses();
     }
 
     public void evictLatestExtensionVersion(Extension extension) {
+        localEvictions.evictUpdateChecks(extension.getNamespace().getName(), extension.getName());
+        localEvictions.evictAssetLocations(extension.getNamespace().getName(), extension.getName());
+        localEvictions.evictLocalMisses(extension.getNamespace().getName(), extension.getName());
+        evictLatestExtensionVersionCache(extension);
+    }
+
+    /**
+     * Evicts the caches that contain the download count of the extension, including the install count
+     * of update check results. Asset locations and local misses don't depend on it, so they are kept.
+     * The ETags of the extension only change when the rounded download count changes, see {@link ExtensionETagService}.
+     */
+    public void evictDownloadCount(Extension extension) {
+        evictExtensionJsonCaches(extension);
+        etags.updateDownloadCount(extension);
+        localEvictions.evictUpdateChecks(extension.getNamespace().getName(), extension.getName());
+        evictLatestExtensionVersionCache(extension);
+    }
+
+    private void evictLatestExtensionVersionCache(Extension extension) {
         var cache = cacheManager.getCache(CACHE_LATEST_EXTENSION_VERSION);
         if(cache == null) {
             return;
@@ -186,6 +244,56 @@ public class CacheService {
         cache.invalidate();
     }
 
+    /**
+     * @return the cached update check results by lowercase extension id, see {@link UpdateCheckCache#get}.
+     */
+    public Map<String, Optional<ExtensionQueryResult.Extension>> getUpdateCheckExtensions(String baseUrl, int flags, String targetPlatform, Collection<String> extensionIds) {
+        return updateChecks.get(baseUrl, flags, targetPlatform, extensionIds);
+    }
+
+    public void putUpdateCheckExtension(String baseUrl, int flags, String targetPlatform, String extensionId, ExtensionQueryResult.Extension extension) {
+        updateChecks.put(baseUrl, flags, targetPlatform, extensionId, extension);
+    }
+
+    public FileResource getFileByType(String namespace, String extension, String targetPlatform, String version, String type) {
+        return assetLocations.getByType(namespace, extension, targetPlatform, version, type);
+    }
+
+    public FileResource getFileByName(String namespace, String extension, String targetPlatform, String version, String name) {
+        return assetLocations.getByName(namespace, extension, targetPlatform, version, name);
+    }
+
+    public void putFileByType(String namespace, String extension, String targetPlatform, String version, String type, FileResource resource) {
+        assetLocations.putByType(namespace, extension, targetPlatform, version, type, resource);
+    }
+
+    public void putFileByName(String namespace, String extension, String targetPlatform, String version, String name, FileResource resource) {
+        assetLocations.putByName(namespace, extension, targetPlatform, version, name, resource);
+    }
+
+    /**
+     * @return whether the local registry couldn't answer this lookup recently, see {@link LocalMissCache}.
+     */
+    public boolean isLocalMiss(String namespace, String extension, String lookup) {
+        return localMisses.contains(namespace, extension, lookup);
+    }
+
+    public void putLocalMiss(String namespace, String extension, String lookup) {
+        localMisses.put(namespace, extension, lookup);
+    }
+
+    public UpstreamResponseCache.Entry getUpstreamResponse(String url) {
+        return upstreamResponses.get(url);
+    }
+
+    public void putUpstreamResponse(String url, Object body, HttpHeaders headers) {
+        upstreamResponses.put(url, body, headers);
+    }
+
+    public void revalidatedUpstreamResponse(String url, UpstreamResponseCache.Entry entry, HttpHeaders headers) {
+        upstreamResponses.revalidated(url, entry, headers);
+    }
+
     public void evictExtensionFile(FileResource download) {
         var cache = cacheManager.getCache(CACHE_EXTENSION_FILES);
         if(cache == null) {
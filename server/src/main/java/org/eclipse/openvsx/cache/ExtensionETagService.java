@@ -0,0 +1,148 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.TimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the ETags of extension and namespace details endpoints from metadata, so that conditional requests
+ * are answered before the controller runs. An ETag is derived from the request URL and a generation
+ * that is incremented whenever the caches of the extension (or namespace details) are evicted,
+ * plus the download count rounded to two significant digits, so that the ETag doesn't change on every download.
+ * With Redis the generations are shared by all instances, so an eviction on one instance changes the ETag everywhere.
+ * ETags also change every {@code ovsx.caching.extension-etag.ttl}, like an expiring extension JSON cache entry,
+ * to pick up changes that don't evict the caches.
+ */
+@Component
+public class ExtensionETagService {
+
+    private static final String EPOCH = "epoch";
+    private static final String EXTENSIONS = "extensions";
+    private static final String NAMESPACE_DETAILS = "namespace-details";
+    private static final String DOWNLOADS = "downloads";
+
+    protected final Logger logger = LoggerFactory.getLogger(ExtensionETagService.class);
+
+    private final CacheGenerations generations;
+    private final Duration ttl;
+
+    public ExtensionETagService(
+            CacheGenerations generations,
+            @Value("${ovsx.caching.extension-etag.ttl:PT1H}") Duration ttl
+    ) {
+        this.generations = generations;
+        this.ttl = ttl;
+    }
+
+    /**
+     * @return the ETag of an extension endpoint, or {@code null} when the generations can't be read.
+     */
+    public String getExtensionETag(String namespaceName, String extensionName, String url) {
+        var key = key(namespaceName, extensionName);
+        return getETag(url, List.of(EPOCH, EXTENSIONS, EXTENSIONS + ":" + key, DOWNLOADS + ":" + key));
+    }
+
+    /**
+     * @return the ETag of the namespace details endpoint, or {@code null} when the generations can't be read.
+     */
+    public String getNamespaceDetailsETag(String namespaceName, String url) {
+        return getETag(url, List.of(EPOCH, NAMESPACE_DETAILS, NAMESPACE_DETAILS + ":" + namespaceName.toLowerCase(Locale.ROOT)));
+    }
+
+    public void evictExtension(String namespaceName, String extensionName) {
+        increment(EXTENSIONS + ":" + key(namespaceName, extensionName));
+    }
+
+    public void evictExtensions() {
+        increment(EXTENSIONS);
+    }
+
+    public void evictNamespaceDetails(String namespaceName) {
+        increment(NAMESPACE_DETAILS + ":" + namespaceName.toLowerCase(Locale.ROOT));
+    }
+
+    public void evictNamespaceDetails() {
+        increment(NAMESPACE_DETAILS);
+    }
+
+    /**
+     * Changes the ETags of the extension when its download count leaves the rounded range it was in.
+     */
+    public void updateDownloadCount(Extension extension) {
+        var key = DOWNLOADS + ":" + key(extension.getNamespace().getName(), extension.getName());
+        try {
+            generations.set(key, roundDownloadCount(extension.getDownloadCount()));
+        } catch (RuntimeException e) {
+            logger.error("Failed to update ETag download count {}", key, e);
+        }
+    }
+
+    /**
+     * @return the ETag of the gzipped representation of a response with the given ETag.
+     */
+    public static String gzipETag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    static long roundDownloadCount(long downloadCount) {
+        var unit = 1L;
+        while(downloadCount / unit >= 100) {
+            unit *= 10;
+        }
+
+        return downloadCount - downloadCount % unit;
+    }
+
+    private String getETag(String url, List<String> keys) {
+        List<Long> values;
+        try {
+            values = generations.get(keys);
+            if(values.getFirst() == null) {
+                // the epoch changes when the generations are lost, e.g. when Redis is flushed,
+                // so that generations that start over don't repeat earlier ETags
+                generations.setIfAbsent(EPOCH, ThreadLocalRandom.current().nextLong());
+                values = generations.get(keys);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read ETag generations {}", keys, e);
+            return null;
+        }
+
+        var period = TimeUtil.getCurrentUTC().toEpochSecond(ZoneOffset.UTC) / Math.max(1, ttl.toSeconds());
+        var source = url + "|" + period + "|" + values;
+        return "\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private void increment(String key) {
+        try {
+            generations.increment(key);
+        } catch (RuntimeException e) {
+            logger.error("Failed to increment ETag generation {}", key, e);
+        }
+    }
+
+    private String key(String namespaceName, String extensionName) {
+        return NamingUtil.toExtensionId(namespaceName, extensionName).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,87 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caffeine cache of values that belong to an extension, grouped by namespace and extension name,
+ * so that evicting an extension is a single map operation. A group is an immutable map that is replaced on every put.
+ * Names are compared case-insensitively.
+ *
+ * @param <K> the key of a value within its group, e.g. the request parameters.
+ * @param <V> the cached value.
+ */
+public class ExtensionGroupedCache<K, V> {
+
+    private final Cache<Group, Map<K, V>> cache;
+
+    /**
+     * @param maxWeight the maximum sum of the weights of all values.
+     * @param weigher the weight of a single value.
+     */
+    public ExtensionGroupedCache(String name, Duration ttl, long maxWeight, ToIntFunction<V> weigher, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxWeight)
+                .weigher((Group group, Map<K, V> values) -> values.values().stream().mapToInt(weigher).sum())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public V get(String namespaceName, String extensionName, K key) {
+        var values = cache.getIfPresent(new Group(namespaceName, extensionName));
+        return values != null ? values.get(key) : null;
+    }
+
+    public void put(String namespaceName, String extensionName, K key, V value) {
+        cache.asMap().compute(new Group(namespaceName, extensionName), (group, values) -> {
+            var updated = values != null ? new HashMap<>(values) : new HashMap<K, V>();
+            updated.put(key, value);
+            return Map.copyOf(updated);
+        });
+    }
+
+    public void evict(String namespaceName, String extensionName) {
+        cache.invalidate(new Group(namespaceName, extensionName));
+    }
+
+    /**
+     * Evicts the groups of all namespaces whose extension name matches.
+     */
+    public void evictIf(Predicate<String> extensionName) {
+        cache.asMap().keySet().removeIf(group -> extensionName.test(group.extensionName()));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private record Group(String namespaceName, String extensionName) {
+        Group {
+            namespaceName = namespaceName.toLowerCase(Locale.ROOT);
+            extensionName = extensionName.toLowerCase(Locale.ROOT);
+        }
+    }
+}
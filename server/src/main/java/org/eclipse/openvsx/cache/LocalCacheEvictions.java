@@ -0,0 +1,169 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Evicts the caches that are held in the memory of each instance, e.g. the {@link PrerenderedResponseCache},
+ * the {@link UpdateCheckCache}, the {@link AssetLocationCache} and the {@link LocalMissCache}.
+ * When Redis is enabled ({@code ovsx.redis.enabled}), evictions are also published on a Redis channel,
+ * so that they reach every instance of the registry. Otherwise they're only applied to this instance,
+ * like the Caffeine caches of the {@link CacheService}.
+ */
+public class LocalCacheEvictions {
+
+    public static final String CHANNEL = "ovsx.local-cache-evictions";
+
+    private static final String ALL = "*";
+
+    protected final Logger logger = LoggerFactory.getLogger(LocalCacheEvictions.class);
+
+    private final PrerenderedResponseCache prerenderedResponses;
+    private final UpdateCheckCache updateChecks;
+    private final AssetLocationCache assetLocations;
+    private final LocalMissCache localMisses;
+    private final StringRedisTemplate redis;
+
+    /**
+     * @param redis the template to publish evictions with, or {@code null} when Redis is disabled.
+     */
+    public LocalCacheEvictions(
+            PrerenderedResponseCache prerenderedResponses,
+            UpdateCheckCache updateChecks,
+            AssetLocationCache assetLocations,
+            LocalMissCache localMisses,
+            StringRedisTemplate redis
+    ) {
+        this.prerenderedResponses = prerenderedResponses;
+        this.updateChecks = updateChecks;
+        this.assetLocations = assetLocations;
+        this.localMisses = localMisses;
+        this.redis = redis;
+    }
+
+    public void evictExtension(String namespaceName, String extensionName) {
+        send(Type.EXTENSION, namespaceName + "." + extensionName);
+    }
+
+    public void evictExtensions() {
+        send(Type.EXTENSION, ALL);
+    }
+
+    public void evictNamespaceDetails(String namespaceName) {
+        send(Type.NAMESPACE_DETAILS, namespaceName);
+    }
+
+    public void evictNamespaceDetails() {
+        send(Type.NAMESPACE_DETAILS, ALL);
+    }
+
+    public void evictUpdateChecks(String namespaceName, String extensionName) {
+        send(Type.UPDATE_CHECK, namespaceName + "." + extensionName);
+    }
+
+    public void evictUpdateChecks() {
+        send(Type.UPDATE_CHECK, ALL);
+    }
+
+    public void evictAssetLocations(String namespaceName, String extensionName) {
+        send(Type.ASSET_LOCATION, namespaceName + "." + extensionName);
+    }
+
+    public void evictAssetLocations() {
+        send(Type.ASSET_LOCATION, ALL);
+    }
+
+    public void evictLocalMisses(String namespaceName, String extensionName) {
+        send(Type.LOCAL_MISS, namespaceName + "." + extensionName);
+    }
+
+    public void evictLocalMisses() {
+        send(Type.LOCAL_MISS, ALL);
+    }
+
+    /**
+     * Applies an eviction that was published by any instance, including this one.
+     */
+    public void onMessage(String message) {
+        var separator = message.indexOf(':');
+        Type type;
+        try {
+            type = Type.valueOf(message.substring(0, Math.max(separator, 0)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring unknown cache eviction: {}", message);
+            return;
+        }
+
+        apply(type, message.substring(separator + 1));
+    }
+
+    private void send(Type type, String key) {
+        // the eviction is applied right away, the message only informs the other instances
+        apply(type, key);
+        if(redis == null) {
+            return;
+        }
+
+        try {
+            redis.convertAndSend(CHANNEL, type.name() + ":" + key);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish cache eviction {} {}", type, key, e);
+        }
+    }
+
+    private void apply(Type type, String key) {
+        switch (type) {
+            case EXTENSION -> {
+                if(key.equals(ALL)) {
+                    prerenderedResponses.evictExtensions();
+                } else {
+                    var separator = key.indexOf('.');
+                    prerenderedResponses.evictExtension(key.substring(0, separator), key.substring(separator + 1));
+                }
+            }
+            case NAMESPACE_DETAILS -> {
+                if(key.equals(ALL)) {
+                    prerenderedResponses.evictNamespaceDetails();
+                } else {
+                    prerenderedResponses.evictNamespaceDetails(key);
+                }
+            }
+            case UPDATE_CHECK -> {
+                if(key.equals(ALL)) {
+                    updateChecks.evictAll();
+                } else {
+                    var separator = key.indexOf('.');
+                    updateChecks.evict(key.substring(0, separator), key.substring(separator + 1));
+                }
+            }
+            case ASSET_LOCATION -> {
+                if(key.equals(ALL)) {
+                    assetLocations.evictAll();
+                } else {
+                    var separator = key.indexOf('.');
+                    assetLocations.evict(key.substring(0, separator), key.substring(separator + 1));
+                }
+            }
+            case LOCAL_MISS -> {
+                if(key.equals(ALL)) {
+                    localMisses.evictAll();
+                } else {
+                    var separator = key.indexOf('.');
+                    localMisses.evict(key.substring(0, separator), key.substring(separator + 1));
+                }
+            }
+        }
+    }
+
+    private enum Type { EXTENSION, NAMESPACE_DETAILS, UPDATE_CHECK, ASSET_LOCATION, LOCAL_MISS }
+}
@@ -0,0 +1,45 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LocalCacheGenerations implements CacheGenerations {
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Long> get(List<String> keys) {
+        var values = new ArrayList<Long>(keys.size());
+        for(var key : keys) {
+            values.add(generations.get(key));
+        }
+
+        return values;
+    }
+
+    @Override
+    public void increment(String key) {
+        generations.merge(key, 1L, Long::sum);
+    }
+
+    @Override
+    public void set(String key, long value) {
+        generations.put(key, value);
+    }
+
+    @Override
+    public void setIfAbsent(String key, long value) {
+        generations.putIfAbsent(key, value);
+    }
+}
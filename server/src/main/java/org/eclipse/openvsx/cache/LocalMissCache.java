@@ -0,0 +1,63 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * Remembers lookups that the local registry couldn't answer, so that repeated requests
+ * for extensions that only exist upstream skip the local database.
+ * A lookup is an endpoint specific description of the request, e.g. the version and asset type, see {@link #lookup}.
+ * Evictions reach all instances through {@link LocalCacheEvictions}, so a publish on another instance
+ * is found locally right away.
+ */
+public class LocalMissCache {
+
+    public static final String CACHE_LOCAL_MISS = "local.miss";
+
+    private final ExtensionGroupedCache<String, Boolean> cache;
+
+    public LocalMissCache(Duration ttl, long maxSize, MeterRegistry registry) {
+        this.cache = new ExtensionGroupedCache<>(CACHE_LOCAL_MISS, ttl, maxSize, miss -> 1, registry);
+    }
+
+    /**
+     * @param parameters pairs of parameter name and value, parameters without value are left out.
+     * @return the lookup of an endpoint, e.g. {@code extension;targetPlatform=linux-x64;version=1.0.0}.
+     */
+    public static String lookup(String endpoint, String... parameters) {
+        var lookup = new StringBuilder(endpoint);
+        for(var i = 0; i + 1 < parameters.length; i += 2) {
+            if(parameters[i + 1] != null) {
+                lookup.append(';').append(parameters[i]).append('=').append(parameters[i + 1]);
+            }
+        }
+
+        return lookup.toString();
+    }
+
+    public boolean contains(String namespaceName, String extensionName, String lookup) {
+        return cache.get(namespaceName, extensionName, lookup) != null;
+    }
+
+    public void put(String namespaceName, String extensionName, String lookup) {
+        cache.put(namespaceName, extensionName, lookup, Boolean.TRUE);
+    }
+
+    public void evict(String namespaceName, String extensionName) {
+        cache.evict(namespaceName, extensionName);
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+}
@@ -0,0 +1,32 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class LocalRefreshAheadLock implements RefreshAheadLock {
+
+    private final Set<String> locks = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean tryLock(String cacheName, Object key) {
+        return locks.add(lockKey(cacheName, key));
+    }
+
+    @Override
+    public void unlock(String cacheName, Object key) {
+        locks.remove(lockKey(cacheName, key));
+    }
+
+    private String lockKey(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+}
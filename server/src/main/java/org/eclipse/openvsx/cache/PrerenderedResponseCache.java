@@ -0,0 +1,90 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fully serialised responses of hot read endpoints, grouped by the namespace and extension (or details endpoint)
+ * they belong to. Evictions reach all instances through {@link LocalCacheEvictions}.
+ * Within a group, responses are kept per base URL, because they contain absolute URLs,
+ * and per whether the request was a CORS request, because the controller adds CORS headers only to those.
+ */
+public class PrerenderedResponseCache {
+
+    public static final String CACHE_PRERENDERED_RESPONSE = "prerendered.response";
+    public static final String NAMESPACE_DETAILS = "details";
+
+    private final ExtensionGroupedCache<Variant, PrerenderedResponse> cache;
+
+    public PrerenderedResponseCache(Duration ttl, long maxBytes, MeterRegistry registry) {
+        this.cache = new ExtensionGroupedCache<>(CACHE_PRERENDERED_RESPONSE, ttl, maxBytes, PrerenderedResponse::weight, registry);
+    }
+
+    public PrerenderedResponse get(String namespaceName, String name, String baseUrl, boolean crossOrigin) {
+        return cache.get(namespaceName, name, new Variant(baseUrl, crossOrigin));
+    }
+
+    public void put(String namespaceName, String name, String baseUrl, boolean crossOrigin, PrerenderedResponse response) {
+        cache.put(namespaceName, name, new Variant(baseUrl, crossOrigin), response);
+    }
+
+    public void evictExtension(String namespaceName, String extensionName) {
+        cache.evict(namespaceName, extensionName);
+    }
+
+    public void evictExtensions() {
+        cache.evictIf(name -> !name.equals(NAMESPACE_DETAILS));
+    }
+
+    public void evictNamespaceDetails(String namespaceName) {
+        cache.evict(namespaceName, NAMESPACE_DETAILS);
+    }
+
+    public void evictNamespaceDetails() {
+        cache.evictIf(name -> name.equals(NAMESPACE_DETAILS));
+    }
+
+    private record Variant(String baseUrl, boolean crossOrigin) {}
+
+    /**
+     * @param headers the headers the controller added to the response, replayed on every hit.
+     */
+    public record PrerenderedResponse(
+            byte[] body,
+            byte[] gzipBody,
+            String etag,
+            String contentType,
+            Map<String, List<String>> headers
+    ) {
+        /**
+         * @return the ETag of the gzipped body, which is a different representation than the body.
+         */
+        public String gzipETag() {
+            return ExtensionETagService.gzipETag(etag);
+        }
+
+        int weight() {
+            var weight = body.length + (gzipBody != null ? gzipBody.length : 0);
+            for(var header : headers.entrySet()) {
+                weight += header.getKey().length();
+                for(var value : header.getValue()) {
+                    weight += value.length();
+                }
+            }
+
+            return weight;
+        }
+    }
+}
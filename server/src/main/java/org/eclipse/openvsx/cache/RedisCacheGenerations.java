@@ -0,0 +1,61 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generations stored as Redis strings without expiry, so that every registry instance sees the same values.
+ * A counter that expired would start over and could repeat a value that stood for older data.
+ */
+public class RedisCacheGenerations implements CacheGenerations {
+
+    private static final String PREFIX = "generation::";
+
+    private final StringRedisTemplate redis;
+
+    public RedisCacheGenerations(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public List<Long> get(List<String> keys) {
+        var values = redis.opsForValue().multiGet(keys.stream().map(this::redisKey).toList());
+        var generations = new ArrayList<Long>(keys.size());
+        for(var i = 0; i < keys.size(); i++) {
+            var value = values != null ? values.get(i) : null;
+            generations.add(value != null ? Long.valueOf(value) : null);
+        }
+
+        return generations;
+    }
+
+    @Override
+    public void increment(String key) {
+        redis.opsForValue().increment(redisKey(key));
+    }
+
+    @Override
+    public void set(String key, long value) {
+        redis.opsForValue().set(redisKey(key), Long.toString(value));
+    }
+
+    @Override
+    public void setIfAbsent(String key, long value) {
+        redis.opsForValue().setIfAbsent(redisKey(key), Long.toString(value));
+    }
+
+    private String redisKey(String key) {
+        return PREFIX + key;
+    }
+}
@@ -0,0 +1,67 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Distributed lock based on {@code SET key token NX PX ttl}, so that only one registry instance
+ * reloads a stale entry of a shared Redis cache. The lock expires on its own if the holder dies.
+ */
+public class RedisRefreshAheadLock implements RefreshAheadLock {
+
+    protected final Logger logger = LoggerFactory.getLogger(RedisRefreshAheadLock.class);
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redis;
+    private final Duration timeout;
+    private final String token = UUID.randomUUID().toString();
+
+    public RedisRefreshAheadLock(StringRedisTemplate redis, Duration timeout) {
+        this.redis = redis;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean tryLock(String cacheName, Object key) {
+        try {
+            return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(lockKey(cacheName, key), token, timeout));
+        } catch (RuntimeException e) {
+            // don't let an unavailable lock turn a stale hit into an error
+            logger.warn("Failed to acquire refresh lock for cache '{}' entry '{}'", cacheName, key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void unlock(String cacheName, Object key) {
+        try {
+            redis.execute(UNLOCK_SCRIPT, List.of(lockKey(cacheName, key)), token);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release refresh lock for cache '{}' entry '{}'", cacheName, key, e);
+        }
+    }
+
+    private String lockKey(String cacheName, Object key) {
+        return cacheName + "::refresh-lock::" + key;
+    }
+}
@@ -0,0 +1,224 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache decorator that serves stale values while a single caller reloads them.
+ * Values are stored together with the time after which they should be refreshed.
+ * When a stale value is read, the caller that wins the {@link RefreshAheadLock}
+ * reloads it, all other callers keep getting the stale value until the reload is done.
+ * Concurrent misses for the same key are coalesced into a single load.
+ * The reload runs on the caller's thread, because cached JSON contains URLs derived from the current request.
+ */
+public class RefreshAheadCache implements Cache {
+
+    protected final Logger logger = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+    private final Duration refreshAfter;
+    private final RefreshAheadLock lock;
+    private final Clock clock;
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalescedMisses;
+    private final Counter refreshes;
+    private final Counter failedRefreshes;
+
+    public RefreshAheadCache(Cache delegate, Duration refreshAfter, RefreshAheadLock lock, MeterRegistry registry) {
+        this(delegate, refreshAfter, lock, registry, Clock.systemUTC());
+    }
+
+    public RefreshAheadCache(Cache delegate, Duration refreshAfter, RefreshAheadLock lock, MeterRegistry registry, Clock clock) {
+        this.delegate = delegate;
+        this.refreshAfter = refreshAfter;
+        this.lock = lock;
+        this.clock = clock;
+
+        var name = delegate.getName();
+        this.hits = counter(registry, name, "hit");
+        this.staleHits = counter(registry, name, "stale");
+        this.misses = counter(registry, name, "miss");
+        this.coalescedMisses = counter(registry, name, "coalesced");
+        this.refreshes = counter(registry, name, "refresh");
+        this.failedRefreshes = counter(registry, name, "refresh_failure");
+    }
+
+    private Counter counter(MeterRegistry registry, String cacheName, String outcome) {
+        return Counter.builder("ovsx_cache_refresh_ahead")
+                .tag("cache", cacheName)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var entry = getEntry(key);
+        return entry != null ? new SimpleValueWrapper(entry.value()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var entry = getEntry(key);
+        if(entry == null) {
+            return null;
+        }
+
+        var value = entry.value();
+        if(value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var entry = getEntry(key);
+        if(entry == null) {
+            return (T) load(key, valueLoader);
+        }
+        if(!entry.isStale(clock.millis())) {
+            hits.increment();
+            return (T) entry.value();
+        }
+
+        staleHits.increment();
+        if(lock.tryLock(getName(), key)) {
+            try {
+                var value = valueLoader.call();
+                put(key, value);
+                refreshes.increment();
+                return value;
+            } catch (Exception e) {
+                failedRefreshes.increment();
+                logger.warn("Failed to refresh cache '{}' entry '{}', serving stale value", getName(), key, e);
+            } finally {
+                lock.unlock(getName(), key);
+            }
+        }
+
+        return (T) entry.value();
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        var future = new CompletableFuture<>();
+        var existing = loading.putIfAbsent(key, future);
+        if(existing != null) {
+            coalescedMisses.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        misses.increment();
+        try {
+            var value = valueLoader.call();
+            put(key, value);
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, newEntry(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var existing = delegate.putIfAbsent(key, newEntry(value));
+        if(existing == null) {
+            return null;
+        }
+
+        var existingValue = existing.get();
+        return new SimpleValueWrapper(existingValue instanceof Entry<?> entry ? entry.value() : existingValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private Entry<Object> newEntry(Object value) {
+        return new Entry<>(value, clock.millis() + refreshAfter.toMillis());
+    }
+
+    private Entry<?> getEntry(Object key) {
+        var wrapper = delegate.get(key);
+        if(wrapper == null) {
+            return null;
+        }
+
+        var value = wrapper.get();
+        // values written before refresh-ahead was enabled are refreshed on first access
+        return value instanceof Entry<?> entry ? entry : new Entry<>(value, 0L);
+    }
+
+    /**
+     * Cached value together with the epoch millis after which it should be refreshed.
+     */
+    public record Entry<T>(T value, long refreshAt) {
+        public boolean isStale(long now) {
+            return now >= refreshAt;
+        }
+    }
+}
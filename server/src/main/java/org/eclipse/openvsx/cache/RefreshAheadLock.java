@@ -0,0 +1,20 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+/**
+ * Guards the reload of a stale {@link RefreshAheadCache} entry, so that only one caller reloads it at a time.
+ */
+public interface RefreshAheadLock {
+
+    boolean tryLock(String cacheName, Object key);
+
+    void unlock(String cacheName, Object key);
+}
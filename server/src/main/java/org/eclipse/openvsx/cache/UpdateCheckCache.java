@@ -0,0 +1,76 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
+import org.eclipse.openvsx.util.NamingUtil;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Pre-built extensionquery results of the latest versions of single extensions,
+ * used to answer the update checks of VS Code without database access.
+ * Extensions that don't exist are cached too, so that polling for them doesn't hit the database either.
+ * Evictions reach all instances through {@link LocalCacheEvictions}.
+ */
+public class UpdateCheckCache {
+
+    public static final String CACHE_UPDATE_CHECK = "update.check";
+
+    private final ExtensionGroupedCache<Key, Optional<ExtensionQueryResult.Extension>> cache;
+
+    public UpdateCheckCache(Duration ttl, long maxSize, MeterRegistry registry) {
+        this.cache = new ExtensionGroupedCache<>(CACHE_UPDATE_CHECK, ttl, maxSize, result -> 1, registry);
+    }
+
+    /**
+     * @return the cached results by lowercase extension id, an empty {@link Optional} means that the extension doesn't exist.
+     * Extension ids that aren't cached are missing from the returned map.
+     */
+    public Map<String, Optional<ExtensionQueryResult.Extension>> get(String baseUrl, int flags, String targetPlatform, Collection<String> extensionIds) {
+        var key = new Key(baseUrl, flags, targetPlatform);
+        var results = new HashMap<String, Optional<ExtensionQueryResult.Extension>>(extensionIds.size());
+        for(var extensionId : extensionIds) {
+            var id = NamingUtil.fromExtensionId(extensionId);
+            var result = id != null ? cache.get(id.namespace(), id.extension(), key) : null;
+            if(result != null) {
+                results.put(extensionId.toLowerCase(Locale.ROOT), result);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * @param extension the query result or {@code null} when the extension doesn't exist.
+     */
+    public void put(String baseUrl, int flags, String targetPlatform, String extensionId, ExtensionQueryResult.Extension extension) {
+        var id = NamingUtil.fromExtensionId(extensionId);
+        if(id != null) {
+            cache.put(id.namespace(), id.extension(), new Key(baseUrl, flags, targetPlatform), Optional.ofNullable(extension));
+        }
+    }
+
+    public void evict(String namespaceName, String extensionName) {
+        cache.evict(namespaceName, extensionName);
+    }
+
+    public void evictAll() {
+        cache.evictAll();
+    }
+
+    private record Key(String baseUrl, int flags, String targetPlatform) {}
+}
@@ -0,0 +1,135 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Responses of the upstream registry by base URL and request URL, stored after the URLs have been rewritten by the proxy.
+ * Only responses with an ETag or Last-Modified header are stored, so that stale entries can be revalidated
+ * with a conditional request. The Cache-Control header of the response decides how long an entry is fresh,
+ * responses without max-age are revalidated on every use.
+ */
+public class UpstreamResponseCache {
+
+    public static final String CACHE_UPSTREAM_RESPONSE = "upstream.response";
+
+    private final Cache<String, Entry> cache;
+
+    public UpstreamResponseCache(Duration ttl, long maxSize, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_UPSTREAM_RESPONSE);
+    }
+
+    public Entry get(String url) {
+        return cache.getIfPresent(url);
+    }
+
+    /**
+     * Stores the response body unless the response headers don't allow it or don't contain a validator.
+     */
+    public void put(String url, Object body, HttpHeaders headers) {
+        var entry = Entry.of(body, headers, Instant.now());
+        if(entry != null) {
+            cache.put(url, entry);
+        } else {
+            cache.invalidate(url);
+        }
+    }
+
+    /**
+     * Marks the entry as fresh again after the upstream registry answered a conditional request with 304 Not Modified.
+     */
+    public void revalidated(String url, Entry entry, HttpHeaders headers) {
+        var fresh = Entry.of(entry.body(), mergeValidators(entry, headers), Instant.now());
+        if(fresh != null) {
+            cache.put(url, fresh);
+        }
+    }
+
+    private HttpHeaders mergeValidators(Entry entry, HttpHeaders headers) {
+        var merged = new HttpHeaders();
+        merged.putAll(headers);
+        if(merged.getETag() == null && entry.eTag() != null) {
+            merged.setETag(entry.eTag());
+        }
+        if(merged.getFirst(HttpHeaders.LAST_MODIFIED) == null && entry.lastModified() != null) {
+            merged.set(HttpHeaders.LAST_MODIFIED, entry.lastModified());
+        }
+
+        return merged;
+    }
+
+    public record Entry(Object body, String eTag, String lastModified, Instant freshUntil) {
+
+        static Entry of(Object body, HttpHeaders headers, Instant now) {
+            var eTag = headers.getETag();
+            var lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            if(body == null || (eTag == null && lastModified == null)) {
+                return null;
+            }
+
+            var noCache = false;
+            Long maxAge = null;
+            Long sharedMaxAge = null;
+            var cacheControl = headers.getCacheControl();
+            if(cacheControl != null) {
+                for (var directive : cacheControl.split(",")) {
+                    directive = directive.trim().toLowerCase();
+                    if (directive.equals("no-store") || directive.equals("private")) {
+                        return null;
+                    } else if (directive.equals("no-cache")) {
+                        noCache = true;
+                    } else if (directive.startsWith("s-maxage=")) {
+                        sharedMaxAge = parseSeconds(directive.substring("s-maxage=".length()));
+                    } else if (directive.startsWith("max-age=")) {
+                        maxAge = parseSeconds(directive.substring("max-age=".length()));
+                    }
+                }
+            }
+
+            long freshSeconds;
+            if(noCache) {
+                freshSeconds = 0L;
+            } else if(sharedMaxAge != null) {
+                freshSeconds = sharedMaxAge;
+            } else if(maxAge != null) {
+                freshSeconds = maxAge;
+            } else {
+                freshSeconds = 0L;
+            }
+
+            return new Entry(body, eTag, lastModified, now.plusSeconds(freshSeconds));
+        }
+
+        private static long parseSeconds(String value) {
+            return StringUtils.isNumeric(value) ? Long.parseLong(value) : 0L;
+        }
+
+        public boolean isFresh() {
+            return Instant.now().isBefore(freshUntil);
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.openvsx.extension_control;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.eclipse.openvsx.cache.CacheService;
@@ -26,29 +27,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
-import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import static org.eclipse.openvsx.cache.CacheService.CACHE_MALICIOUS_EXTENSIONS;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class ExtensionControlService {
 
     protected final Logger logger = LoggerFactory.getLogger(ExtensionControlService.class);
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private final JobRequestScheduler scheduler;
     private final RepositoryService repositories;
     private final EntityManager entityManager;
     private final SearchUtilService search;
     private final CacheService cache;
+    private final RestTemplate backgroundRestTemplate;
+    private ScheduledExecutorService refresher;
+    private volatile ExtensionControlSnapshot snapshot = ExtensionControlSnapshot.EMPTY;
+    private volatile boolean loaded;
 
     @Value("${ovsx.data.mirror.enabled:false}")
     boolean mirrorEnabled;
@@ -59,6 +69,18 @@ public class ExtensionControlService {
     @Value("${ovsx.extension-control.update-on-start:false}")
     boolean updateOnStart;
 
+    @Value("${ovsx.extension-control.source:https://github.com/open-vsx/publish-extensions/raw/master/extension-control/extensions.json}")
+    String source;
+
+    @Value("${ovsx.extension-control.fallback-source:}")
+    String fallbackSource;
+
+    @Value("${ovsx.extension-control.refresh-interval:PT1H}")
+    Duration refreshInterval;
+
+    @Value("${ovsx.extension-control.retry-interval:PT10S}")
+    Duration retryInterval;
+
     @Value("${ovsx.migrations.delay.seconds:0}")
     long delay;
 
@@ -67,18 +89,32 @@ public class ExtensionControlService {
             RepositoryService repositories,
             EntityManager entityManager,
             SearchUtilService search,
-            CacheService cache
+            CacheService cache,
+            RestTemplate backgroundRestTemplate
     ) {
         this.scheduler = scheduler;
         this.repositories = repositories;
         this.entityManager = entityManager;
         this.search = search;
         this.cache = cache;
+        this.backgroundRestTemplate = backgroundRestTemplate;
     }
 
     @EventListener
     public void applicationStarted(ApplicationStartedEvent event) {
-        if(!enabled || mirrorEnabled) {
+        if(!enabled) {
+            return;
+        }
+
+        // the first snapshot is loaded before publishing starts, the request is bounded by the background HTTP client timeouts
+        refreshSnapshot();
+        if(!loaded) {
+            logger.error("Extension control data is not available, publishing is refused until it's loaded");
+        }
+
+        refresher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("extension-control-refresh").factory());
+        scheduleRefresh(retryInterval);
+        if(mirrorEnabled) {
             return;
         }
         if(updateOnStart) {
@@ -123,26 +159,123 @@ public class ExtensionControlService {
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if(refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
     public JsonNode getExtensionControlJson() throws IOException {
-        var url = new URL("https://github.com/open-vsx/publish-extensions/raw/master/extension-control/extensions.json");
-        return new ObjectMapper().readValue(url, JsonNode.class);
+        var fetched = fetch(source, null);
+        try {
+            snapshot = ExtensionControlSnapshot.of(fetched.json(), fetched.version());
+            loaded = true;
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+        }
+
+        return fetched.json();
     }
 
-    @Cacheable(CACHE_MALICIOUS_EXTENSIONS)
-    public List<String> getMaliciousExtensionIds() throws IOException {
-        if(!enabled) {
-            return Collections.emptyList();
+    /**
+     * Checks the latest snapshot of the extension control data, without reading the source.
+     */
+    public boolean isMalicious(String namespace, String extension) {
+        return enabled && snapshot.isMalicious(namespace, extension);
+    }
+
+    public ExtensionControlSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Doesn't read the source, a snapshot that couldn't be loaded at startup is loaded by the background refresher.
+     * @return whether {@link #isMalicious} can be answered, always {@code true} when extension control is disabled.
+     */
+    public boolean isLoaded() {
+        return !enabled || loaded;
+    }
+
+    /**
+     * Schedules the next refresh of the snapshot. Until the first snapshot is loaded, the refresh is retried
+     * after {@code retryDelay}, which doubles with every failed attempt up to {@code ovsx.extension-control.refresh-interval}.
+     */
+    private void scheduleRefresh(Duration retryDelay) {
+        var delay = loaded ? refreshInterval : retryDelay;
+        var nextRetryDelay = retryDelay.multipliedBy(2).compareTo(refreshInterval) < 0 ? retryDelay.multipliedBy(2) : refreshInterval;
+        refresher.schedule(() -> {
+            try {
+                refreshSnapshot();
+            } finally {
+                if(!refresher.isShutdown()) {
+                    scheduleRefresh(nextRetryDelay);
+                }
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replaces the snapshot when the source has changed. A remote source is only downloaded
+     * when its ETag doesn't match; a local file is only read when its modification time has changed.
+     * The previous snapshot is kept when the source can't be read. When no snapshot has been loaded yet,
+     * the {@code ovsx.extension-control.fallback-source} file is read instead.
+     */
+    synchronized void refreshSnapshot() {
+        var current = snapshot;
+        try {
+            var fetched = fetch(source, current.version());
+            if(fetched != null) {
+                snapshot = ExtensionControlSnapshot.of(fetched.json(), fetched.version());
+                logger.info("Updated extension control snapshot: {} malicious extensions", snapshot.maliciousExtensionIds().size());
+            }
+            loaded = true;
+        } catch (Exception e) {
+            logger.warn("Failed to refresh extension control snapshot from {}", source, e);
+            if(!loaded && !fallbackSource.isEmpty()) {
+                loadFallback();
+            }
+        }
+    }
+
+    private void loadFallback() {
+        try {
+            var fetched = fetch(fallbackSource, null);
+            snapshot = ExtensionControlSnapshot.of(fetched.json(), fetched.version());
+            loaded = true;
+            logger.info("Loaded extension control snapshot from {}: {} malicious extensions", fallbackSource, snapshot.maliciousExtensionIds().size());
+        } catch (Exception e) {
+            logger.warn("Failed to load extension control snapshot from {}", fallbackSource, e);
         }
+    }
 
-        var json = getExtensionControlJson();
-        var malicious = json.get("malicious");
-        if(!malicious.isArray()) {
-            logger.error("field 'malicious' is not an array");
-            return Collections.emptyList();
+    /**
+     * @return the extension control data, or {@code null} when it matches {@code version}.
+     */
+    private Fetched fetch(String source, String version) throws IOException {
+        if(!source.startsWith("http://") && !source.startsWith("https://")) {
+            var path = Path.of(source);
+            var lastModified = Files.getLastModifiedTime(path).toString();
+            if(lastModified.equals(version)) {
+                return null;
+            }
+            try(var in = Files.newInputStream(path)) {
+                return new Fetched(MAPPER.readTree(in), lastModified);
+            }
         }
 
-        var list = new ArrayList<String>();
-        malicious.forEach(node -> list.add(node.asText()));
-        return list;
+        return backgroundRestTemplate.execute("{url}", HttpMethod.GET, request -> {
+            if(version != null) {
+                request.getHeaders().setIfNoneMatch(version);
+            }
+        }, response -> {
+            if(response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return null;
+            }
+
+            return new Fetched(MAPPER.readTree(response.getBody()), response.getHeaders().getETag());
+        }, Map.of("url", source));
     }
+
+    private record Fetched(JsonNode json, String version) {}
 }
@@ -0,0 +1,46 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.extension_control;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.openvsx.util.NamingUtil;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable view of the extension control data that is checked when an extension is published.
+ * @param maliciousExtensionIds lower case ids of the extensions that are marked as malicious.
+ * @param version the ETag or the modification time of the source, used to skip unchanged data.
+ */
+public record ExtensionControlSnapshot(Set<String> maliciousExtensionIds, String version) {
+
+    public static final ExtensionControlSnapshot EMPTY = new ExtensionControlSnapshot(Set.of(), null);
+
+    public ExtensionControlSnapshot {
+        maliciousExtensionIds = Set.copyOf(maliciousExtensionIds);
+    }
+
+    public static ExtensionControlSnapshot of(JsonNode json, String version) {
+        var malicious = json.get("malicious");
+        if(malicious == null || !malicious.isArray()) {
+            throw new IllegalArgumentException("field 'malicious' is not an array");
+        }
+
+        var ids = new HashSet<String>();
+        malicious.forEach(node -> ids.add(node.asText().toLowerCase(Locale.ROOT)));
+        return new ExtensionControlSnapshot(ids, version);
+    }
+
+    public boolean isMalicious(String namespace, String extension) {
+        return maliciousExtensionIds.contains(NamingUtil.toExtensionId(namespace, extension).toLowerCase(Locale.ROOT));
+    }
+}
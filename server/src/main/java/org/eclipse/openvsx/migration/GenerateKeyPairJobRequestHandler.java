@@ -11,7 +11,6 @@ package org.eclipse.openvsx.migration;
 
 import io.micrometer.common.util.StringUtils;
 import org.eclipse.openvsx.admin.RemoveFileJobRequest;
-import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.jobrunr.jobs.lambdas.JobRequestHandler;
@@ -54,7 +53,7 @@ public class GenerateKeyPairJobRequestHandler implements JobRequestHandler<Handl
                 if(activeKeyPair == null) {
                     renewKeyPair();
                 } else {
-                    repositories.findVersionsWithout(activeKeyPair).forEach(this::enqueueCreateSignatureJob);
+                    enqueueResignJob();
                 }
                 break;
             case KEYPAIR_MODE_RENEW:
@@ -74,7 +73,7 @@ public class GenerateKeyPairJobRequestHandler implements JobRequestHandler<Handl
     private void renewKeyPair() throws IOException {
         var keyPair = service.generateKeyPair();
         service.updateKeyPair(keyPair);
-        repositories.findVersions().forEach(this::enqueueCreateSignatureJob);
+        enqueueResignJob();
     }
 
     private void deleteKeyPairs() {
@@ -82,9 +81,8 @@ public class GenerateKeyPairJobRequestHandler implements JobRequestHandler<Handl
         service.deleteSignaturesAndKeyPairs();
     }
 
-    private void enqueueCreateSignatureJob(ExtensionVersion extVersion) {
-        var handler = ExtensionVersionSignatureJobRequestHandler.class;
-        scheduler.enqueue(new MigrationJobRequest<>(handler, extVersion.getId()));
+    private void enqueueResignJob() {
+        scheduler.enqueue(new HandlerJobRequest<>(ResignExtensionVersionsJobRequestHandler.class));
     }
 
     private void enqueueDeleteSignatureJob(FileResource resource) {
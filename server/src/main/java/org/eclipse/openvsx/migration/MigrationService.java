@@ -94,6 +94,20 @@ public class MigrationService {
         return storageUtil.downloadFile(resource);
     }
 
+    /**
+     * Reads a file from storage into memory, without writing it to a temp file.
+     */
+    @Retryable
+    public byte[] readFile(FileResource resource) throws IOException {
+        try (var in = storageUtil.openFile(resource)) {
+            if (in == null) {
+                throw new IOException("Storage type is not available: " + resource.getStorageType());
+            }
+
+            return in.readAllBytes();
+        }
+    }
+
     @Retryable
     public void uploadFileResource(TempFile tempFile) {
         storageUtil.uploadFile(tempFile);
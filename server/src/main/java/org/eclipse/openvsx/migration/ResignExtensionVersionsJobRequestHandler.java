@@ -0,0 +1,285 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.migration;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.eclipse.openvsx.ExtensionPackageScan;
+import org.eclipse.openvsx.ExtensionProcessor;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.eclipse.openvsx.entities.SignatureKeyPair;
+import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.eclipse.openvsx.util.NamingUtil;
+import org.eclipse.openvsx.util.TempFile;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.jobs.context.JobRunrDashboardLogger;
+import org.jobrunr.jobs.lambdas.JobRequestHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipException;
+
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD;
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD_SIG;
+
+/**
+ * Signs all extension versions that are not signed with the active key pair, e.g. after the key pair is renewed.
+ * The versions are processed in batches ordered by id. Each package is read from storage into memory and signed
+ * by a pool of workers, and each signature is written to the database right after it's uploaded.
+ * Workers don't start reading another package while the packages held in memory exceed
+ * {@code ovsx.integrity.resign.max-bytes-in-flight}, so at most that much plus one package per worker is held at once.
+ * Versions that are signed with the active key pair are skipped, so the job resumes where it stopped when it's run again.
+ */
+@Component
+@ConditionalOnProperty(value = "ovsx.data.mirror.enabled", havingValue = "false", matchIfMissing = true)
+public class ResignExtensionVersionsJobRequestHandler implements JobRequestHandler<HandlerJobRequest<?>> {
+
+    protected final Logger logger = new JobRunrDashboardLogger(LoggerFactory.getLogger(ResignExtensionVersionsJobRequestHandler.class));
+
+    private static final ThreadFactory WORKER_THREADS = Thread.ofVirtual().name("resign-", 0).factory();
+
+    private final RepositoryService repositories;
+    private final CacheService cache;
+    private final MigrationService migrations;
+    private final ExtensionVersionIntegrityService integrityService;
+    private final ResignExtensionVersionsService service;
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    @Value("${ovsx.integrity.resign.workers:8}")
+    int workers;
+
+    @Value("${ovsx.integrity.resign.batch-size:200}")
+    int batchSize;
+
+    @Value("${ovsx.integrity.resign.requests-per-second:-1}")
+    double requestsPerSecond;
+
+    @Value("${ovsx.integrity.resign.max-bytes-in-flight:268435456}")
+    long maxBytesInFlight;
+
+    public ResignExtensionVersionsJobRequestHandler(
+            RepositoryService repositories,
+            CacheService cache,
+            MigrationService migrations,
+            ExtensionVersionIntegrityService integrityService,
+            ResignExtensionVersionsService service
+    ) {
+        this.repositories = repositories;
+        this.cache = cache;
+        this.migrations = migrations;
+        this.integrityService = integrityService;
+        this.service = service;
+    }
+
+    @Override
+    @Job(name = "Re-sign extension versions", retries = 3)
+    public void run(HandlerJobRequest<?> jobRequest) throws Exception {
+        var keyPair = repositories.findActiveKeyPair();
+        if(keyPair == null) {
+            return;
+        }
+
+        logger.info("Re-signing extension versions with key pair {}", keyPair.getPublicId());
+        var signed = 0;
+        var failed = 0;
+        var afterId = 0L;
+        var budget = new ByteBudget(maxBytesInFlight);
+        try(var executor = Executors.newFixedThreadPool(Math.max(1, workers), WORKER_THREADS)) {
+            List<ExtensionVersion> batch;
+            while(!(batch = repositories.findVersionsWithout(keyPair, afterId, Math.max(1, batchSize))).isEmpty()) {
+                afterId = batch.getLast().getId();
+                var downloads = new HashMap<Long, FileResource>();
+                var oldSignatures = new HashMap<Long, FileResource>();
+                for(var resource : repositories.findFilesByType(batch, List.of(DOWNLOAD, DOWNLOAD_SIG))) {
+                    var resources = resource.getType().equals(DOWNLOAD) ? downloads : oldSignatures;
+                    resources.put(resource.getExtension().getId(), resource);
+                }
+
+                var pending = new LinkedHashMap<ExtensionVersion, Future<FileResource>>();
+                for(var extVersion : batch) {
+                    var download = downloads.get(extVersion.getId());
+                    if(download == null) {
+                        logger.atWarn()
+                                .setMessage("Could not find download for: {}")
+                                .addArgument(() -> NamingUtil.toLogFormat(extVersion))
+                                .log();
+                        continue;
+                    }
+
+                    var oldSignature = oldSignatures.get(extVersion.getId());
+                    pending.put(extVersion, executor.submit(() -> resign(download, oldSignature, keyPair, budget)));
+                }
+
+                var signatures = new ArrayList<FileResource>();
+                for(var entry : pending.entrySet()) {
+                    try {
+                        var signature = entry.getValue().get();
+                        if(signature != null) {
+                            signatures.add(signature);
+                        }
+                    } catch (ExecutionException e) {
+                        failed++;
+                        logger.atWarn()
+                                .setMessage("Failed to re-sign: {}")
+                                .addArgument(() -> NamingUtil.toLogFormat(entry.getKey()))
+                                .setCause(e.getCause())
+                                .log();
+                    }
+                }
+
+                var extensions = new LinkedHashMap<Long, Extension>();
+                var namespaces = new LinkedHashMap<Long, Namespace>();
+                for(var signature : signatures) {
+                    var extVersion = signature.getExtension();
+                    var extension = extVersion.getExtension();
+                    cache.evictExtensionJsons(extVersion);
+                    extensions.putIfAbsent(extension.getId(), extension);
+                    namespaces.putIfAbsent(extension.getNamespace().getId(), extension.getNamespace());
+                }
+
+                // a batch usually holds many versions of the same extensions, their shared caches are evicted once
+                extensions.values().forEach(cache::evictLatestExtensionVersion);
+                namespaces.values().forEach(cache::evictNamespaceDetails);
+
+                signed += signatures.size();
+                logger.info("Re-signed {} extension versions, {} failed, up to id {}", signed, failed, afterId);
+            }
+        }
+
+        logger.info("Finished re-signing: {} extension versions signed, {} failed", signed, failed);
+    }
+
+    private FileResource resign(FileResource download, FileResource oldSignature, SignatureKeyPair keyPair, ByteBudget budget) throws IOException, InterruptedException {
+        budget.awaitCapacity();
+        acquire(download);
+        var content = migrations.readFile(download);
+        if(content.length == 0) {
+            return null;
+        }
+
+        TempFile signatureFile;
+        budget.add(content.length);
+        try {
+            signatureFile = createSignature(download, content, keyPair);
+        } finally {
+            budget.release(content.length);
+        }
+
+        try(signatureFile) {
+            var signature = signatureFile.getResource();
+            signature.setStorageType(download.getStorageType());
+            // The new signature usually has the same name as the old one and overwrites it in storage.
+            // The database is updated right after the upload, so when the update fails, only this version
+            // isn't signed with the active key pair yet, and it's signed again when the job runs again.
+            acquire(signature);
+            migrations.uploadFileResource(signatureFile);
+            var oldSignatureIds = oldSignature != null ? List.of(oldSignature.getId()) : List.<Long>of();
+            service.replaceSignatures(keyPair, List.of(signature), oldSignatureIds);
+            if(oldSignature != null && !isSameFile(oldSignature, signature)) {
+                removeOldSignature(oldSignature);
+            }
+
+            return signature;
+        }
+    }
+
+    private boolean isSameFile(FileResource oldSignature, FileResource signature) {
+        return Objects.equals(oldSignature.getStorageType(), signature.getStorageType())
+                && Objects.equals(oldSignature.getName(), signature.getName());
+    }
+
+    /**
+     * Deletes an old signature that wasn't overwritten by the new one, after it's no longer referenced by the database.
+     */
+    private void removeOldSignature(FileResource oldSignature) {
+        try {
+            acquire(oldSignature);
+            migrations.removeFile(oldSignature);
+        } catch (RuntimeException e) {
+            logger.atWarn()
+                    .setMessage("Failed to remove old signature: {}")
+                    .addArgument(oldSignature::getName)
+                    .setCause(e)
+                    .log();
+        }
+    }
+
+    private TempFile createSignature(FileResource download, byte[] content, SignatureKeyPair keyPair) throws IOException {
+        try(var scan = digest(download, content); var signer = integrityService.createSigner(keyPair, content, content.length)) {
+            return integrityService.generateSignature(download.getExtension(), scan, signer);
+        }
+    }
+
+    private ExtensionPackageScan digest(FileResource download, byte[] content) throws IOException {
+        try {
+            return ExtensionProcessor.digest(content, content.length);
+        } catch (ZipException e) {
+            // packages that can't be read in memory, e.g. ZIP64 archives, are written to a file to read their entries,
+            // the signer still uses the content that is held in memory instead of reading the package into a new buffer
+            try(
+                    var extensionFile = TempFile.inMemory("extension_", ".vsix", content, content.length, released -> {});
+                    var processor = new ExtensionProcessor(extensionFile)
+            ) {
+                extensionFile.setResource(download);
+                return processor.digest(OutputStream.nullOutputStream());
+            }
+        }
+    }
+
+    private void acquire(FileResource resource) {
+        if(requestsPerSecond > 0) {
+            rateLimiters.computeIfAbsent(resource.getStorageType(), storageType -> RateLimiter.create(requestsPerSecond)).acquire();
+        }
+    }
+
+    /**
+     * Bytes of the packages that are held in memory. The size of a package is only known after it's read,
+     * so the budget holds back reads that would start while it's exceeded instead of reserving the size up front.
+     */
+    static class ByteBudget {
+
+        private final long maxBytes;
+        private long bytes;
+
+        ByteBudget(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized void awaitCapacity() throws InterruptedException {
+            while(maxBytes > 0 && bytes >= maxBytes) {
+                wait();
+            }
+        }
+
+        synchronized void add(long length) {
+            bytes += length;
+        }
+
+        synchronized void release(long length) {
+            bytes -= length;
+            notifyAll();
+        }
+
+        synchronized long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.migration;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.SignatureKeyPair;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class ResignExtensionVersionsService {
+
+    private final EntityManager entityManager;
+    private final RepositoryService repositories;
+
+    public ResignExtensionVersionsService(EntityManager entityManager, RepositoryService repositories) {
+        this.entityManager = entityManager;
+        this.repositories = repositories;
+    }
+
+    /**
+     * Replaces the signatures of a batch of extension versions in one transaction.
+     * The key pair is updated with a single statement and the new signatures are inserted as a single JDBC batch.
+     */
+    @Transactional
+    public void replaceSignatures(SignatureKeyPair keyPair, List<FileResource> signatures, Collection<Long> oldSignatureIds) {
+        if(signatures.isEmpty()) {
+            return;
+        }
+
+        var extVersionIds = signatures.stream().map(resource -> resource.getExtension().getId()).toList();
+        repositories.setSignatureKeyPair(keyPair, extVersionIds);
+        if(!oldSignatureIds.isEmpty()) {
+            repositories.deleteFiles(oldSignatureIds);
+        }
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(signatures.size());
+        signatures.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.openvsx.mirror;
 
 import org.eclipse.openvsx.ExtensionService;
 import org.eclipse.openvsx.UpstreamRegistryService;
+import org.eclipse.openvsx.UpstreamRequestExecutor;
 import org.eclipse.openvsx.UserService;
 import org.eclipse.openvsx.entities.UserData;
 import org.eclipse.openvsx.json.ExtensionJson;
@@ -51,6 +52,7 @@ public class MirrorExtensionService {
     private final UserService users;
     private final ExtensionService extensions;
     private final ExtensionVersionIntegrityService integrityService;
+    private final UpstreamRequestExecutor requests;
 
     public MirrorExtensionService(
             Optional<DataMirrorService> dataMirrorService,
@@ -60,7 +62,8 @@ public class MirrorExtensionService {
             RestTemplate backgroundNonRedirectingRestTemplate,
             UserService users,
             ExtensionService extensions,
-            ExtensionVersionIntegrityService integrityService
+            ExtensionVersionIntegrityService integrityService,
+            UpstreamRequestExecutor requests
     ) {
         dataMirrorService.ifPresent(service -> this.data = service);
         this.repositories = repositories;
@@ -70,6 +73,7 @@ public class MirrorExtensionService {
         this.users = users;
         this.extensions = extensions;
         this.integrityService = integrityService;
+        this.requests = requests;
     }
 
     /**
@@ -119,31 +123,39 @@ public class MirrorExtensionService {
     private void mirrorExtensionVersions(String namespaceName, String extensionName, UserData mirrorUser, JobContext jobContext) {
         data.ensureNamespace(namespaceName);
 
-        var toAdd = new ArrayList<ExtensionJson>();
-        for(var targetPlatform : TargetPlatform.TARGET_PLATFORM_NAMES) {
-            Set<String> versions;
+        var targetPlatforms = TargetPlatform.TARGET_PLATFORM_NAMES;
+        var latestVersions = requests.callAll(UpstreamRequestExecutor.Lane.MIRROR, targetPlatforms, targetPlatform -> {
             try {
-                var json = upstream.getExtension(namespaceName, extensionName, targetPlatform);
-                versions = json.getAllVersions().keySet();
-                VersionAlias.ALIAS_NAMES.forEach(versions::remove);
+                return upstream.getExtension(namespaceName, extensionName, targetPlatform);
             } catch (NotFoundException e) {
-                // combination of extension and target platform doesn't exist, try next
+                // combination of extension and target platform doesn't exist
+                return null;
+            }
+        });
+
+        var toFetch = new ArrayList<TargetVersion>();
+        for(var i = 0; i < targetPlatforms.size(); i++) {
+            var json = latestVersions.get(i);
+            if(json == null) {
                 continue;
             }
 
+            var targetPlatform = targetPlatforms.get(i);
+            var versions = new HashSet<>(json.getAllVersions().keySet());
+            VersionAlias.ALIAS_NAMES.forEach(versions::remove);
+
             var targetVersions = data.getExtensionTargetVersions(namespaceName, extensionName, targetPlatform);
 
             targetVersions.stream()
                     .filter(extVersion -> !versions.contains(extVersion.getVersion()))
                     .forEach(extVersion -> data.deleteExtensionVersion(extVersion, mirrorUser));
 
-            toAdd.addAll(
-                versions.stream()
+            versions.stream()
                     .filter(version -> targetVersions.stream().noneMatch(extVersion -> extVersion.getVersion().equals(version)))
-                    .map(version -> upstream.getExtension(namespaceName, extensionName, targetPlatform, version))
-                    .collect(Collectors.toList())
-            );
+                    .forEach(version -> toFetch.add(new TargetVersion(targetPlatform, version)));
         }
+
+        var toAdd = new ArrayList<>(requests.callAll(UpstreamRequestExecutor.Lane.MIRROR, toFetch, targetVersion -> upstream.getExtension(namespaceName, extensionName, targetVersion.targetPlatform(), targetVersion.version())));
         toAdd.sort(Comparator.comparing(extensionJson -> TimeUtil.fromUTCString(extensionJson.getTimestamp())));
         
         for(var i = 0; i < toAdd.size(); i++) {
@@ -245,4 +257,6 @@ public class MirrorExtensionService {
 
         return signature;
     }
+
+    private record TargetVersion(String targetPlatform, String version) {}
 }
@@ -13,14 +13,13 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
-import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
-import org.bouncycastle.crypto.signers.Ed25519Signer;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
 import org.bouncycastle.crypto.util.PublicKeyFactory;
 import org.bouncycastle.openssl.PEMParser;
+import org.eclipse.openvsx.ExtensionPackageScan;
+import org.eclipse.openvsx.ExtensionProcessor;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
@@ -33,13 +32,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Base64;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import static org.eclipse.openvsx.entities.SignatureKeyPair.KEYPAIR_MODE_CREATE;
@@ -50,6 +49,9 @@ public class ExtensionVersionIntegrityService {
 
     protected final Logger logger = LoggerFactory.getLogger(ExtensionVersionIntegrityService.class);
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder BASE64 = Base64.getEncoder();
+
     private final EntityManager entityManager;
     private final CacheService cache;
 
@@ -75,24 +77,16 @@ public class ExtensionVersionIntegrityService {
             throw new ErrorResultException("Failed to read private key file", e);
         }
 
-        boolean verified;
+        if (!(publicKeyParameters instanceof Ed25519PublicKeyParameters ed25519PublicKey)) {
+            throw new ErrorResultException("Public key is not an Ed25519 key");
+        }
+
         try {
-            var signer = new Ed25519Signer();
-            signer.init(false,  publicKeyParameters);
-            try (var in = Files.newInputStream(extensionFile.getPath())) {
-                int len;
-                var buffer = new byte[1024];
-                while ((len = in.read(buffer)) > 0) {
-                    signer.update(buffer, 0, len);
-                }
-            }
-
-            verified = signer.verifySignature(Files.readAllBytes(signatureFile.getPath()));
+            var signature = Files.readAllBytes(signatureFile.getPath());
+            return PackageSigner.verify(extensionFile.getPath(), signature, ed25519PublicKey.getEncoded());
         } catch (IOException e) {
             throw new ErrorResultException("Failed to verify extension file", e);
         }
-
-        return verified;
     }
 
     @Transactional
@@ -102,107 +96,87 @@ public class ExtensionVersionIntegrityService {
     }
 
     public TempFile generateSignature(TempFile extensionFile, SignatureKeyPair keyPair) throws IOException {
-        var download = extensionFile.getResource();
+        try (
+                var processor = new ExtensionProcessor(extensionFile);
+                var signer = createSigner(keyPair, extensionFile.size());
+                var scan = processor.digest(signer)
+        ) {
+            return generateSignature(extensionFile.getResource().getExtension(), scan, signer);
+        }
+    }
+
+    /**
+     * Creates the stream to pass the extension package to while it's {@link ExtensionProcessor#scan scanned}.
+     * The expected size is used to allocate the signer's buffer at once.
+     */
+    public PackageSigner createSigner(SignatureKeyPair keyPair, long packageSize) {
+        return new PackageSigner(keyPair.getPrivateKey(), packageSize);
+    }
+
+    /**
+     * Creates a signer for an extension package that is already held in memory, e.g. when re-signing existing versions.
+     */
+    public PackageSigner createSigner(SignatureKeyPair keyPair, byte[] content, int length) {
+        return PackageSigner.of(keyPair.getPrivateKey(), content, length);
+    }
+
+    /**
+     * Generates the signature archive from a scan of the extension package, without reading the package again.
+     * The whole package must have been written to the signer during the scan.
+     */
+    public TempFile generateSignature(ExtensionVersion extVersion, ExtensionPackageScan scan, PackageSigner signer) throws IOException {
         var resource = new FileResource();
-        resource.setExtension(download.getExtension());
-        resource.setName(NamingUtil.toFileFormat(download.getExtension(), ".sigzip"));
+        resource.setExtension(extVersion);
+        resource.setName(NamingUtil.toFileFormat(extVersion, ".sigzip"));
         resource.setType(FileResource.DOWNLOAD_SIG);
-        var sigzipFile = new TempFile("signature", ".sigzip");
-        sigzipFile.setResource(resource);
-        try (var out = Files.newOutputStream(sigzipFile.getPath())) {
-            try (var zip = new ZipOutputStream(out)) {
-                var sigEntry = new ZipEntry(".signature.sig");
-                zip.putNextEntry(sigEntry);
-                try(var signatureFile = createSignatureFile(extensionFile, keyPair)) {
-                    writeZipEntry(signatureFile, zip);
-                }
-                zip.closeEntry();
-
-                var manifestEntry = new ZipEntry(".signature.manifest");
-                zip.putNextEntry(manifestEntry);
-                try(var manifestFile = generateSignatureManifest(extensionFile)) {
-                    writeZipEntry(manifestFile, zip);
-                }
-                zip.closeEntry();
-
-                // Add dummy file to the archive because VS Code checks if it exists
-                var dummyEntry = new ZipEntry(".signature.p7s");
-                zip.putNextEntry(dummyEntry);
-                zip.write(new byte[0]);
-                zip.closeEntry();
-            }
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            var sigEntry = new ZipEntry(".signature.sig");
+            zip.putNextEntry(sigEntry);
+            zip.write(signer.sign());
+            zip.closeEntry();
+
+            var manifestEntry = new ZipEntry(".signature.manifest");
+            zip.putNextEntry(manifestEntry);
+            zip.write(generateSignatureManifest(scan));
+            zip.closeEntry();
+
+            // Add dummy file to the archive because VS Code checks if it exists
+            var dummyEntry = new ZipEntry(".signature.p7s");
+            zip.putNextEntry(dummyEntry);
+            zip.write(new byte[0]);
+            zip.closeEntry();
         } catch (IOException e) {
             throw new ErrorResultException("Failed to sign extension file", e);
         }
 
+        // the signature archive only holds the manifest, so it's kept in memory until it's uploaded
+        var content = bytes.toByteArray();
+        var sigzipFile = TempFile.inMemory("signature", ".sigzip", content, content.length, released -> {});
+        sigzipFile.setResource(resource);
         return sigzipFile;
     }
 
-    private TempFile createSignatureFile(TempFile extensionFile, SignatureKeyPair keyPair) throws IOException {
-        var privateKeyParameters = new Ed25519PrivateKeyParameters(keyPair.getPrivateKey(), 0);
-        var signer = new Ed25519Signer();
-        signer.init(true, privateKeyParameters);
-        try (var in = Files.newInputStream(extensionFile.getPath())) {
-            int len;
-            var buffer = new byte[1024];
-            while ((len = in.read(buffer)) > 0) {
-                signer.update(buffer, 0, len);
-            }
-        }
-
-        var signatureFile = new TempFile("signature", ".sig");
-        Files.write(signatureFile.getPath(), signer.generateSignature());
-        return signatureFile;
-    }
-
-    private TempFile generateSignatureManifest(TempFile extensionFile) throws IOException {
-        var base64 = new Base64();
-        var mapper = new ObjectMapper();
-        var manifestEntries = mapper.createObjectNode();
-        try(var zip = new ZipFile(extensionFile.getPath().toFile())) {
-            var iterator = zip.stream().iterator();
-            while(iterator.hasNext()) {
-                var entry = iterator.next();
-                if(entry.isDirectory()) {
-                    continue;
-                }
-
-                try (var entryStream = zip.getInputStream(entry)) {
-                    var manifestEntry = generateManifestEntry(entryStream, entry.getSize(), mapper, base64);
-                    manifestEntries.set(new String(base64.encode(entry.getName().getBytes(StandardCharsets.UTF_8))), manifestEntry);
-                }
-            }
+    private byte[] generateSignatureManifest(ExtensionPackageScan scan) throws IOException {
+        var manifestEntries = MAPPER.createObjectNode();
+        for(var entry : scan.getEntries()) {
+            var manifestEntry = generateManifestEntry(entry.sha256(), entry.size());
+            manifestEntries.set(BASE64.encodeToString(entry.name().getBytes(StandardCharsets.UTF_8)), manifestEntry);
         }
 
-        var manifest = mapper.createObjectNode();
-        try (var extensionStream = Files.newInputStream(extensionFile.getPath())) {
-            manifest.set("package", generateManifestEntry(extensionStream, Files.size(extensionFile.getPath()), mapper, base64));
-        }
+        var manifest = MAPPER.createObjectNode();
+        manifest.set("package", generateManifestEntry(scan.getSha256(), scan.getSize()));
         manifest.set("entries", manifestEntries);
-
-        var manifestFile = new TempFile("signature", ".manifest");
-        mapper.writeValue(manifestFile.getPath().toFile(), manifest);
-        return manifestFile;
+        return MAPPER.writeValueAsBytes(manifest);
     }
 
-    private JsonNode generateManifestEntry(InputStream stream, long size, ObjectMapper mapper, Base64 base64) throws IOException {
-        var manifestEntry = mapper.createObjectNode();
+    private JsonNode generateManifestEntry(byte[] sha256Digest, long size) {
+        var manifestEntry = MAPPER.createObjectNode();
         manifestEntry.put("size", size);
 
-        var manifestEntryDigests = mapper.createObjectNode();
-        var sha256 = new String(base64.encode(DigestUtils.sha256(stream)));
-        manifestEntryDigests.put("sha256", sha256);
+        var manifestEntryDigests = MAPPER.createObjectNode();
+        manifestEntryDigests.put("sha256", BASE64.encodeToString(sha256Digest));
         manifestEntry.set("digests", manifestEntryDigests);
         return manifestEntry;
     }
-
-    private void writeZipEntry(TempFile file, ZipOutputStream out) throws IOException {
-        try(var in = Files.newInputStream(file.getPath())) {
-            int length;
-            var buffer = new byte[1024];
-            while((length = in.read(buffer)) >= 0) {
-                out.write(buffer, 0, length);
-            }
-        }
-    }
 }
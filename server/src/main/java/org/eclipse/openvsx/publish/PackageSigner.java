@@ -0,0 +1,96 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Signs an extension package with Ed25519. Pure Ed25519 hashes the message twice, so the package bytes that are
+ * written to this stream are collected in a single array, allocated up front from the expected package size.
+ * Unlike {@link org.bouncycastle.crypto.signers.Ed25519Signer} the array doesn't grow while the package is written
+ * and it isn't copied again when the signature is generated.
+ */
+public class PackageSigner extends OutputStream {
+
+    private static final int MAX_PACKAGE_SIZE = Integer.MAX_VALUE - 8;
+
+    private final byte[] privateKey;
+    private byte[] buffer;
+    private int count;
+
+    PackageSigner(byte[] privateKey, long expectedSize) {
+        if (expectedSize > MAX_PACKAGE_SIZE) {
+            throw new IllegalArgumentException("Package is too large to sign: " + expectedSize + " bytes");
+        }
+
+        this.privateKey = privateKey;
+        this.buffer = new byte[(int) Math.max(0, expectedSize)];
+    }
+
+    /**
+     * Creates a signer for a package that is already held in memory. The array is used as is, without copying it.
+     */
+    public static PackageSigner of(byte[] privateKey, byte[] content, int length) {
+        var signer = new PackageSigner(privateKey, 0);
+        signer.buffer = content;
+        signer.count = length;
+        return signer;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int len) {
+        var required = (long) count + len;
+        if (required > MAX_PACKAGE_SIZE) {
+            throw new IllegalStateException("Package is too large to sign: " + required + " bytes");
+        }
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.min(MAX_PACKAGE_SIZE, Math.max(required, 2L * buffer.length)));
+        }
+    }
+
+    /**
+     * @return the signature of the bytes written to this stream.
+     */
+    public byte[] sign() {
+        var signature = new byte[Ed25519.SIGNATURE_SIZE];
+        Ed25519.sign(privateKey, 0, buffer, 0, count, signature, 0);
+        return signature;
+    }
+
+    /**
+     * Verifies the signature of a package, reading the package with a single read of its exact size.
+     */
+    public static boolean verify(Path extensionFile, byte[] signature, byte[] publicKey) throws IOException {
+        if (signature.length != Ed25519.SIGNATURE_SIZE || publicKey.length != Ed25519.PUBLIC_KEY_SIZE) {
+            return false;
+        }
+
+        var message = Files.readAllBytes(extensionFile);
+        return Ed25519.verify(signature, 0, publicKey, 0, message, 0, message.length);
+    }
+}
@@ -10,9 +10,11 @@
 package org.eclipse.openvsx.publish;
 
 import com.google.common.base.Joiner;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.openvsx.ExtensionPackageScan;
 import org.eclipse.openvsx.ExtensionProcessor;
 import org.eclipse.openvsx.ExtensionService;
 import org.eclipse.openvsx.ExtensionValidator;
@@ -28,20 +30,24 @@ import org.eclipse.openvsx.util.TempFile;
 import org.jobrunr.scheduling.JobRequestScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.concurrent.*;
 
 @Component
 public class PublishExtensionVersionHandler {
 
     protected final Logger logger = LoggerFactory.getLogger(PublishExtensionVersionHandler.class);
 
+    private static final ThreadFactory UPLOAD_THREADS = Thread.ofVirtual().name("publish-upload-", 0).factory();
+
     private final PublishExtensionVersionService service;
     private final ExtensionVersionIntegrityService integrityService;
     private final EntityManager entityManager;
@@ -50,6 +56,10 @@ public class PublishExtensionVersionHandler {
     private final UserService users;
     private final ExtensionValidator validator;
     private final ExtensionControlService extensionControl;
+    private final PublishQueue publishQueue;
+
+    @Value("${ovsx.publishing.upload-concurrency:4}")
+    int uploadConcurrency;
 
     public PublishExtensionVersionHandler(
             PublishExtensionVersionService service,
@@ -59,7 +69,8 @@ public class PublishExtensionVersionHandler {
             JobRequestScheduler scheduler,
             UserService users,
             ExtensionValidator validator,
-            ExtensionControlService extensionControl
+            ExtensionControlService extensionControl,
+            PublishQueue publishQueue
     ) {
         this.service = service;
         this.integrityService = integrityService;
@@ -69,6 +80,7 @@ public class PublishExtensionVersionHandler {
         this.users = users;
         this.validator = validator;
         this.extensionControl = extensionControl;
+        this.publishQueue = publishQueue;
     }
 
     @Transactional(rollbackOn = ErrorResultException.class)
@@ -82,10 +94,8 @@ public class PublishExtensionVersionHandler {
                     .map(id -> parseExtensionId(id, "extensionDependencies"))
                     .toList();
 
-            if(!parsedDependencies.isEmpty()) {
-                checkDependencies(parsedDependencies);
-            }
             bundledExtensions.forEach(id -> parseExtensionId(id, "extensionPack"));
+            checkDependencies(parsedDependencies);
         }
 
         extVersion.setDependencies(dependencies);
@@ -151,7 +161,10 @@ public class PublishExtensionVersionHandler {
         if (nameIssue.isPresent()) {
             throw new ErrorResultException(nameIssue.get().toString());
         }
-        if(isMalicious(namespaceName, extensionName)) {
+        if(!extensionControl.isLoaded()) {
+            throw new ErrorResultException("Extension control data is not available, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if(extensionControl.isMalicious(namespaceName, extensionName)) {
             throw new ErrorResultException(NamingUtil.toExtensionId(namespaceName, extensionName) + " is a known malicious extension");
         }
 
@@ -173,20 +186,13 @@ public class PublishExtensionVersionHandler {
         }
     }
 
-    private boolean isMalicious(String namespace, String extension) {
-        try {
-            var maliciousExtensionIds = extensionControl.getMaliciousExtensionIds();
-            return maliciousExtensionIds.contains(NamingUtil.toExtensionId(namespace, extension));
-        } catch(IOException e) {
-            logger.warn("Failed to check whether extension is malicious or not", e);
-            return false;
-        }
-    }
-
     private void checkDependencies(List<ExtensionId> dependencies) {
-        var unresolvedDependency = repositories.findFirstUnresolvedDependency(dependencies);
-        if (unresolvedDependency != null) {
-            throw new ErrorResultException("Cannot resolve dependency: " + unresolvedDependency);
+        var unresolvedDependencies = repositories.findUnresolvedDependencies(dependencies);
+        if (unresolvedDependencies.size() == 1) {
+            throw new ErrorResultException("Cannot resolve dependency: " + unresolvedDependencies.get(0));
+        }
+        if (!unresolvedDependencies.isEmpty()) {
+            throw new ErrorResultException("Cannot resolve dependencies: " + String.join(", ", unresolvedDependencies));
         }
     }
 
@@ -199,56 +205,85 @@ public class PublishExtensionVersionHandler {
         return extensionId;
     }
 
-    @Async
+    /**
+     * Stores the package and its file resources, signs it and activates the extension version.
+     * Runs on a {@link PublishQueue} worker. The files are uploaded concurrently, at most
+     * {@code ovsx.publishing.upload-concurrency} at a time, and their rows are inserted in one batch.
+     */
     @Retryable
-    public void publishAsync(TempFile extensionFile, ExtensionService extensionService) {
+    public void publish(TempFile extensionFile, ExtensionPackageScan.Digest digest, ExtensionService extensionService) {
         var download = extensionFile.getResource();
         var extVersion = download.getExtension();
 
-        // Delete file resources in case publishAsync is retried
+        // Delete file resources in case publish is retried
         service.deleteFileResources(extVersion);
         download.setId(0L);
 
-        service.storeResource(extensionFile);
-        service.persistResource(download);
-        try(var processor = new ExtensionProcessor(extensionFile)) {
-            extVersion.setPotentiallyMalicious(processor.isPotentiallyMalicious());
-            if (extVersion.isPotentiallyMalicious()) {
-                logger.atWarn()
-                        .setMessage("Extension version is potentially malicious: {}")
-                        .addArgument(() -> NamingUtil.toLogFormat(extVersion))
-                        .log();
-                return;
-            }
-
-            Consumer<TempFile> consumer = tempFile -> {
-                service.storeResource(tempFile);
-                service.persistResource(tempFile.getResource());
-            };
-
-            if(integrityService.isEnabled()) {
-                var keyPair = extVersion.getSignatureKeyPair();
-                if(keyPair != null) {
-                    try(var signature = integrityService.generateSignature(extensionFile, keyPair)) {
-                        consumer.accept(signature);
-                    }
-                } else {
-                    // Can happen when GenerateKeyPairJobRequestHandler hasn't run yet and there is no active SignatureKeyPair.
-                    // This extension version should be assigned a SignatureKeyPair and a signature FileResource should be created
-                    // by the ExtensionVersionSignatureJobRequestHandler migration.
+        var keyPair = integrityService.isEnabled() ? extVersion.getSignatureKeyPair() : null;
+        try(var uploads = Executors.newFixedThreadPool(Math.max(1, uploadConcurrency), UPLOAD_THREADS)) {
+            // The package is uploaded while it is scanned and signed
+            var stored = new ArrayList<Future<FileResource>>();
+            stored.add(upload(uploads, extensionFile));
+
+            // Read the package once: the digests, signature input and file resources are all computed by the scan.
+            // The package digest was computed while the package was received, so it is only read as a whole for the signer.
+            var signing = Timer.start();
+            try(
+                    var processor = new ExtensionProcessor(extensionFile);
+                    var signer = keyPair != null ? integrityService.createSigner(keyPair, digest.size()) : null;
+                    var scan = processor.scan(extVersion, digest, signer)
+            ) {
+                extVersion.setPotentiallyMalicious(scan.isPotentiallyMalicious());
+                if (extVersion.isPotentiallyMalicious()) {
                     logger.atWarn()
-                            .setMessage("Integrity service is enabled, but {} did not have an active key pair")
+                            .setMessage("Extension version is potentially malicious: {}")
                             .addArgument(() -> NamingUtil.toLogFormat(extVersion))
                             .log();
+                    service.persistResources(await(stored));
+                    return;
                 }
-            }
 
-            processor.getFileResources(extVersion, consumer);
-            try (var sha256File = processor.generateSha256Checksum(extVersion)) {
-                consumer.accept(sha256File);
+                try(
+                        var signature = signer != null ? integrityService.generateSignature(extVersion, scan, signer) : null;
+                        var sha256File = processor.generateSha256Checksum(extVersion, scan)
+                ) {
+                    signing.stop(publishQueue.getStageTimer(PublishQueue.STAGE_SIGN));
+                    if(signature == null && integrityService.isEnabled()) {
+                        // Can happen when GenerateKeyPairJobRequestHandler hasn't run yet and there is no active SignatureKeyPair.
+                        // This extension version should be assigned a SignatureKeyPair and a signature FileResource should be created
+                        // by the ExtensionVersionSignatureJobRequestHandler migration.
+                        logger.atWarn()
+                                .setMessage("Integrity service is enabled, but {} did not have an active key pair")
+                                .addArgument(() -> NamingUtil.toLogFormat(extVersion))
+                                .log();
+                    }
+
+                    var uploading = Timer.start();
+                    List<FileResource> resources;
+                    try {
+                        if(signature != null) {
+                            stored.add(upload(uploads, signature));
+                        }
+                        for(var resource : scan.getFileResources()) {
+                            stored.add(upload(uploads, resource));
+                        }
+                        stored.add(upload(uploads, sha256File));
+                        resources = await(stored);
+                    } catch (RuntimeException | Error e) {
+                        // The temp files are closed when this block exits, which returns their buffers to the pool.
+                        // The uploads that still read them must have stopped by then.
+                        cancel(uploads, stored);
+                        throw e;
+                    }
+
+                    uploading.stop(publishQueue.getStageTimer(PublishQueue.STAGE_UPLOAD));
+                    service.persistResources(resources);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                stored.forEach(future -> future.cancel(true));
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         } finally {
             try {
                 extensionFile.close();
@@ -258,7 +293,47 @@ public class PublishExtensionVersionHandler {
         }
 
         // Update whether extension is active, the search index and evict cache
+        var activation = Timer.start();
         service.activateExtension(extVersion, extensionService);
+        activation.stop(publishQueue.getStageTimer(PublishQueue.STAGE_ACTIVATE));
+    }
+
+    private Future<FileResource> upload(ExecutorService uploads, TempFile tempFile) {
+        return uploads.submit(() -> {
+            service.storeResource(tempFile);
+            return tempFile.getResource();
+        });
+    }
+
+    /**
+     * Cancels the uploads and waits until the running ones have stopped.
+     */
+    private void cancel(ExecutorService uploads, List<Future<FileResource>> stored) {
+        stored.forEach(future -> future.cancel(true));
+        uploads.close();
+    }
+
+    private List<FileResource> await(List<Future<FileResource>> stored) {
+        var resources = new ArrayList<FileResource>(stored.size());
+        try {
+            for(var future : stored) {
+                resources.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while uploading file resources");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if(e.getCause() instanceof Error error) {
+                throw error;
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+
+        return resources;
     }
 
     public void mirror(TempFile extensionFile, String signatureName) {
@@ -18,10 +18,13 @@ import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.storage.StorageUtilService;
 import org.eclipse.openvsx.util.TempFile;
+import org.hibernate.Session;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 import static org.eclipse.openvsx.cache.CacheService.CACHE_SITEMAP;
 
 @Component
@@ -67,6 +70,16 @@ public class PublishExtensionVersionService {
         entityManager.persist(resource);
     }
 
+    /**
+     * Persists the resources in one transaction, sending the inserts as a single JDBC batch.
+     */
+    @Transactional
+    public void persistResources(List<FileResource> resources) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(1, resources.size()));
+        resources.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
     @Transactional
     @CacheEvict(value = CACHE_SITEMAP, allEntries = true)
     public void activateExtension(ExtensionVersion extVersion, ExtensionService extensions) {
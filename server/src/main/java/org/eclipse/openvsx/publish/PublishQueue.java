@@ -0,0 +1,358 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.openvsx.util.TempFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the asynchronous part of publishing on a fixed number of workers.
+ * A publish request is {@link #admit admitted} before its package is read, which bounds the number of packages
+ * that are being uploaded, validated, waiting or processed at the same time, and thereby the temp disk usage.
+ * Each namespace has its own queue and the workers take tasks from the namespaces in turn,
+ * so a burst of publishes to one namespace doesn't delay the other namespaces.
+ * Requests that exceed the capacity are rejected with a {@link PublishRejectedException}.
+ * On shutdown the queued tasks are still processed for up to {@code ovsx.publishing.shutdown-timeout},
+ * the tasks that are dropped after that are logged.
+ */
+@Component
+public class PublishQueue {
+
+    public static final String STAGE_VALIDATE = "validate";
+    public static final String STAGE_SIGN = "sign";
+    public static final String STAGE_UPLOAD = "upload";
+    public static final String STAGE_ACTIVATE = "activate";
+
+    protected final Logger logger = LoggerFactory.getLogger(PublishQueue.class);
+
+    private final int capacity;
+    private final int namespaceCapacity;
+    private final Duration retryAfter;
+    private final ExecutorService workers;
+
+    private final Map<String, Deque<Task>> queues = new HashMap<>();
+    private final Deque<String> turns = new ArrayDeque<>();
+    private final Map<String, Integer> namespaceAdmitted = new HashMap<>();
+    private int admitted;
+    private int queued;
+    private int running;
+    private long tempBytes;
+    private boolean shutdown;
+    private boolean terminated;
+
+    @Value("${ovsx.publishing.shutdown-timeout:PT60S}")
+    Duration shutdownTimeout = Duration.ofSeconds(60);
+
+    private final Map<String, Timer> stageTimers = new HashMap<>();
+    private final Counter rejectedFull;
+    private final Counter rejectedNamespace;
+
+    public PublishQueue(
+            @Value("${ovsx.publishing.workers:2}") int workerCount,
+            @Value("${ovsx.publishing.queue-capacity:32}") int capacity,
+            @Value("${ovsx.publishing.namespace-capacity:8}") int namespaceCapacity,
+            @Value("${ovsx.publishing.retry-after:PT30S}") Duration retryAfter,
+            MeterRegistry registry
+    ) {
+        if(workerCount <= 0 || capacity <= 0 || namespaceCapacity <= 0) {
+            throw new IllegalArgumentException("Publish workers and capacities must be positive");
+        }
+
+        this.capacity = capacity;
+        this.namespaceCapacity = namespaceCapacity;
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("ovsx.publish.queue.depth", this, PublishQueue::getQueued)
+                .description("Published extension versions waiting for a worker")
+                .register(registry);
+        Gauge.builder("ovsx.publish.running", this, PublishQueue::getRunning)
+                .description("Published extension versions being processed by a worker")
+                .register(registry);
+        Gauge.builder("ovsx.publish.admitted", this, PublishQueue::getAdmitted)
+                .description("Publish requests that are being validated, waiting or processed")
+                .register(registry);
+        Gauge.builder("ovsx.publish.temp.bytes", this, PublishQueue::getTempBytes)
+                .description("Temp disk space used by admitted extension packages")
+                .baseUnit("bytes")
+                .register(registry);
+        for(var stage : List.of(STAGE_VALIDATE, STAGE_SIGN, STAGE_UPLOAD, STAGE_ACTIVATE)) {
+            var timer = Timer.builder("ovsx.publish.stage")
+                    .description("Time spent in a stage of publishing an extension version")
+                    .tag("stage", stage)
+                    .register(registry);
+            stageTimers.put(stage, timer);
+        }
+        rejectedFull = rejectedCounter(registry, "full");
+        rejectedNamespace = rejectedCounter(registry, "namespace");
+
+        this.workers = Executors.newFixedThreadPool(workerCount, Thread.ofPlatform().name("publish-", 0).daemon().factory());
+        for(var i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("ovsx.publish.rejected")
+                .description("Publish requests rejected because the publish queue was saturated")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+        }
+
+        // the workers exit when the queues are empty
+        workers.shutdown();
+        var drained = false;
+        try {
+            drained = workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Task> dropped;
+        synchronized (this) {
+            terminated = true;
+            dropped = queues.values().stream().flatMap(Collection::stream).toList();
+            queues.clear();
+            turns.clear();
+            queued = 0;
+        }
+        if(!drained) {
+            workers.shutdownNow();
+        }
+        for(var task : dropped) {
+            logger.error("Publishing {} was dropped at shutdown, it stays inactive until it is published again", task.description);
+            release(task.admission);
+        }
+    }
+
+    public Timer getStageTimer(String stage) {
+        return stageTimers.get(stage);
+    }
+
+    /**
+     * Reserves a slot for a publish request. Close the admission when the request fails before it is {@link #submit submitted}.
+     * @throws PublishRejectedException with status 503 when the queue is full.
+     */
+    public synchronized Admission admit() {
+        if(shutdown) {
+            throw new PublishRejectedException(
+                    "The server is shutting down. Please try again later.",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    retryAfter
+            );
+        }
+        if(admitted >= capacity) {
+            rejectedFull.increment();
+            throw new PublishRejectedException(
+                    "Too many extensions are being published. Please try again later.",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    retryAfter
+            );
+        }
+
+        admitted++;
+        return new Admission();
+    }
+
+    /**
+     * Queues the task of an admitted request. The admission is released when the task completes.
+     * @param description describes the task in the log, e.g. when it is dropped at shutdown.
+     * @throws PublishRejectedException with status 503 when the queue has already shut down.
+     */
+    public void submit(Admission admission, String description, Runnable task) {
+        synchronized (this) {
+            if(admission.released || admission.submitted) {
+                throw new IllegalStateException("Admission is no longer valid");
+            }
+            if(terminated) {
+                throw new PublishRejectedException(
+                        "The server is shutting down. Please try again later.",
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        retryAfter
+                );
+            }
+
+            admission.submitted = true;
+            var namespace = admission.namespace != null ? admission.namespace : "";
+            var queue = queues.get(namespace);
+            if(queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(namespace, queue);
+                turns.add(namespace);
+            }
+
+            queue.add(new Task(admission, description, task));
+            queued++;
+            notify();
+        }
+    }
+
+    private void work() {
+        while(true) {
+            Task task;
+            try {
+                task = take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if(task == null) {
+                return;
+            }
+
+            try {
+                task.runnable.run();
+            } catch (Throwable e) {
+                logger.error("Failed to publish {}", task.description, e);
+            } finally {
+                synchronized (this) {
+                    running--;
+                }
+                release(task.admission);
+            }
+        }
+    }
+
+    private synchronized Task take() throws InterruptedException {
+        while(turns.isEmpty() && !shutdown) {
+            wait();
+        }
+        if(turns.isEmpty()) {
+            return null;
+        }
+
+        var namespace = turns.poll();
+        var queue = queues.get(namespace);
+        var task = queue.poll();
+        if(queue.isEmpty()) {
+            queues.remove(namespace);
+        } else {
+            // the namespace gets its next turn after the other namespaces that have queued tasks
+            turns.add(namespace);
+        }
+
+        queued--;
+        running++;
+        return task;
+    }
+
+    private synchronized void release(Admission admission) {
+        if(admission.released) {
+            return;
+        }
+
+        admission.released = true;
+        admitted--;
+        tempBytes -= admission.tempBytes;
+        if(admission.namespace != null) {
+            namespaceAdmitted.computeIfPresent(admission.namespace, (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    public synchronized int getAdmitted() {
+        return admitted;
+    }
+
+    public synchronized int getQueued() {
+        return queued;
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    public synchronized long getTempBytes() {
+        return tempBytes;
+    }
+
+    /**
+     * Slot of a publish request in the queue.
+     */
+    public class Admission implements AutoCloseable {
+
+        private String namespace;
+        private long tempBytes;
+        private boolean submitted;
+        private boolean released;
+
+        private Admission() {}
+
+        /**
+         * Counts the extension package towards the temp disk usage.
+         */
+        public void trackTempFile(TempFile extensionFile) throws IOException {
+            var size = extensionFile.size();
+            synchronized (PublishQueue.this) {
+                this.tempBytes += size;
+                PublishQueue.this.tempBytes += size;
+            }
+        }
+
+        /**
+         * Assigns the request to a namespace, before anything is persisted for the request.
+         * @throws PublishRejectedException with status 429 when the namespace already has too many admitted requests.
+         */
+        public void claimNamespace(String namespaceName) {
+            var key = Objects.toString(namespaceName, "");
+            synchronized (PublishQueue.this) {
+                if(namespace != null) {
+                    throw new IllegalStateException("Admission already has a namespace");
+                }
+
+                var count = namespaceAdmitted.getOrDefault(key, 0);
+                if(count >= namespaceCapacity) {
+                    rejectedNamespace.increment();
+                    throw new PublishRejectedException(
+                            "Too many extensions are being published to namespace " + key + ". Please try again later.",
+                            HttpStatus.TOO_MANY_REQUESTS,
+                            retryAfter
+                    );
+                }
+
+                namespaceAdmitted.put(key, count + 1);
+                namespace = key;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (PublishQueue.this) {
+                if(submitted) {
+                    return;
+                }
+            }
+            release(this);
+        }
+    }
+
+    private record Task(Admission admission, String description, Runnable runnable) {}
+}
@@ -0,0 +1,44 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.eclipse.openvsx.util.ErrorResultException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.io.Serial;
+import java.time.Duration;
+
+/**
+ * Thrown when the {@link PublishQueue} is saturated. The response tells the client when to retry.
+ */
+public class PublishRejectedException extends ErrorResultException {
+
+    @Serial
+    private static final long serialVersionUID = -4310377453095372544L;
+
+    private final Duration retryAfter;
+
+    public PublishRejectedException(String message, HttpStatusCode status, Duration retryAfter) {
+        super(message, status);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    protected HttpHeaders getHeaders() {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        return headers;
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -64,6 +65,27 @@ public class ExtensionJooqRepository {
         return query.fetchOne(this::toExtension);
     }
 
+    public List<Extension> findAllActiveByExtensionId(Collection<ExtensionId> extensionIds) {
+        if(extensionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        var rows = extensionIds.stream()
+                .map(id -> new ExtensionId(id.namespace().toLowerCase(), id.extension().toLowerCase()))
+                .distinct()
+                .map(id -> DSL.row(id.namespace(), id.extension()))
+                .toArray(Row2[]::new);
+
+        var ids = DSL.values(rows).as("ids", "namespace", "extension");
+        var query = findAllActive();
+        query.addJoin(ids,
+                NAMESPACE.NAME.equalIgnoreCase(ids.field("namespace", String.class))
+                        .and(EXTENSION.NAME.equalIgnoreCase(ids.field("extension", String.class)))
+        );
+
+        return fetch(query);
+    }
+
     public List<Extension> findAllPublicIds() {
         return findPublicId().fetch().map(this::toPublicId);
     }
@@ -229,22 +251,40 @@ public class ExtensionJooqRepository {
                 .fetch(EXTENSION.NAME);
     }
 
-    public String findFirstUnresolvedDependency(List<ExtensionId> dependencies) {
+    /**
+     * Resolves all dependencies with a single query.
+     * @return the ids of the dependencies that don't exist, in the order in which they are given.
+     */
+    public List<String> findUnresolvedDependencies(Collection<ExtensionId> dependencies) {
         if(dependencies.isEmpty()) {
-            return null;
+            return Collections.emptyList();
         }
 
-        var ids = DSL.values(dependencies.stream().map(d -> DSL.row(d.namespace(), d.extension())).toArray(Row2[]::new)).as("ids", "namespace", "extension");
+        var rows = dependencies.stream()
+                .distinct()
+                .map(d -> DSL.row(d.namespace(), d.extension()))
+                .toArray(Row2[]::new);
+
+        var ids = DSL.values(rows).as("ids", "namespace", "extension");
         var namespace = ids.field("namespace", String.class);
         var extension = ids.field("extension", String.class);
         var unresolvedDependency = DSL.concat(namespace, DSL.value("."), extension).as("unresolved_dependency");
-        return dsl.select(unresolvedDependency)
+        var unresolved = dsl.select(unresolvedDependency)
                 .from(ids)
-                .leftJoin(NAMESPACE).on(NAMESPACE.NAME.equalIgnoreCase(namespace))
-                .leftJoin(EXTENSION).on(EXTENSION.NAME.equalIgnoreCase(extension))
-                .where(NAMESPACE.NAME.isNull()).or(EXTENSION.NAME.isNull())
-                .limit(1)
-                .fetchOne(unresolvedDependency);
+                .whereNotExists(
+                        dsl.selectOne()
+                                .from(EXTENSION)
+                                .join(NAMESPACE).on(NAMESPACE.ID.eq(EXTENSION.NAMESPACE_ID))
+                                .where(NAMESPACE.NAME.equalIgnoreCase(namespace))
+                                .and(EXTENSION.NAME.equalIgnoreCase(extension))
+                )
+                .fetchSet(unresolvedDependency);
+
+        return dependencies.stream()
+                .map(d -> d.namespace() + "." + d.extension())
+                .filter(unresolved::contains)
+                .distinct()
+                .toList();
     }
 
     public List<Extension> findActiveExtensionsForUrls(Namespace namespace) {
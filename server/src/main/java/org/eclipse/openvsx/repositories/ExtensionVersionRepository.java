@@ -18,6 +18,8 @@ import org.springframework.data.repository.Repository;
 import org.springframework.data.util.Streamable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ExtensionVersionRepository extends Repository<ExtensionVersion, Long> {
 
@@ -50,10 +52,17 @@ public interface ExtensionVersionRepository extends Repository<ExtensionVersion,
     @Query("select min(ev.timestamp) from ExtensionVersion ev")
     LocalDateTime getOldestTimestamp();
 
+    @Query("select ev from ExtensionVersion ev where ev.id > ?2 and (ev.signatureKeyPair is null or ev.signatureKeyPair <> ?1) order by ev.id")
+    List<ExtensionVersion> findBySignatureKeyPairNotOrSignatureKeyPairIsNullAndIdGreaterThan(SignatureKeyPair keyPair, long id, Pageable page);
+
     @Modifying
     @Query("update ExtensionVersion ev set ev.signatureKeyPair = null")
     void setKeyPairsNull();
 
+    @Modifying
+    @Query("update ExtensionVersion ev set ev.signatureKeyPair = ?1 where ev.id in(?2)")
+    void setKeyPair(SignatureKeyPair keyPair, Collection<Long> ids);
+
     Page<ExtensionVersion> findByExtensionNameIgnoreCaseAndExtensionNamespaceNameIgnoreCase(String extension, String namespace, Pageable page);
 
     Page<ExtensionVersion> findByTargetPlatformAndExtensionNameIgnoreCaseAndExtensionNamespaceNameIgnoreCase(String targetPlatform, String extension, String namespace, Pageable page);
@@ -12,6 +12,8 @@ package org.eclipse.openvsx.repositories;
 import org.eclipse.openvsx.entities.ExtensionVersion;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.util.Streamable;
 
@@ -31,6 +33,10 @@ public interface FileResourceRepository extends Repository<FileResource, Long> {
 
     void deleteByType(String type);
 
+    @Modifying
+    @Query("delete from FileResource fr where fr.id in(?1)")
+    void deleteByIdIn(Collection<Long> ids);
+
     Streamable<FileResource> findByType(String type);
 
     Streamable<FileResource> findByExtension(ExtensionVersion extVersion);
@@ -371,6 +371,10 @@ public class RepositoryService {
         return extensionJooqRepo.findAllActiveByPublicId(publicIds, namespacesToExclude);
     }
 
+    public List<Extension> findActiveExtensions(Collection<ExtensionId> extensionIds) {
+        return extensionJooqRepo.findAllActiveByExtensionId(extensionIds);
+    }
+
     public Extension findActiveExtension(String name, String namespaceName) {
         return extensionJooqRepo.findActiveByNameIgnoreCaseAndNamespaceNameIgnoreCase(name, namespaceName);
     }
@@ -479,10 +483,22 @@ public class RepositoryService {
         return extensionVersionRepo.findBySignatureKeyPairNotOrSignatureKeyPairIsNull(keyPair);
     }
 
+    public List<ExtensionVersion> findVersionsWithout(SignatureKeyPair keyPair, long afterId, int limit) {
+        return extensionVersionRepo.findBySignatureKeyPairNotOrSignatureKeyPairIsNullAndIdGreaterThan(keyPair, afterId, Pageable.ofSize(limit));
+    }
+
+    public void setSignatureKeyPair(SignatureKeyPair keyPair, Collection<Long> extVersionIds) {
+        extensionVersionRepo.setKeyPair(keyPair, extVersionIds);
+    }
+
     public void deleteDownloadSigFiles() {
         fileResourceRepo.deleteByType(DOWNLOAD_SIG);
     }
 
+    public void deleteFiles(Collection<Long> ids) {
+        fileResourceRepo.deleteByIdIn(ids);
+    }
+
     public void deleteAllKeyPairs() {
         extensionVersionRepo.setKeyPairsNull();
         signatureKeyPairRepo.deleteAll();
@@ -628,8 +644,8 @@ public class RepositoryService {
         return signatureKeyPairJooqRepo.findPublicId(namespace, extension, targetPlatform, version);
     }
 
-    public String findFirstUnresolvedDependency(List<ExtensionId> dependencies) {
-        return extensionJooqRepo.findFirstUnresolvedDependency(dependencies);
+    public List<String> findUnresolvedDependencies(Collection<ExtensionId> dependencies) {
+        return extensionJooqRepo.findUnresolvedDependencies(dependencies);
     }
 
     public PersonalAccessToken findAccessToken(UserData user, String description) {
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import static org.eclipse.openvsx.AsyncConfig.SEARCH_UPDATE_EXECUTOR;
 import static org.eclipse.openvsx.cache.CacheService.CACHE_AVERAGE_REVIEW_RATING;
 import static org.eclipse.openvsx.cache.CacheService.CACHE_DATABASE_SEARCH;
 
@@ -166,7 +167,7 @@ public class DatabaseSearchService implements ISearchService {
     }
 
     @Override
-    @Async
+    @Async(SEARCH_UPDATE_EXECUTOR)
     @CacheEvict(value = CACHE_DATABASE_SEARCH, allEntries = true)
     public void updateSearchEntriesAsync(List<Extension> extensions) {
         // The @CacheEvict annotation clears the cache when asked to update search entries
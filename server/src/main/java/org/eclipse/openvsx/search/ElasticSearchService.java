@@ -50,6 +50,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
+import static org.eclipse.openvsx.AsyncConfig.SEARCH_UPDATE_EXECUTOR;
 import static org.eclipse.openvsx.cache.CacheService.CACHE_AVERAGE_REVIEW_RATING;
 
 @Component
@@ -179,7 +180,7 @@ public class ElasticSearchService implements ISearchService {
         }
     }
 
-    @Async
+    @Async(SEARCH_UPDATE_EXECUTOR)
     @Retryable(DataAccessResourceFailureException.class)
     public void updateSearchEntriesAsync(List<Extension> extensions) {
         updateSearchEntries(extensions);
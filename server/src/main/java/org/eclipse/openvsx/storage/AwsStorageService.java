@@ -26,6 +26,7 @@ import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.awscore.defaultsmode.DefaultsMode;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.endpoints.S3EndpointParams;
@@ -38,6 +39,7 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.Files;
@@ -197,7 +199,15 @@ public class AwsStorageService implements IStorageService {
                 .metadata(metadata)
                 .build();
 
-        getS3Client().putObject(request, file.getPath());
+        if (file.isInMemory()) {
+            try (var in = file.newInputStream()) {
+                getS3Client().putObject(request, RequestBody.fromInputStream(in, file.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            getS3Client().putObject(request, file.getPath());
+        }
     }
 
     @Override
@@ -262,6 +272,16 @@ public class AwsStorageService implements IStorageService {
         return tempFile;
     }
 
+    @Override
+    public InputStream openFile(FileResource resource) {
+        var request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(getObjectKey(resource))
+                .build();
+
+        return getS3Client().getObject(request);
+    }
+
     @Override
     public void copyFiles(List<Pair<FileResource, FileResource>> pairs) {
         pairs.forEach(pair -> copy(getObjectKey(pair.getFirst()), getObjectKey(pair.getSecond())));
@@ -30,6 +30,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -116,7 +118,15 @@ public class AzureBlobStorageService implements IStorageService {
             headers.setCacheControl(cacheControl.getHeaderValue());
         }
 
-        blobClient.uploadFromFile(file.getPath().toAbsolutePath().toString(), true);
+        if (file.isInMemory()) {
+            try (var in = file.newInputStream()) {
+                blobClient.upload(in, file.size(), true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            blobClient.uploadFromFile(file.getPath().toAbsolutePath().toString(), true);
+        }
         blobClient.setHttpHeaders(headers);
     }
 
@@ -183,6 +193,16 @@ public class AzureBlobStorageService implements IStorageService {
         return tempFile;
     }
 
+    @Override
+    public InputStream openFile(FileResource resource) {
+        var blobName = getObjectKey(resource);
+        if (StringUtils.isEmpty(serviceEndpoint)) {
+            throw new IllegalStateException(missingEndpointMessage(blobName));
+        }
+
+        return getContainerClient().getBlobClient(blobName).openInputStream();
+    }
+
     @Override
     public void copyFiles(List<Pair<FileResource,FileResource>> pairs) {
         var copyOperations = new ArrayList<SyncPoller<BlobCopyInfo, Void>>();
@@ -23,8 +23,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerErrorException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -103,7 +105,7 @@ public class GoogleCloudStorageService implements IStorageService {
             blobInfoBuilder.setCacheControl(cacheControl.getHeaderValue());
         }
         try (
-                var in = Files.newByteChannel(file.getPath());
+                var in = file.isInMemory() ? Channels.newChannel(file.newInputStream()) : Files.newByteChannel(file.getPath());
                 var out = getStorage().writer(blobInfoBuilder.build())
         ) {
             var buffer = ByteBuffer.allocateDirect(1024 * 1024);
@@ -164,6 +166,15 @@ public class GoogleCloudStorageService implements IStorageService {
         return tempFile;
     }
 
+    @Override
+    public InputStream openFile(FileResource resource) {
+        if (StringUtils.isEmpty(bucketId)) {
+            throw new IllegalStateException(missingBucketIdMessage(resource.getName()));
+        }
+
+        return Channels.newInputStream(getStorage().reader(BlobId.of(bucketId, getObjectKey(resource))));
+    }
+
     private String missingBucketIdMessage(String name) {
         return missingBucketIdMessage("Cannot determine location of file", name);
     }
@@ -18,6 +18,7 @@ import org.springframework.data.util.Pair;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
@@ -61,6 +62,11 @@ public interface IStorageService {
 
     TempFile downloadFile(FileResource resource) throws IOException;
 
+    /**
+     * Opens a file of the external storage for reading, without writing it to a temp file.
+     */
+    InputStream openFile(FileResource resource) throws IOException;
+
     void copyFiles(List<Pair<FileResource, FileResource>> pairs);
 
     void copyNamespaceLogo(Namespace oldNamespace, Namespace newNamespace);
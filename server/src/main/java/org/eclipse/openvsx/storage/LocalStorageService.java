@@ -23,6 +23,7 @@ import org.springframework.web.server.ServerErrorException;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -46,7 +47,13 @@ public class LocalStorageService implements IStorageService {
         try {
             var filePath = getPath(tempFile.getResource());
             Files.createDirectories(filePath.getParent());
-            Files.copy(tempFile.getPath(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            if (tempFile.isInMemory()) {
+                try (var in = tempFile.newInputStream()) {
+                    Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                Files.copy(tempFile.getPath(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             throw new ServerErrorException("Failed to upload file", e);
         }
@@ -135,6 +142,11 @@ public class LocalStorageService implements IStorageService {
         return file;
     }
 
+    @Override
+    public InputStream openFile(FileResource resource) throws IOException {
+        return Files.newInputStream(getPath(resource));
+    }
+
     @Override
     public void copyFiles(List<Pair<FileResource, FileResource>> pairs) {
         try {
@@ -31,6 +31,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -259,6 +260,11 @@ public class StorageUtilService implements IStorageService {
         return storageService != null ? storageService.downloadFile(resource) : null;
     }
 
+    public InputStream openFile(FileResource resource) throws IOException {
+        var storageService = getStorageServiceForRetrieval(resource.getStorageType());
+        return storageService != null ? storageService.openFile(resource) : null;
+    }
+
     /**
      * Returns URLs for the given file types as a map of ExtensionVersion.id by a map of type by file URL, to be used in JSON response data.
      */
@@ -288,7 +294,7 @@ public class StorageUtilService implements IStorageService {
         extension.setDownloadCount(extension.getDownloadCount() + 1);
 
         cache.evictNamespaceDetails(extension);
-        cache.evictExtensionJsons(extension);
+        cache.evictDownloadCount(extension);
         if (extension.isActive()) {
             search.updateSearchEntry(extension);
         }
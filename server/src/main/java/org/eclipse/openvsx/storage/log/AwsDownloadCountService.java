@@ -192,19 +192,8 @@ public class AwsDownloadCountService {
             var fileCounts = new HashMap<String, Integer>();
             var lines = reader.lines().iterator();
             while (lines.hasNext()) {
-                var line = lines.next();
-                if (line.startsWith("#")) {
-                    continue;
-                }
-
-                // Format:
-                // date	time x-edge-location sc-bytes c-ip cs-method cs(Host) cs-uri-stem sc-status	cs(Referer)	cs(User-Agent) cs-uri-query cs(Cookie) x-edge-result-type	x-edge-request-id	x-host-header	cs-protocol	cs-bytes	time-taken	x-forwarded-for	ssl-protocol	ssl-cipher	x-edge-response-result-type	cs-protocol-version	fle-status	fle-encrypted-fields	c-port	time-to-first-byte	x-edge-detailed-result-type	sc-content-type	sc-content-len	sc-range-start	sc-range-end
-                var components = line.split("[ \t]+");
-
-                if (isGetOperation(components) && isStatusOk(components) && isExtensionPackageUri(components)) {
-                    var uri = components[7];
-                    var uriComponents = uri.split("/");
-                    var vsixFile = UriUtils.decode(uriComponents[uriComponents.length - 1], StandardCharsets.UTF_8).toUpperCase();
+                var vsixFile = getDownloadedFileName(lines.next());
+                if (vsixFile != null) {
                     fileCounts.merge(vsixFile, 1, Integer::sum);
                 }
             }
@@ -212,6 +201,27 @@ public class AwsDownloadCountService {
         }
     }
 
+    /**
+     * @return the upper case file name of the extension package downloaded in the log line,
+     * or {@code null} if the line doesn't record a successful extension package download.
+     */
+    String getDownloadedFileName(String line) {
+        if (line.startsWith("#")) {
+            return null;
+        }
+
+        // Format:
+        // date	time x-edge-location sc-bytes c-ip cs-method cs(Host) cs-uri-stem sc-status	cs(Referer)	cs(User-Agent) cs-uri-query cs(Cookie) x-edge-result-type	x-edge-request-id	x-host-header	cs-protocol	cs-bytes	time-taken	x-forwarded-for	ssl-protocol	ssl-cipher	x-edge-response-result-type	cs-protocol-version	fle-status	fle-encrypted-fields	c-port	time-to-first-byte	x-edge-detailed-result-type	sc-content-type	sc-content-len	sc-range-start	sc-range-end
+        var components = line.split("[ \t]+");
+        if (!isGetOperation(components) || !isStatusOk(components) || !isExtensionPackageUri(components)) {
+            return null;
+        }
+
+        var uri = components[7];
+        var uriComponents = uri.split("/");
+        return UriUtils.decode(uriComponents[uriComponents.length - 1], StandardCharsets.UTF_8).toUpperCase();
+    }
+
     private boolean isGetOperation(String[] components) {
         return components[5].equalsIgnoreCase("GET");
     }
@@ -17,6 +17,7 @@ import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobListDetails;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.ListBlobsOptions;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
@@ -185,15 +186,8 @@ public class AzureDownloadCountService {
             var fileCounts = new HashMap<String, Integer>();
             var lines = reader.lines().iterator();
             while(lines.hasNext()) {
-                var line = lines.next();
-                var node = getObjectMapper().readTree(line);
-                String[] pathParams = null;
-                if(isGetBlobOperation(node) && isStatusOk(node) && isExtensionPackageUri(node) && isNotOpenVSXUserAgent(node)) {
-                    var uri = node.get("uri").asText();
-                    pathParams = uri.substring(storageServiceEndpoint.length()).split("/");
-                }
-                if(pathParams != null && storageBlobContainer.equals(pathParams[1])) {
-                    var fileName = UriUtils.decode(pathParams[pathParams.length - 1], StandardCharsets.UTF_8).toUpperCase();
+                var fileName = getDownloadedFileName(lines.next());
+                if(fileName != null) {
                     fileCounts.merge(fileName, 1, Integer::sum);
                 }
             }
@@ -201,6 +195,25 @@ public class AzureDownloadCountService {
         }
     }
 
+    /**
+     * @return the upper case file name of the extension package downloaded in the log line,
+     * or {@code null} if the line doesn't record a successful extension package download.
+     */
+    String getDownloadedFileName(String line) throws JsonProcessingException {
+        var node = getObjectMapper().readTree(line);
+        if(!isGetBlobOperation(node) || !isStatusOk(node) || !isExtensionPackageUri(node) || !isNotOpenVSXUserAgent(node)) {
+            return null;
+        }
+
+        var uri = node.get("uri").asText();
+        var pathParams = uri.substring(storageServiceEndpoint.length()).split("/");
+        if(!storageBlobContainer.equals(pathParams[1])) {
+            return null;
+        }
+
+        return UriUtils.decode(pathParams[pathParams.length - 1], StandardCharsets.UTF_8).toUpperCase();
+    }
+
     private boolean isGetBlobOperation(JsonNode node) {
         return node.get("operationName").asText().equals("GetBlob");
     }
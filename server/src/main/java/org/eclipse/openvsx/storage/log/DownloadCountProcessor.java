@@ -92,8 +92,7 @@ public class DownloadCountProcessor {
     public void evictCaches(Extension extension) {
         Observation.createNotStarted("DownloadCountProcessor#evictCaches", observations).observe(() -> {
             var mergedExtension = entityManager.merge(extension);
-            cache.evictExtensionJsons(mergedExtension);
-            cache.evictLatestExtensionVersion(mergedExtension);
+            cache.evictDownloadCount(mergedExtension);
         });
     }
 
@@ -10,8 +10,15 @@
 package org.eclipse.openvsx.util;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
 public final class ArchiveUtil {
@@ -19,6 +26,15 @@ public final class ArchiveUtil {
     // Limit the size of fetched zip entries to 32 MB
     private static final long MAX_ENTRY_SIZE = 33_554_432;
 
+    // Keep fetched zip entries up to 64 KB in memory, e.g. package.json and extension.vsixmanifest
+    private static final int MAX_IN_MEMORY_ENTRY_SIZE = 65_535;
+    private static final ByteArrayPool BUFFERS = new ByteArrayPool(MAX_IN_MEMORY_ENTRY_SIZE + 1, 64);
+
+    private static final int END_HEADER_SIGNATURE = 0x06054b50;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
     private ArchiveUtil() {}
 
     public static ZipEntry getEntryIgnoreCase(ZipFile archive, String entryName) {
@@ -36,17 +52,99 @@ public final class ArchiveUtil {
     }
 
     public static TempFile readEntry(ZipFile archive, ZipEntry entry) throws IOException {
+        try (var in = archive.getInputStream(entry)) {
+            return readEntry(entry, in);
+        }
+    }
+
+    /**
+     * Reads the content of the entry from the input stream, failing when the entry exceeds the size limit.
+     * Entries up to {@value #MAX_IN_MEMORY_ENTRY_SIZE} bytes are kept in a pooled buffer instead of a file on disk.
+     */
+    public static TempFile readEntry(ZipEntry entry, InputStream in) throws IOException {
+        if (entry.getSize() > MAX_ENTRY_SIZE)
+            throw new ErrorResultException("The file " + entry.getName() + " exceeds the size limit of 32 MB.");
+
         var fileNameIndex = entry.getName().lastIndexOf('/');
         var fileName = fileNameIndex == -1 ? entry.getName() : entry.getName().substring(fileNameIndex + 1);
         var suffixIndex = fileName.lastIndexOf('.');
         var suffix = suffixIndex == -1 ? null : fileName.substring(suffixIndex);
         var prefix = suffixIndex == -1 ? fileName : fileName.substring(0, suffixIndex);
+        if (entry.getSize() < 0 || entry.getSize() > MAX_IN_MEMORY_ENTRY_SIZE) {
+            return writeEntry(prefix, suffix, null, 0, in);
+        }
+
+        var buffer = BUFFERS.acquire();
+        try {
+            var length = in.readNBytes(buffer, 0, buffer.length);
+            if (length < buffer.length) {
+                var file = TempFile.inMemory(prefix, suffix, buffer, length, BUFFERS::release);
+                buffer = null;
+                return file;
+            }
+
+            // the entry is larger than its header says
+            return writeEntry(prefix, suffix, buffer, length, in);
+        } finally {
+            if (buffer != null) {
+                BUFFERS.release(buffer);
+            }
+        }
+    }
+
+    private static TempFile writeEntry(String prefix, String suffix, byte[] head, int headLength, InputStream in) throws IOException {
         var file = new TempFile(prefix, suffix);
-        try (var out = Files.newOutputStream(file.getPath())){
-            if (entry.getSize() > MAX_ENTRY_SIZE)
-                throw new ErrorResultException("The file " + entry.getName() + " exceeds the size limit of 32 MB.");
-            archive.getInputStream(entry).transferTo(out);
+        try (var out = Files.newOutputStream(file.getPath())) {
+            if (head != null) {
+                out.write(head, 0, headLength);
+            }
+            in.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
         }
         return file;
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the entry names of a ZIP archive that is held in memory from its central directory, in central directory order.
+     * @throws ZipException when the end of central directory record isn't found, the central directory is invalid
+     * or the archive is a ZIP64 archive.
+     */
+    public static List<String> getEntryNames(byte[] content, int length) throws ZipException {
+        var buffer = ByteBuffer.wrap(content, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        var end = -1;
+        for (var i = length - END_HEADER_SIZE; i >= Math.max(0, length - END_HEADER_SIZE - 0xFFFF); i--) {
+            if (buffer.getInt(i) == END_HEADER_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end == -1)
+            throw new ZipException("End of central directory record not found");
+
+        var count = Short.toUnsignedInt(buffer.getShort(end + 10));
+        var offset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        if (count == 0xFFFF || offset == 0xFFFFFFFFL)
+            throw new ZipException("ZIP64 archives are not supported");
+
+        var names = new ArrayList<String>(count);
+        var position = offset;
+        for (var i = 0; i < count; i++) {
+            if (position + CENTRAL_HEADER_SIZE > end || buffer.getInt((int) position) != CENTRAL_HEADER_SIGNATURE)
+                throw new ZipException("Invalid central directory header");
+
+            var header = (int) position;
+            var nameLength = Short.toUnsignedInt(buffer.getShort(header + 28));
+            var extraLength = Short.toUnsignedInt(buffer.getShort(header + 30));
+            var commentLength = Short.toUnsignedInt(buffer.getShort(header + 32));
+            if (header + CENTRAL_HEADER_SIZE + nameLength > end)
+                throw new ZipException("Invalid central directory header");
+
+            names.add(new String(content, header + CENTRAL_HEADER_SIZE, nameLength, StandardCharsets.UTF_8));
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+
+        return names;
+    }
+}
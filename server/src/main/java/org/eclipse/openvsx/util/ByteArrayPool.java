@@ -0,0 +1,54 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of byte arrays of the same size. Arrays that don't fit in the pool when they're released are left to the garbage collector.
+ */
+public class ByteArrayPool {
+
+    private final int arraySize;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<byte[]> arrays = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public ByteArrayPool(int arraySize, int maxPooled) {
+        this.arraySize = arraySize;
+        this.maxPooled = maxPooled;
+    }
+
+    public int getArraySize() {
+        return arraySize;
+    }
+
+    public byte[] acquire() {
+        var array = arrays.poll();
+        if (array == null) {
+            return new byte[arraySize];
+        }
+
+        pooled.decrementAndGet();
+        return array;
+    }
+
+    public void release(byte[] array) {
+        if (array.length != arraySize) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            arrays.offer(array);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
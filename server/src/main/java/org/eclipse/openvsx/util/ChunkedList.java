@@ -0,0 +1,67 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only list that creates its elements chunk by chunk when they're accessed, keeping only the current chunk in memory.
+ * The loader gets a chunk of the keys and must return exactly one element per key, in the same order.
+ * Iterating the list, e.g. when it's serialized, loads every chunk once.
+ * Elements are created again when their chunk is accessed again, so they should be immutable.
+ */
+public class ChunkedList<K, E> extends AbstractList<E> {
+
+    private final List<K> keys;
+    private final int chunkSize;
+    private final Function<List<K>, List<E>> loader;
+
+    private int chunkIndex = -1;
+    private List<E> chunk;
+
+    public ChunkedList(List<K> keys, int chunkSize, Function<List<K>, List<E>> loader) {
+        if(chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+
+        this.keys = keys;
+        this.chunkSize = chunkSize;
+        this.loader = loader;
+    }
+
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= keys.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        var requestedChunk = index / chunkSize;
+        if(requestedChunk != chunkIndex) {
+            var start = requestedChunk * chunkSize;
+            var chunkKeys = keys.subList(start, Math.min(start + chunkSize, keys.size()));
+            var elements = loader.apply(chunkKeys);
+            if(elements.size() != chunkKeys.size()) {
+                throw new IllegalStateException("Expected " + chunkKeys.size() + " elements, got " + elements.size());
+            }
+
+            chunk = elements;
+            chunkIndex = requestedChunk;
+        }
+
+        return chunk.get(index % chunkSize);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+}
@@ -10,6 +10,7 @@
 package org.eclipse.openvsx.util;
 
 import org.eclipse.openvsx.json.ResultJson;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
@@ -52,10 +53,17 @@ public class ErrorResultException extends RuntimeException {
         return status;
     }
 
+    /**
+     * Additional headers of the error response, {@code null} when there are none.
+     */
+    protected HttpHeaders getHeaders() {
+        return null;
+    }
+
     public ResponseEntity<ResultJson> toResponseEntity() {
         var json = ResultJson.error(getMessage());
         var responseStatus = status != null ? status : HttpStatus.BAD_REQUEST;
-        return new ResponseEntity<>(json, responseStatus);
+        return new ResponseEntity<>(json, getHeaders(), responseStatus);
     }
 
     public <T extends ResultJson> ResponseEntity<T> toResponseEntity(Class<T> resultType) {
@@ -63,7 +71,7 @@ public class ErrorResultException extends RuntimeException {
             var json = resultType.getDeclaredConstructor().newInstance();
             json.setError(getMessage());
             var responseStatus = status != null ? status : HttpStatus.BAD_REQUEST;
-            return new ResponseEntity<>(json, responseStatus);
+            return new ResponseEntity<>(json, getHeaders(), responseStatus);
         } catch (ReflectiveOperationException exc) {
             throw new ServerErrorException("Failed to create ResultJson instance", exc);
         }
@@ -20,8 +20,12 @@ public class NotFoundException extends RuntimeException {
     @Serial
     private static final long serialVersionUID = -733820065815760051L;
 
+    /**
+     * Registries are queried one after another until one of them has the requested resource,
+     * so a miss is expected control flow and doesn't fill in a stack trace.
+     */
     public NotFoundException() {
-        super();
+        super(null, null, false, false);
     }
 
     public NotFoundException(Throwable cause) {
@@ -0,0 +1,55 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.eclipse.openvsx.cache.CacheService;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+public class RegistryUtil {
+
+    private RegistryUtil() {}
+
+    /**
+     * Returns the result of the first registry that has the requested extension resource.
+     * When an upstream registry is configured ({@code recordMisses}), the local registry is skipped if it recently
+     * couldn't answer the same lookup, see {@link org.eclipse.openvsx.cache.LocalMissCache#lookup}.
+     * Without upstream, every lookup goes to the local registry, so that its answer is never stale.
+     */
+    public static <R, T> Optional<T> findFirst(
+            Iterable<R> registries,
+            R local,
+            boolean recordMisses,
+            CacheService cache,
+            String namespace,
+            String extension,
+            String lookup,
+            Function<R, T> call
+    ) {
+        for (var registry : registries) {
+            var isLocal = registry == local;
+            if (isLocal && recordMisses && cache.isLocalMiss(namespace, extension, lookup)) {
+                continue;
+            }
+
+            try {
+                return Optional.ofNullable(call.apply(registry));
+            } catch (NotFoundException exc) {
+                if (isLocal && recordMisses) {
+                    cache.putLocalMiss(namespace, extension, lookup);
+                }
+                // Try the next registry
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -12,24 +12,102 @@ package org.eclipse.openvsx.util;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
+/**
+ * Temporary file that is deleted when closed. Small files can be kept {@link #inMemory in memory},
+ * these are written to disk when their {@link #getPath path} is needed. The content of an in-memory file
+ * is released only after every stream returned by {@link #newInputStream()} has been closed.
+ */
 public class TempFile implements AutoCloseable {
 
-    private final Path path;
+    private final String prefix;
+    private final String suffix;
+    private Path path;
+    private byte[] content;
+    private int length;
+    private Consumer<byte[]> releaseContent;
+    private boolean contentUnused;
+    private int openStreams;
     private FileResource resource;
     private Namespace namespace;
 
     public TempFile(String prefix, String suffix) throws IOException {
+        this.prefix = prefix;
+        this.suffix = suffix;
         path = Files.createTempFile(prefix, suffix);
     }
 
-    public Path getPath() {
+    private TempFile(String prefix, String suffix, byte[] content, int length, Consumer<byte[]> releaseContent) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.content = content;
+        this.length = length;
+        this.releaseContent = releaseContent;
+    }
+
+    /**
+     * Creates a temp file that holds the first {@code length} bytes of {@code content}.
+     * The content array is passed to {@code releaseContent} when it's no longer used, e.g. to return it to a pool.
+     */
+    public static TempFile inMemory(String prefix, String suffix, byte[] content, int length, Consumer<byte[]> releaseContent) {
+        return new TempFile(prefix, suffix, content, length, releaseContent);
+    }
+
+    public boolean isInMemory() {
+        return path == null;
+    }
+
+    /**
+     * Returns the path of the file, writing it to disk first if it's kept in memory.
+     */
+    public synchronized Path getPath() {
+        if (path == null) {
+            try {
+                var file = Files.createTempFile(prefix, suffix);
+                try (var out = Files.newOutputStream(file)) {
+                    out.write(content, 0, length);
+                }
+                path = file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write temp file", e);
+            }
+
+            releaseContent();
+        }
+
         return path;
     }
 
+    public synchronized InputStream newInputStream() throws IOException {
+        if (path != null) {
+            return Files.newInputStream(path);
+        }
+
+        openStreams++;
+        return new ByteArrayInputStream(content, 0, length) {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    streamClosed();
+                }
+            }
+        };
+    }
+
+    public synchronized long size() throws IOException {
+        return path == null ? length : Files.size(path);
+    }
+
     public FileResource getResource() {
         return resource;
     }
@@ -46,8 +124,28 @@ public class TempFile implements AutoCloseable {
         this.namespace = namespace;
     }
 
+    private synchronized void streamClosed() {
+        openStreams--;
+        if (contentUnused) {
+            releaseContent();
+        }
+    }
+
+    private void releaseContent() {
+        contentUnused = true;
+        if (content != null && openStreams == 0) {
+            var released = content;
+            content = null;
+            length = 0;
+            releaseContent.accept(released);
+        }
+    }
+
     @Override
-    public void close() throws IOException {
-        Files.delete(path);
+    public synchronized void close() throws IOException {
+        releaseContent();
+        if (path != null) {
+            Files.delete(path);
+        }
     }
 }
@@ -0,0 +1,175 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.openvsx.cache.ExtensionETagService;
+import org.eclipse.openvsx.util.UrlUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sets the ETag of extension and namespace details endpoints from metadata, see {@link ExtensionETagService},
+ * and answers conditional requests with 304 before the controller runs. The ETag is only added to responses
+ * of the local registry (see {@link #markLocalResponse()}), so that upstream responses never get a validator
+ * that doesn't describe them. The headers of a 304 are replayed from the last local response to the same URL,
+ * as long as this instance hasn't seen one, the controller answers the conditional request itself.
+ */
+public class ExtensionETagFilter extends OncePerRequestFilter {
+
+    private static final String LOCAL_ATTRIBUTE = ExtensionETagFilter.class.getName() + ".LOCAL";
+    private static final String ETAG_ATTRIBUTE = ExtensionETagFilter.class.getName() + ".ETAG";
+    private static final Set<String> NAMESPACE_ENDPOINTS = Set.of("-", "verify-pat", "logo");
+    private static final Set<String> EXTENSION_ENDPOINTS = Set.of("review", "reviews");
+
+    private final ExtensionETagService etags;
+    private final Cache<String, Map<String, List<String>>> headers = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+
+    public ExtensionETagFilter(ExtensionETagService etags) {
+        this.etags = etags;
+    }
+
+    /**
+     * Marks the current request as answered by the local registry and adds the ETag to the response.
+     */
+    public static void markLocalResponse() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes == null) {
+            return;
+        }
+
+        attributes.setAttribute(LOCAL_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        var etag = attributes.getAttribute(ETAG_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if(etag != null && attributes instanceof ServletRequestAttributes servletAttributes && servletAttributes.getResponse() != null) {
+            servletAttributes.getResponse().setHeader(HttpHeaders.ETAG, etag.toString());
+        }
+    }
+
+    /**
+     * @return whether the request was answered by the local registry, see {@link #markLocalResponse()}.
+     */
+    public static boolean isLocalResponse(HttpServletRequest request) {
+        return request.getAttribute(LOCAL_ATTRIBUTE) != null;
+    }
+
+    /**
+     * @return the ETag that was computed for the request, or {@code null} when it isn't available.
+     */
+    public static String getETag(HttpServletRequest request) {
+        var etag = request.getAttribute(ETAG_ATTRIBUTE);
+        return etag != null ? etag.toString() : null;
+    }
+
+    /**
+     * @return whether the ETag of the request is set by this filter.
+     */
+    public static boolean isDeepETagRequest(HttpServletRequest request) {
+        if(!HttpMethod.GET.matches(request.getMethod())) {
+            return false;
+        }
+
+        // limit the filter to /api/{namespace}/details, /api/{namespace}/{extension}
+        // and /api/{namespace}/{extension}/{version|targetPlatform|versions}
+        var path = request.getRequestURI().substring(1).split("/");
+        var applyFilter = (path.length == 3 || path.length == 4)
+                && path[0].equals("api")
+                && !path[1].equals("-")
+                && !NAMESPACE_ENDPOINTS.contains(path[2]);
+        if(applyFilter && path.length == 4) {
+            applyFilter = !path[2].equals("details") && !EXTENSION_ENDPOINTS.contains(path[3]);
+        }
+
+        return applyFilter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isDeepETagRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var path = request.getRequestURI().substring(1).split("/");
+        var url = UrlUtil.getBaseUrl() + request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        var etag = path.length == 3 && path[2].equals("details")
+                ? etags.getNamespaceDetailsETag(path[1], url)
+                : etags.getExtensionETag(path[1], path[2], url);
+        if(etag == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var headersKey = url + "|" + request.getHeader(HttpHeaders.ORIGIN);
+        var matched = getMatchingETag(request, etag);
+        var remembered = headers.getIfPresent(headersKey);
+        if(matched != null && remembered != null) {
+            ResponseHeaders.replay(remembered, response);
+            new ServletWebRequest(request, response).checkNotModified(matched);
+            return;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        var before = ResponseHeaders.snapshot(response);
+        filterChain.doFilter(request, response);
+        if(isUnchangedOrSuccessful(response.getStatus()) && isLocalResponse(request)) {
+            headers.put(headersKey, ResponseHeaders.added(response, before));
+        }
+    }
+
+    private boolean isUnchangedOrSuccessful(int status) {
+        return HttpStatusCode.valueOf(status).is2xxSuccessful() || status == HttpStatus.NOT_MODIFIED.value();
+    }
+
+    /**
+     * @return the ETag of the representation that the client has, the gzipped one
+     * (see {@link PrerenderedResponseFilter}) only if the client still accepts gzip.
+     */
+    private String getMatchingETag(HttpServletRequest request, String etag) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        var gzipETag = acceptEncoding != null && acceptEncoding.contains("gzip") ? ExtensionETagService.gzipETag(etag) : null;
+        var ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while(ifNoneMatch.hasMoreElements()) {
+            for(var candidate : ifNoneMatch.nextElement().split(",")) {
+                candidate = stripWeak(candidate.trim());
+                if(candidate.equals(etag)) {
+                    return etag;
+                }
+                if(candidate.equals(gzipETag)) {
+                    return gzipETag;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,153 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache.PrerenderedResponse;
+import org.eclipse.openvsx.util.UrlUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves /api/{namespace}/{extension} and /api/{namespace}/details from fully serialised byte arrays.
+ * A hit is answered with a single buffer write, or with 304 when the client already has the ETag.
+ * On a miss the response is rendered by the controller, then stored together with a gzipped copy.
+ * Only responses of the local registry are stored, see {@link ExtensionETagFilter#markLocalResponse()},
+ * so that upstream responses are never served from here. The stored ETag is the one of the {@link ExtensionETagFilter},
+ * and a hit is only served while it is current, so an entry that missed an eviction is rendered again.
+ * The gzipped copy has its own ETag.
+ */
+public class PrerenderedResponseFilter extends OncePerRequestFilter {
+
+    private static final int GZIP_MIN_LENGTH = 1024;
+
+    private final PrerenderedResponseCache cache;
+
+    public PrerenderedResponseFilter(PrerenderedResponseCache cache) {
+        this.cache = cache;
+    }
+
+    public static boolean isPrerenderable(HttpServletRequest request) {
+        if(!HttpMethod.GET.matches(request.getMethod()) || request.getQueryString() != null) {
+            return false;
+        }
+
+        // limit the filter to /api/{namespace}/{extension} and /api/{namespace}/details endpoints
+        var path = request.getRequestURI().substring(1).split("/");
+        return path.length == 3 && path[0].equals("api") && !path[1].equals("-") && !path[2].equals("verify-pat");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isPrerenderable(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var path = request.getRequestURI().substring(1).split("/");
+        var baseUrl = UrlUtil.getBaseUrl();
+        var crossOrigin = CorsUtils.isCorsRequest(request);
+        var prerendered = cache.get(path[1], path[2], baseUrl, crossOrigin);
+        var etag = ExtensionETagFilter.getETag(request);
+        if(prerendered != null && (etag == null || etag.equals(prerendered.etag()))) {
+            writeResponse(prerendered, request, response);
+            return;
+        }
+
+        var headers = ResponseHeaders.snapshot(response);
+        var responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if(!isCacheable(request, responseWrapper)) {
+            responseWrapper.copyBodyToResponse();
+            return;
+        }
+
+        prerendered = render(responseWrapper, ResponseHeaders.added(response, headers));
+        cache.put(path[1], path[2], baseUrl, crossOrigin, prerendered);
+        writeResponse(prerendered, request, response);
+    }
+
+    private boolean isCacheable(HttpServletRequest request, ContentCachingResponseWrapper response) {
+        var contentType = response.getContentType();
+        return ExtensionETagFilter.isLocalResponse(request)
+                && response.getStatus() == HttpStatus.OK.value()
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private PrerenderedResponse render(ContentCachingResponseWrapper response, Map<String, List<String>> headers) throws IOException {
+        var body = response.getContentAsByteArray();
+        var gzipBody = body.length >= GZIP_MIN_LENGTH ? gzip(body) : null;
+        var etag = response.getHeader(HttpHeaders.ETAG);
+        if(etag == null) {
+            // same format as the ShallowEtagHeaderFilter, when the ExtensionETagFilter couldn't compute one
+            etag = "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+        return new PrerenderedResponse(body, gzipBody, etag, response.getContentType(), headers);
+    }
+
+    private byte[] gzip(byte[] body) throws IOException {
+        var out = new ByteArrayOutputStream(body.length / 4);
+        try(var gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the stored response. The miss path goes through here as well, so that a hit carries
+     * exactly the headers of the response that was rendered by the controller.
+     */
+    private void writeResponse(PrerenderedResponse prerendered, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ResponseHeaders.replay(prerendered.headers(), response);
+        if(prerendered.gzipBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        var gzip = prerendered.gzipBody() != null && acceptsGzip(request);
+        if(new ServletWebRequest(request, response).checkNotModified(gzip ? prerendered.gzipETag() : prerendered.etag())) {
+            return;
+        }
+
+        var body = prerendered.body();
+        if(gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = prerendered.gzipBody();
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(prerendered.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+}
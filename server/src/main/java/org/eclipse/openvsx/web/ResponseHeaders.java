@@ -0,0 +1,70 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.util.*;
+
+/**
+ * Captures the headers that the controller adds to a response, so that filters answering
+ * from a cache can replay them instead of hard-coding CORS and caching headers.
+ */
+final class ResponseHeaders {
+
+    /** Headers that describe the body or the connection, which are written by the filter itself. */
+    private static final Set<String> EXCLUDED = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    static {
+        EXCLUDED.addAll(List.of(
+                HttpHeaders.CONTENT_LENGTH,
+                HttpHeaders.CONTENT_TYPE,
+                HttpHeaders.CONTENT_ENCODING,
+                HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.ETAG,
+                HttpHeaders.DATE,
+                HttpHeaders.SET_COOKIE
+        ));
+    }
+
+    private ResponseHeaders() {}
+
+    static Map<String, List<String>> snapshot(HttpServletResponse response) {
+        var headers = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        for(var name : response.getHeaderNames()) {
+            headers.put(name, List.copyOf(response.getHeaders(name)));
+        }
+
+        return headers;
+    }
+
+    /**
+     * @return the headers that were added or changed since the snapshot was taken, without body and connection headers.
+     */
+    static Map<String, List<String>> added(HttpServletResponse response, Map<String, List<String>> before) {
+        var headers = new LinkedHashMap<String, List<String>>();
+        snapshot(response).forEach((name, values) -> {
+            if(!EXCLUDED.contains(name) && !values.equals(before.get(name))) {
+                headers.put(name, values);
+            }
+        });
+
+        return Collections.unmodifiableMap(headers);
+    }
+
+    static void replay(Map<String, List<String>> headers, HttpServletResponse response) {
+        headers.forEach((name, values) -> {
+            response.setHeader(name, values.isEmpty() ? null : values.getFirst());
+            for(var i = 1; i < values.size(); i++) {
+                response.addHeader(name, values.get(i));
+            }
+        });
+    }
+}
@@ -16,6 +16,15 @@ public class ShallowEtagHeaderFilter extends org.springframework.web.filter.Shal
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        if(PrerenderedResponseFilter.isPrerenderable(request)) {
+            // ETag is set by the PrerenderedResponseFilter
+            return true;
+        }
+        if(ExtensionETagFilter.isDeepETagRequest(request)) {
+            // ETag is set by the ExtensionETagFilter, without buffering and hashing the body
+            return true;
+        }
+
         // limit the filter to /api/{namespace}/{extension}, /api/{namespace}/details,
         // /api/{namespace}/{extension}/{version}, and /api/-/search endpoints
         var path = request.getRequestURI().substring(1).split("/");
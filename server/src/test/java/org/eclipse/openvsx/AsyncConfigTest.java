@@ -0,0 +1,64 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    @Test
+    void testRunOnCallerWhenQueueIsFull() throws InterruptedException {
+        var registry = new SimpleMeterRegistry();
+        var executor = new AsyncConfig(registry).searchUpdateExecutor(1, 1, false);
+        try {
+            var blocker = new CountDownLatch(1);
+            var started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> {});
+
+            var thread = new AtomicReference<Thread>();
+            executor.execute(() -> thread.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), thread.get());
+            assertEquals(1.0, registry.get("ovsx.executor.rejected").tag("name", "search-update").counter().count());
+            assertEquals(1.0, registry.get("ovsx.executor.queued").tag("name", "search-update").gauge().value());
+            assertEquals(1.0, registry.get("ovsx.executor.active").tag("name", "search-update").gauge().value());
+
+            blocker.countDown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testVirtualThreads() throws Exception {
+        var executor = new AsyncConfig(new SimpleMeterRegistry()).searchUpdateExecutor(2, 10, true);
+        try {
+            var virtual = executor.submit(() -> Thread.currentThread().isVirtual());
+            assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -9,13 +9,19 @@
  ********************************************************************************/
 package org.eclipse.openvsx;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.util.TempFile;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -80,6 +86,89 @@ class ExtensionProcessorTest {
         }
     }
 
+    @Test
+    void testScan() throws Exception {
+        try (
+                var file = writeToTempFile("util/todo-tree.zip");
+                var processor = new ExtensionProcessor(file)
+        ) {
+            var metadata = processor.getMetadata();
+            var expectedResources = new ArrayList<String>();
+            processor.getFileResources(metadata, tempFile -> expectedResources.add(tempFile.getResource().getType() + ":" + tempFile.getResource().getName()));
+
+            var packageOut = new ByteArrayOutputStream();
+            try (
+                    var scan = processor.scan(metadata, packageOut);
+                    var zipFile = new ZipFile(file.getPath().toFile())
+            ) {
+                assertThat(scan.isPotentiallyMalicious()).isFalse();
+                assertThat(packageOut.toByteArray()).isEqualTo(Files.readAllBytes(file.getPath()));
+                assertThat(scan.getSize()).isEqualTo(Files.size(file.getPath()));
+                assertThat(scan.getSha256()).isEqualTo(DigestUtils.sha256(packageOut.toByteArray()));
+
+                var entryNames = zipFile.stream().filter(entry -> !entry.isDirectory()).map(ZipEntry::getName).toList();
+                assertThat(scan.getEntries()).extracting(ExtensionPackageScan.Entry::name).isEqualTo(entryNames);
+                for (var entry : scan.getEntries()) {
+                    try (var in = zipFile.getInputStream(zipFile.getEntry(entry.name()))) {
+                        assertThat(entry.sha256()).isEqualTo(DigestUtils.sha256(in));
+                    }
+                }
+
+                assertThat(scan.getFileResources())
+                        .extracting(tempFile -> tempFile.getResource().getType() + ":" + tempFile.getResource().getName())
+                        .isEqualTo(expectedResources);
+                for (var fileResource : scan.getFileResources()) {
+                    assertThat(fileResource.getPath()).exists();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testScanWithReceivedDigest() throws Exception {
+        try (
+                var file = writeToTempFile("util/todo-tree.zip");
+                var processor = new ExtensionProcessor(file)
+        ) {
+            var metadata = processor.getMetadata();
+            var bytes = Files.readAllBytes(file.getPath());
+            var digest = new ExtensionPackageScan.Digest(bytes.length, DigestUtils.sha256(bytes));
+            try (
+                    var expected = processor.scan(metadata, OutputStream.nullOutputStream());
+                    var scan = processor.scan(metadata, digest, null)
+            ) {
+                assertThat(scan.getSize()).isEqualTo(expected.getSize());
+                assertThat(scan.getSha256()).isEqualTo(expected.getSha256());
+                assertThat(scan.getEntries()).extracting(ExtensionPackageScan.Entry::name)
+                        .isEqualTo(expected.getEntries().stream().map(ExtensionPackageScan.Entry::name).toList());
+                assertThat(scan.getFileResources()).hasSameSizeAs(expected.getFileResources());
+            }
+        }
+    }
+
+    @Test
+    void testDigestInMemory() throws Exception {
+        try (
+                var file = writeToTempFile("util/todo-tree.zip");
+                var processor = new ExtensionProcessor(file);
+                var expected = processor.digest(OutputStream.nullOutputStream())
+        ) {
+            var bytes = Files.readAllBytes(file.getPath());
+            try (var scan = ExtensionProcessor.digest(bytes, bytes.length)) {
+                assertThat(scan.getSize()).isEqualTo(expected.getSize());
+                assertThat(scan.getSha256()).isEqualTo(expected.getSha256());
+                assertThat(scan.getEntries()).hasSameSizeAs(expected.getEntries());
+                for (var i = 0; i < scan.getEntries().size(); i++) {
+                    var entry = scan.getEntries().get(i);
+                    var expectedEntry = expected.getEntries().get(i);
+                    assertThat(entry.name()).isEqualTo(expectedEntry.name());
+                    assertThat(entry.size()).isEqualTo(expectedEntry.size());
+                    assertThat(entry.sha256()).isEqualTo(expectedEntry.sha256());
+                }
+            }
+        }
+    }
+
     private TempFile writeToTempFile(String resource) throws IOException {
         var file = new TempFile("test", ".zip");
         try(
@@ -25,6 +25,7 @@ import org.eclipse.openvsx.extension_control.ExtensionControlService;
 import org.eclipse.openvsx.json.*;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.publish.PublishExtensionVersionService;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.*;
@@ -33,10 +34,12 @@ import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
+import org.eclipse.openvsx.util.ExtensionId;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionAlias;
 import org.eclipse.openvsx.util.VersionService;
 import org.jobrunr.scheduling.JobRequestScheduler;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -64,6 +67,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.BiFunction;
@@ -87,7 +91,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     ClientRegistrationRepository.class, UpstreamRegistryService.class, GoogleCloudStorageService.class,
     AzureBlobStorageService.class, AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class,
     CacheService.class, EclipseService.class, PublishExtensionVersionService.class, SimpleMeterRegistry.class,
-    JobRequestScheduler.class, ExtensionControlService.class, FileCacheDurationConfig.class, CdnServiceConfig.class
+    JobRequestScheduler.class, FileCacheDurationConfig.class, CdnServiceConfig.class
 })
 class RegistryAPITest {
 
@@ -106,12 +110,20 @@ class RegistryAPITest {
     @MockitoBean
     EntityManager entityManager;
 
+    @MockitoBean
+    ExtensionControlService extensionControl;
+
     @Autowired
     MockMvc mockMvc;
 
     @Autowired
     ExtensionService extensions;
 
+    @BeforeEach
+    void setup() {
+        Mockito.when(extensionControl.isLoaded()).thenReturn(true);
+    }
+
     @Test
     void testPublicNamespace() throws Exception {
         var namespace = mockNamespace();
@@ -1737,6 +1749,23 @@ class RegistryAPITest {
                 .andExpect(content().json(errorJson("Invalid extension name: b.a.r")));
     }
 
+    @Test
+    void testPublishUnresolvedDependencies() throws Exception {
+        mockForPublish("contributor");
+        Mockito.when(repositories.findUnresolvedDependencies(List.of(
+                new ExtensionId("foo", "baz"),
+                new ExtensionId("foo", "qux"),
+                new ExtensionId("other", "bar")
+        ))).thenReturn(List.of("foo.baz", "other.bar"));
+
+        var bytes = createExtensionPackage("bar", "1.0.0", null, false, null, "foo.baz,foo.qux,other.bar");
+        mockMvc.perform(post("/api/-/publish?token={token}", "my_token")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(bytes))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(errorJson("Cannot resolve dependencies: foo.baz, other.bar")));
+    }
+
     @Test
     void testPublishInvalidVersion() throws Exception {
         mockForPublish("contributor");
@@ -1748,6 +1777,18 @@ class RegistryAPITest {
                 .andExpect(content().json(errorJson("The version string 'latest' is reserved.")));
     }
 
+    @Test
+    void testPublishWithoutExtensionControlData() throws Exception {
+        mockForPublish("contributor");
+        Mockito.when(extensionControl.isLoaded()).thenReturn(false);
+        var bytes = createExtensionPackage("bar", "1.0.0", null);
+        mockMvc.perform(post("/api/-/publish?token={token}", "my_token")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(bytes))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().json(errorJson("Extension control data is not available, try again later")));
+    }
+
     @Test
     void testPostReview() throws Exception {
         var user = mockUserData();
@@ -2446,6 +2487,10 @@ class RegistryAPITest {
     }
 
     private byte[] createExtensionPackage(String name, String version, String license, boolean preRelease, String targetPlatform) throws IOException {
+        return createExtensionPackage(name, version, license, preRelease, targetPlatform, "");
+    }
+
+    private byte[] createExtensionPackage(String name, String version, String license, boolean preRelease, String targetPlatform, String extensionDependencies) throws IOException {
         var bytes = new ByteArrayOutputStream();
         var archive = new ZipOutputStream(bytes);
         archive.putNextEntry(new ZipEntry("extension.vsixmanifest"));
@@ -2461,7 +2506,7 @@ class RegistryAPITest {
             "<Badges></Badges>" +
             "<Properties>" +
             "<Property Id=\"Microsoft.VisualStudio.Code.Engine\" Value=\"^1.57.0\" />" +
-            "<Property Id=\"Microsoft.VisualStudio.Code.ExtensionDependencies\" Value=\"\" />" +
+            "<Property Id=\"Microsoft.VisualStudio.Code.ExtensionDependencies\" Value=\"" + extensionDependencies + "\" />" +
             "<Property Id=\"Microsoft.VisualStudio.Code.ExtensionPack\" Value=\"\" />" +
             "<Property Id=\"Microsoft.VisualStudio.Code.ExtensionKind\" Value=\"ui,web,workspace\" />" +
             "<Property Id=\"Microsoft.VisualStudio.Code.LocalizedLanguages\" Value=\"\" />" +
@@ -2570,9 +2615,10 @@ class RegistryAPITest {
                 SearchUtilService search,
                 CacheService cache,
                 PublishExtensionVersionHandler publishHandler,
+                PublishQueue publishQueue,
                 JobRequestScheduler scheduler
         ) {
-            return new ExtensionService(entityManager, repositories, search, cache, publishHandler, scheduler);
+            return new ExtensionService(entityManager, repositories, search, cache, publishHandler, publishQueue, scheduler);
         }
 
         @Bean
@@ -2636,7 +2682,8 @@ class RegistryAPITest {
                 JobRequestScheduler scheduler,
                 UserService users,
                 ExtensionValidator validator,
-                ExtensionControlService extensionControl
+                ExtensionControlService extensionControl,
+                PublishQueue publishQueue
         ) {
             return new PublishExtensionVersionHandler(
                     service,
@@ -2646,8 +2693,14 @@ class RegistryAPITest {
                     scheduler,
                     users,
                     validator,
-                    extensionControl
+                    extensionControl,
+                    publishQueue
             );
         }
+
+        @Bean
+        PublishQueue publishQueue() {
+            return new PublishQueue(1, 32, 8, Duration.ofSeconds(30), new SimpleMeterRegistry());
+        }
     }
 }
@@ -0,0 +1,51 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamProxyServiceTest {
+
+    private static final String ORIGIN = "https://mirror.example.com:8443";
+
+    private final UpstreamProxyService proxy = new UpstreamProxyService();
+
+    @Test
+    void testRewriteUrl() {
+        assertEquals(ORIGIN + "/api/foo/bar", proxy.rewriteUrl("https://open-vsx.org/api/foo/bar", ORIGIN));
+        assertEquals(ORIGIN + "/api/foo/bar?size=1#top", proxy.rewriteUrl("http://user@open-vsx.org:80/api/foo/bar?size=1#top", ORIGIN));
+        assertEquals(ORIGIN + "?query", proxy.rewriteUrl("https://open-vsx.org?query", ORIGIN));
+        assertEquals(ORIGIN, proxy.rewriteUrl("https://open-vsx.org", ORIGIN));
+        assertEquals(ORIGIN + "/api/foo", proxy.rewriteUrl("/api/foo", ORIGIN));
+        assertEquals("/api/foo/bar", proxy.rewriteUrl("https://open-vsx.org/api/foo/bar", ""));
+        assertNull(proxy.rewriteUrl(null, ORIGIN));
+    }
+
+    @Test
+    void testRewriteExtensionQueryResult() {
+        var upstream = "https://open-vsx.org/vscode/asset/foo/bar/1.0.0";
+        var file = new ExtensionQueryResult.ExtensionFile(ExtensionQueryResult.ExtensionFile.FILE_ICON, upstream + "/icon.png");
+        var version = new ExtensionQueryResult.ExtensionVersion("1.0.0", null, upstream, upstream, List.of(file), List.of(), "universal");
+        var extension = new ExtensionQueryResult.Extension("foo.bar", "bar", null, null, null, List.of(version), List.of(), List.of(), null, null, null, List.of(), null);
+        var result = new ExtensionQueryResult(List.of(new ExtensionQueryResult.ResultItem(List.of(extension), List.of())));
+
+        var rewritten = proxy.rewriteUrls(result, ORIGIN).results().getFirst().extensions().getFirst();
+        var rewrittenVersion = rewritten.versions().getFirst();
+        assertEquals(ORIGIN + "/vscode/asset/foo/bar/1.0.0", rewrittenVersion.assetUri());
+        assertEquals(ORIGIN + "/vscode/asset/foo/bar/1.0.0", rewrittenVersion.fallbackAssetUri());
+        assertEquals(ORIGIN + "/vscode/asset/foo/bar/1.0.0/icon.png", rewrittenVersion.files().getFirst().source());
+        assertSame(extension.statistics(), rewritten.statistics());
+    }
+}
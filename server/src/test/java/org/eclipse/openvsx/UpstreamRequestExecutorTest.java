@@ -0,0 +1,256 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx;
+
+import io.micrometer.context.ContextRegistry;
+import org.eclipse.openvsx.UpstreamRequestExecutor.Lane;
+import org.eclipse.openvsx.util.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRequestExecutorTest {
+
+    private UpstreamRequestExecutor requests;
+
+    @AfterEach
+    void teardown() {
+        if(requests != null) {
+            requests.shutdown();
+        }
+    }
+
+    @Test
+    void testCallAllKeepsInputOrder() {
+        requests = new UpstreamRequestExecutor(4, 4, null);
+        var results = requests.callAll(Lane.FOREGROUND, List.of(30, 10, 20, 0), delay -> {
+            sleep(delay);
+            return "r" + delay;
+        });
+
+        assertEquals(List.of("r30", "r10", "r20", "r0"), results);
+    }
+
+    @Test
+    void testCallAllLimitsConcurrentRequests() {
+        requests = new UpstreamRequestExecutor(2, 2, null);
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+        requests.callAll(Lane.FOREGROUND, List.of(1, 2, 3, 4, 5, 6), i -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            sleep(20);
+            active.decrementAndGet();
+            return i;
+        });
+
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    void testCallRethrowsRequestException() {
+        requests = new UpstreamRequestExecutor(2, 2, null);
+        assertThrows(NotFoundException.class, () -> requests.call(() -> {
+            throw new NotFoundException();
+        }));
+    }
+
+    @Test
+    void testNestedRequestsDontWaitForPermits() {
+        requests = new UpstreamRequestExecutor(1, 1, null);
+        var results = requests.callAll(Lane.FOREGROUND, List.of(1, 2), i -> requests.call(() -> i * 10));
+        assertEquals(List.of(10, 20), results);
+    }
+
+    @Test
+    void testHedgedRequestWins() throws InterruptedException {
+        requests = new UpstreamRequestExecutor(2, 2, Duration.ofMillis(50));
+        var attempts = new AtomicInteger();
+        var primaryReleased = new CountDownLatch(1);
+        try {
+            var result = requests.call(() -> {
+                if (attempts.incrementAndGet() == 1) {
+                    await(primaryReleased);
+                    return "primary";
+                }
+
+                return "hedge";
+            });
+
+            assertEquals("hedge", result);
+            assertEquals(2, attempts.get());
+        } finally {
+            primaryReleased.countDown();
+        }
+    }
+
+    @Test
+    void testFailedPrimaryDoesntCancelHedge() {
+        requests = new UpstreamRequestExecutor(2, 2, Duration.ofMillis(50));
+        var attempts = new AtomicInteger();
+        var hedgeStarted = new CountDownLatch(1);
+        var primaryFailed = new CountDownLatch(1);
+        var result = requests.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(hedgeStarted);
+                primaryFailed.countDown();
+                throw new NotFoundException();
+            }
+
+            hedgeStarted.countDown();
+            await(primaryFailed);
+            sleep(20);
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+    }
+
+    @Test
+    void testFailsWhenAllAttemptsFailed() {
+        requests = new UpstreamRequestExecutor(2, 2, Duration.ofMillis(50));
+        var attempts = new AtomicInteger();
+        var hedgeStarted = new CountDownLatch(1);
+        assertThrows(NotFoundException.class, () -> requests.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                await(hedgeStarted);
+                throw new NotFoundException();
+            }
+
+            hedgeStarted.countDown();
+            throw new IllegalStateException("hedge failed");
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testFastRequestIsNotHedged() throws InterruptedException {
+        requests = new UpstreamRequestExecutor(2, 2, Duration.ofMillis(50));
+        var attempts = new AtomicInteger();
+        var result = requests.call(() -> {
+            attempts.incrementAndGet();
+            return "primary";
+        });
+
+        assertEquals("primary", result);
+
+        Thread.sleep(100);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testLosingRequestIsInterrupted() throws InterruptedException {
+        requests = new UpstreamRequestExecutor(2, 2, Duration.ofMillis(50));
+        var attempts = new AtomicInteger();
+        var primaryInterrupted = new CountDownLatch(1);
+        var result = requests.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                }
+                return "primary";
+            }
+
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(primaryInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMirrorRequestsDontBlockForegroundRequests() throws InterruptedException {
+        requests = new UpstreamRequestExecutor(1, 1, null);
+        var mirrorReleased = new CountDownLatch(1);
+        var mirror = requests.submit(Lane.MIRROR, () -> {
+            await(mirrorReleased);
+            return "mirror";
+        });
+        try {
+            assertEquals("foreground", requests.call(() -> "foreground"));
+            var waiting = requests.submit(Lane.MIRROR, () -> "second mirror");
+            Thread.sleep(50);
+            assertFalse(waiting.isDone());
+        } finally {
+            mirrorReleased.countDown();
+        }
+
+        assertEquals("mirror", mirror.join());
+    }
+
+    @Test
+    void testCallAllCancelsRemainingRequests() throws InterruptedException {
+        requests = new UpstreamRequestExecutor(2, 2, null);
+        var slowInterrupted = new CountDownLatch(1);
+        assertThrows(NotFoundException.class, () -> requests.callAll(Lane.MIRROR, List.of(1, 2), i -> {
+            if (i == 1) {
+                sleep(20);
+                throw new NotFoundException();
+            }
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                slowInterrupted.countDown();
+            }
+            return i;
+        }));
+
+        assertTrue(slowInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testContextIsPropagated() {
+        var threadLocal = new ThreadLocal<String>();
+        ContextRegistry.getInstance().registerThreadLocalAccessor("upstream-test", threadLocal);
+        threadLocal.set("trace");
+        try {
+            requests = new UpstreamRequestExecutor(2, 2, null);
+            var value = new AtomicReference<String>();
+            var inRequestThread = new AtomicBoolean();
+            requests.call(() -> {
+                inRequestThread.set(Thread.currentThread().getName().startsWith("upstream-"));
+                value.set(threadLocal.get());
+                return null;
+            });
+
+            assertTrue(inRequestThread.get());
+            assertEquals("trace", value.get());
+        } finally {
+            threadLocal.remove();
+            ContextRegistry.getInstance().removeThreadLocalAccessor("upstream-test");
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
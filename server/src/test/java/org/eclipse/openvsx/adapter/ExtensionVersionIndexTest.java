@@ -0,0 +1,70 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.adapter;
+
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtensionVersionIndexTest {
+
+    @Test
+    void testLatestVersions() {
+        var extension = extension(1);
+        var v1Linux = version(extension, 1, "1.0.0", "linux-x64");
+        var v2Linux = version(extension, 2, "2.0.0", "linux-x64");
+        var v1Universal = version(extension, 3, "1.0.0", "universal");
+        var v2Web = version(extension, 4, "2.0.0", "web");
+        var other = version(extension(2), 5, "3.0.0", "universal");
+
+        var index = ExtensionVersionIndex.of(List.of(v1Linux, v2Linux, v1Universal, v2Web, other), 2);
+        assertThat(index.getLatest(1)).isSameAs(v2Linux);
+        assertThat(index.getLatest(2)).isSameAs(other);
+        assertThat(index.getLatest(3)).isNull();
+        assertThat(index.getLatestPerTargetPlatform(1)).containsExactly(v2Linux, v2Web, v1Universal);
+        assertThat(index.getVersions(1)).containsExactly(v2Linux, v2Web, v1Universal, v1Linux);
+        assertThat(index.getVersions(3)).isEmpty();
+    }
+
+    @Test
+    void testManyExtensions() {
+        var versions = new ArrayList<ExtensionVersion>();
+        for (var i = 0; i < 1000; i++) {
+            versions.add(version(extension(i * 31L), i, "1.0." + i, "universal"));
+        }
+
+        var index = ExtensionVersionIndex.of(versions, 10);
+        for (var i = 0; i < 1000; i++) {
+            assertThat(index.getLatest(i * 31L)).isSameAs(versions.get(i));
+        }
+    }
+
+    private Extension extension(long id) {
+        var extension = new Extension();
+        extension.setId(id);
+        return extension;
+    }
+
+    private ExtensionVersion version(Extension extension, long id, String version, String targetPlatform) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(id);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform(targetPlatform);
+        extVersion.setTimestamp(LocalDateTime.parse("2000-01-01T10:00"));
+        extVersion.setExtension(extension);
+        return extVersion;
+    }
+}
@@ -13,6 +13,7 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.entities.Extension;
 import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
 import org.eclipse.openvsx.entities.Namespace;
 import org.eclipse.openvsx.entities.SignatureKeyPair;
 import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
@@ -32,16 +33,20 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.eclipse.openvsx.adapter.ExtensionQueryParam.*;
 import static org.mockito.ArgumentMatchers.*;
 
 @ExtendWith(SpringExtension.class)
 @MockitoBean( types = {
     VSCodeAPI.class, SimpleMeterRegistry.class, SearchUtilService.class,
-    VersionService.class, StorageUtilService.class, ExtensionVersionIntegrityService.class,
-    WebResourceService.class, CacheService.class
+    VersionService.class, ExtensionVersionIntegrityService.class,
+    WebResourceService.class
 })
 public class LocalVSCodeServiceTest {
 
@@ -51,6 +56,12 @@ public class LocalVSCodeServiceTest {
     @MockitoBean
     VersionService versions;
 
+    @MockitoBean
+    CacheService cache;
+
+    @MockitoBean
+    StorageUtilService storageUtil;
+
     @Autowired
     LocalVSCodeService vsCodeService;
 
@@ -71,6 +82,142 @@ public class LocalVSCodeServiceTest {
         assertThat(result.results()).hasSize(1);
     }
 
+    @Test
+    void testChunkedQuery() {
+        var extension1 = mockExtension();
+        var extensionVersion1 = mockExtensionVersion(extension1, 1, "0.1.0", "universal");
+        var extension2 = mockExtension();
+        extension2.setId(3);
+        extension2.setPublicId("test-3");
+        extension2.setName("vscode-json");
+        var extensionVersion2 = mockExtensionVersion(extension2, 4, "0.2.0", "universal");
+
+        var criteria = List.of(
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-json")
+        );
+        var filter = new ExtensionQueryParam.Filter(criteria, 0, 0, 0, 0);
+        var param = new ExtensionQueryParam(List.of(filter), FLAG_INCLUDE_VERSIONS);
+
+        Mockito.when(repositories.findActiveExtensions(anyCollection())).thenReturn(List.of(extension1, extension2));
+        Mockito.when(repositories.findActiveExtensionVersions(Set.of(1L), null)).thenReturn(List.of(extensionVersion1));
+        Mockito.when(repositories.findActiveExtensionVersions(Set.of(3L), null)).thenReturn(List.of(extensionVersion2));
+
+        var chunkSize = vsCodeService.queryChunkSize;
+        vsCodeService.queryChunkSize = 1;
+        try {
+            var result = vsCodeService.extensionQuery(param, 10);
+            Mockito.verify(repositories).findActiveExtensionVersions(Set.of(1L), null);
+            Mockito.verify(repositories, Mockito.never()).findActiveExtensionVersions(Set.of(3L), null);
+
+            var extensions = result.results().get(0).extensions();
+            assertThat(extensions).extracting(ExtensionQueryResult.Extension::extensionName).containsExactly("vscode-yaml", "vscode-json");
+            assertThat(extensions.get(1).versions()).extracting(ExtensionQueryResult.ExtensionVersion::version).containsExactly("0.2.0");
+            Mockito.verify(repositories).findActiveExtensionVersions(Set.of(1L), null);
+            Mockito.verify(repositories).findActiveExtensionVersions(Set.of(3L), null);
+        } finally {
+            vsCodeService.queryChunkSize = chunkSize;
+        }
+    }
+
+    @Test
+    void testChunkedQueryFailures() {
+        var extension1 = mockExtension();
+        var extension2 = mockExtension();
+        extension2.setId(3);
+        extension2.setPublicId("test-3");
+        extension2.setName("vscode-json");
+
+        var criteria = List.of(
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-json")
+        );
+        var filter = new ExtensionQueryParam.Filter(criteria, 0, 0, 0, 0);
+        var param = new ExtensionQueryParam(List.of(filter), FLAG_INCLUDE_VERSIONS);
+
+        Mockito.when(repositories.findActiveExtensions(anyCollection())).thenReturn(List.of(extension1, extension2));
+        Mockito.when(repositories.findActiveExtensionVersions(Set.of(1L), null)).thenReturn(Collections.emptyList());
+        Mockito.when(repositories.findActiveExtensionVersions(Set.of(3L), null)).thenThrow(new IllegalStateException("database error"));
+
+        var chunkSize = vsCodeService.queryChunkSize;
+        vsCodeService.queryChunkSize = 1;
+        try {
+            // a failing later chunk surfaces while the result is written
+            var extensions = vsCodeService.extensionQuery(param, 10).results().get(0).extensions();
+            assertThat(extensions.get(0).extensionName()).isEqualTo("vscode-yaml");
+            assertThatThrownBy(() -> extensions.get(1))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("database error");
+
+            // a failing first chunk surfaces from extensionQuery, before anything is written
+            Mockito.when(repositories.findActiveExtensionVersions(Set.of(1L), null)).thenThrow(new IllegalStateException("database error"));
+            assertThatThrownBy(() -> vsCodeService.extensionQuery(param, 10))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("database error");
+        } finally {
+            vsCodeService.queryChunkSize = chunkSize;
+        }
+    }
+
+    @Test
+    void testUpdateCheckFromCache() {
+        var criteria = List.of(
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_TARGET, "Microsoft.VisualStudio.Code"),
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "foo.bar")
+        );
+        var filter = new ExtensionQueryParam.Filter(criteria, 0, 0, 0, 0);
+        var param = new ExtensionQueryParam(List.of(filter), FLAG_INCLUDE_LATEST_VERSION_ONLY);
+
+        var queryExtension = new ExtensionQueryResult.Extension("test-1", "vscode-yaml", "YAML", null, null, null, null, null, null, null, null, null, null);
+        Mockito.when(cache.getUpdateCheckExtensions(any(), eq(FLAG_INCLUDE_LATEST_VERSION_ONLY), isNull(), anyCollection()))
+                .thenReturn(Map.of("redhat.vscode-yaml", Optional.of(queryExtension), "foo.bar", Optional.empty()));
+
+        var result = vsCodeService.extensionQuery(param, 10);
+        assertThat(result.results().get(0).extensions()).containsExactly(queryExtension);
+        Mockito.verifyNoInteractions(repositories);
+    }
+
+    @Test
+    void testUpdateCheckCachesMissingExtensions() {
+        var extension = mockExtension();
+        var extensionVersion = mockExtensionVersion(extension, 1, "0.1.0", "universal");
+
+        var criteria = List.of(
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "redhat.vscode-yaml"),
+                new ExtensionQueryParam.Criterion(Criterion.FILTER_EXTENSION_NAME, "foo.bar")
+        );
+        var filter = new ExtensionQueryParam.Filter(criteria, 0, 0, 0, 0);
+        var param = new ExtensionQueryParam(List.of(filter), FLAG_INCLUDE_LATEST_VERSION_ONLY);
+
+        Mockito.when(repositories.findActiveExtensions(anyCollection())).thenReturn(List.of(extension));
+        Mockito.when(repositories.findActiveExtensionVersions(any(), any())).thenReturn(List.of(extensionVersion));
+        Mockito.when(versions.getLatest(anyList(), anyBoolean())).thenReturn(extensionVersion);
+
+        var result = vsCodeService.extensionQuery(param, 10);
+        assertThat(result.results().get(0).extensions()).hasSize(1);
+        Mockito.verify(cache).putUpdateCheckExtension(any(), eq(FLAG_INCLUDE_LATEST_VERSION_ONLY), isNull(), eq("redhat.vscode-yaml"), notNull());
+        Mockito.verify(cache).putUpdateCheckExtension(any(), eq(FLAG_INCLUDE_LATEST_VERSION_ONLY), isNull(), eq("foo.bar"), isNull());
+    }
+
+    @Test
+    void testAssetFromCache() {
+        var extension = mockExtension();
+        var extensionVersion = mockExtensionVersion(extension, 1, "0.1.0", "universal");
+        var resource = new FileResource();
+        resource.setId(3);
+        resource.setName("icon.png");
+        resource.setType(FileResource.ICON);
+        resource.setStorageType(FileResource.STORAGE_AZURE);
+        resource.setExtension(extensionVersion);
+
+        Mockito.when(cache.getFileByType("redhat", "vscode-yaml", "universal", "0.1.0", FileResource.ICON)).thenReturn(resource);
+        vsCodeService.getAsset("redhat", "vscode-yaml", "0.1.0", ExtensionQueryResult.ExtensionFile.FILE_ICON, "universal", null);
+
+        Mockito.verify(storageUtil).getFileResponse(resource);
+        Mockito.verifyNoInteractions(repositories);
+    }
+
     // ---------- UTILITY ----------//
 
     private Extension mockExtension() {
@@ -126,14 +273,13 @@ public class LocalVSCodeServiceTest {
         @Bean
         LocalVSCodeService vsCodeService(
                 RepositoryService repositories,
-                VersionService versions,
                 SearchUtilService search,
                 StorageUtilService storageUtil,
                 ExtensionVersionIntegrityService integrityService,
                 WebResourceService webResources,
                 CacheService cache
         ) {
-            return new LocalVSCodeService(repositories, versions, search, storageUtil, integrityService, webResources, cache);
+            return new LocalVSCodeService(repositories, search, storageUtil, integrityService, webResources, cache);
         }
     }
 
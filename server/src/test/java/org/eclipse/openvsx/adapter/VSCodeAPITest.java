@@ -30,6 +30,8 @@ import org.eclipse.openvsx.security.OAuth2UserServices;
 import org.eclipse.openvsx.security.SecurityConfig;
 import org.eclipse.openvsx.storage.*;
 import org.eclipse.openvsx.storage.log.DownloadCountService;
+import org.eclipse.openvsx.util.ExtensionId;
+import org.eclipse.openvsx.util.NotFoundException;
 import org.eclipse.openvsx.util.TargetPlatform;
 import org.eclipse.openvsx.util.VersionService;
 import org.hamcrest.Matchers;
@@ -59,6 +61,7 @@ import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.zip.ZipFile;
 
 import static org.eclipse.openvsx.entities.FileResource.*;
@@ -72,7 +75,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureWebClient
 @MockitoBean( types = {
     ClientRegistrationRepository.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
-    AwsStorageService.class, DownloadCountService.class, CacheService.class, UpstreamVSCodeService.class,
+    AwsStorageService.class, DownloadCountService.class, UpstreamVSCodeService.class,
     VSCodeIdService.class, EclipseService.class, ExtensionValidator.class, SimpleMeterRegistry.class,
     FileCacheDurationConfig.class, CdnServiceConfig.class
 })
@@ -90,6 +93,12 @@ class VSCodeAPITest {
     @MockitoBean
     ExtensionVersionIntegrityService integrityService;
 
+    @MockitoBean
+    CacheService cache;
+
+    @Autowired
+    UpstreamVSCodeService upstream;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -105,6 +114,46 @@ class VSCodeAPITest {
                 .andExpect(content().json(file("search-yaml-response.json")));
     }
 
+    @Test
+    void testAssetUrls() throws Exception {
+        var extension = mockSearch(true);
+        Mockito.when(repositories.findActiveExtensions(anyCollection())).thenReturn(List.of(extension));
+        var extVersion = mockExtensionVersion(extension, 2, "0.5.2", "universal");
+        Mockito.when(repositories.findActiveExtensionVersions(Set.of(extension.getId()), null))
+                .thenReturn(List.of(extVersion));
+        Mockito.when(repositories.findFileResourcesByExtensionVersionIdAndType(List.of(extVersion.getId()), Set.of(ICON, README)))
+                .thenReturn(List.of(
+                        mockFileResource(207, extVersion, "README.md", README),
+                        mockFileResource(210, extVersion, "icon128.png", ICON)
+                ));
+
+        mockMvc.perform(post("/vscode/gallery/assets")
+                .content("{\"extensionIds\":[\"redhat.vscode-yaml\",\"foo.bar\"]}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().json("""
+                        {"extensions":[{
+                            "extensionId":"redhat.vscode-yaml",
+                            "version":"0.5.2",
+                            "targetPlatform":"universal",
+                            "files":[
+                                {"assetType":"Microsoft.VisualStudio.Services.Icons.Default","source":"http://localhost/api/redhat/vscode-yaml/0.5.2/file/icon128.png"},
+                                {"assetType":"Microsoft.VisualStudio.Services.Content.Details","source":"http://localhost/api/redhat/vscode-yaml/0.5.2/file/README.md"}
+                            ]
+                        }]}
+                        """));
+    }
+
+    @Test
+    void testAssetUrlsTooManyExtensions() throws Exception {
+        var extensionIds = IntStream.range(0, 101).mapToObj(i -> "\"foo.bar" + i + "\"").collect(Collectors.joining(","));
+        mockMvc.perform(post("/vscode/gallery/assets")
+                .content("{\"extensionIds\":[" + extensionIds + "]}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testSearchMacOSXTarget() throws Exception {
         var targetPlatform = "darwin-x64";
@@ -453,6 +502,40 @@ class VSCodeAPITest {
                 .andExpect(header().string("Location", "/extension/redhat/vscode-yaml"));
     }
 
+    @Test
+    void testGetItemLocalMiss() throws Exception {
+        mockUpstreamItemNotFound();
+        Mockito.when(cache.isLocalMiss("redhat", "vscode-yaml", "item")).thenReturn(true);
+        mockMvc.perform(get("/vscode/item?itemName={itemName}", "redhat.vscode-yaml"))
+                .andExpect(status().isNotFound());
+
+        Mockito.verify(repositories, Mockito.never()).findActiveExtension("vscode-yaml", "redhat");
+    }
+
+    @Test
+    void testGetItemRemembersLocalMiss() throws Exception {
+        mockUpstreamItemNotFound();
+        mockMvc.perform(get("/vscode/item?itemName={itemName}", "redhat.vscode-yaml"))
+                .andExpect(status().isNotFound());
+
+        Mockito.verify(cache).putLocalMiss("redhat", "vscode-yaml", "item");
+    }
+
+    @Test
+    void testGetItemIgnoresLocalMissWithoutUpstream() throws Exception {
+        Mockito.when(cache.isLocalMiss("redhat", "vscode-yaml", "item")).thenReturn(true);
+        mockMvc.perform(get("/vscode/item?itemName={itemName}", "redhat.vscode-yaml"))
+                .andExpect(status().isNotFound());
+
+        Mockito.verify(repositories).findActiveExtension("vscode-yaml", "redhat");
+        Mockito.verify(cache, Mockito.never()).putLocalMiss("redhat", "vscode-yaml", "item");
+    }
+
+    private void mockUpstreamItemNotFound() {
+        Mockito.when(upstream.isValid()).thenReturn(true);
+        Mockito.when(upstream.getItemUrl("redhat", "vscode-yaml")).thenThrow(new NotFoundException());
+    }
+
     @Test
     void testGetItemExcludeBuiltInExtensions() throws Exception {
         mockMvc.perform(get("/vscode/item?itemName={itemName}", "vscode.vscode-yaml"))
@@ -746,6 +829,10 @@ class VSCodeAPITest {
         Mockito.when(repositories.findActiveExtension(extension.getName(), extension.getNamespace().getName()))
                 .thenReturn(extension);
 
+        var extensionIds = List.of(new ExtensionId(extension.getNamespace().getName(), extension.getName()));
+        Mockito.when(repositories.findActiveExtensions(extensionIds))
+                .thenReturn(results);
+
         mockExtensionVersions(extension, targetPlatform, targetPlatform);
         return extension;
     }
@@ -1063,14 +1150,13 @@ class VSCodeAPITest {
         @Bean
         LocalVSCodeService localVSCodeService(
                 RepositoryService repositories,
-                VersionService versions,
                 SearchUtilService search,
                 StorageUtilService storageUtil,
                 ExtensionVersionIntegrityService integrityService,
                 WebResourceService webResourceService,
                 CacheService cache
         ) {
-            return new LocalVSCodeService(repositories, versions, search, storageUtil, integrityService, webResourceService, cache);
+            return new LocalVSCodeService(repositories, search, storageUtil, integrityService, webResourceService, cache);
         }
 
         @Bean
@@ -0,0 +1,77 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ExtensionETagServiceTest {
+
+    private static final String URL = "https://open-vsx.org/api/foo/bar";
+
+    private ExtensionETagService etags;
+
+    @BeforeEach
+    void setup() {
+        etags = new ExtensionETagService(new LocalCacheGenerations(), Duration.ofHours(1));
+    }
+
+    @Test
+    void testRoundDownloadCount() {
+        assertEquals(0, ExtensionETagService.roundDownloadCount(0));
+        assertEquals(99, ExtensionETagService.roundDownloadCount(99));
+        assertEquals(120, ExtensionETagService.roundDownloadCount(123));
+        assertEquals(98000, ExtensionETagService.roundDownloadCount(98765));
+    }
+
+    @Test
+    void testEvictions() {
+        var etag = etags.getExtensionETag("Foo", "Bar", URL);
+        assertEquals(etag, etags.getExtensionETag("foo", "bar", URL));
+
+        etags.evictExtension("foo", "baz");
+        etags.evictNamespaceDetails("foo");
+        assertEquals(etag, etags.getExtensionETag("foo", "bar", URL));
+
+        etags.evictExtension("FOO", "bar");
+        var evicted = etags.getExtensionETag("foo", "bar", URL);
+        assertNotEquals(etag, evicted);
+
+        etags.evictExtensions();
+        assertNotEquals(evicted, etags.getExtensionETag("foo", "bar", URL));
+    }
+
+    @Test
+    void testNamespaceDetails() {
+        var etag = etags.getNamespaceDetailsETag("foo", URL);
+        etags.evictExtension("foo", "bar");
+        assertEquals(etag, etags.getNamespaceDetailsETag("foo", URL));
+
+        etags.evictNamespaceDetails();
+        assertNotEquals(etag, etags.getNamespaceDetailsETag("foo", URL));
+    }
+
+    @Test
+    void testUnavailableGenerations() {
+        var generations = mock(CacheGenerations.class);
+        when(generations.get(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        doThrow(new IllegalStateException("connection refused")).when(generations).increment(anyString());
+        etags = new ExtensionETagService(generations, Duration.ofHours(1));
+
+        assertNull(etags.getExtensionETag("foo", "bar", URL));
+        assertDoesNotThrow(() -> etags.evictExtension("foo", "bar"));
+    }
+}
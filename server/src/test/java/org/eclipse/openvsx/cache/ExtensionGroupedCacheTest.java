@@ -0,0 +1,61 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtensionGroupedCacheTest {
+
+    private Locale defaultLocale;
+    private ExtensionGroupedCache<String, String> cache;
+
+    @BeforeEach
+    void setup() {
+        defaultLocale = Locale.getDefault();
+        cache = new ExtensionGroupedCache<>("test", Duration.ofMinutes(5), 100, String::length, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cleanup() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    void testGroups() {
+        cache.put("Foo", "Bar", "1.0.0", "a");
+        cache.put("foo", "bar", "2.0.0", "b");
+        cache.put("foo", "baz", "1.0.0", "c");
+        assertEquals("a", cache.get("foo", "BAR", "1.0.0"));
+        assertEquals("b", cache.get("foo", "bar", "2.0.0"));
+
+        cache.evict("FOO", "bar");
+        assertNull(cache.get("foo", "bar", "1.0.0"));
+        assertNull(cache.get("foo", "bar", "2.0.0"));
+        assertEquals("c", cache.get("foo", "baz", "1.0.0"));
+
+        cache.evictIf(name -> name.equals("baz"));
+        assertNull(cache.get("foo", "baz", "1.0.0"));
+    }
+
+    @Test
+    void testKeysIgnoreDefaultLocale() {
+        cache.put("IBM", "INFO", "1.0.0", "a");
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        assertEquals("a", cache.get("ibm", "info", "1.0.0"));
+    }
+}
@@ -0,0 +1,161 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache.PrerenderedResponse;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.Namespace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.openvsx.cache.PrerenderedResponseCache.NAMESPACE_DETAILS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LocalCacheEvictionsTest {
+
+    private static final String BASE_URL = "https://open-vsx.org";
+
+    private PrerenderedResponseCache prerenderedResponses;
+    private UpdateCheckCache updateChecks;
+    private AssetLocationCache assetLocations;
+    private LocalMissCache localMisses;
+    private StringRedisTemplate redis;
+    private LocalCacheEvictions evictions;
+
+    @BeforeEach
+    void setup() {
+        prerenderedResponses = new PrerenderedResponseCache(Duration.ofMinutes(10), 1024 * 1024, new SimpleMeterRegistry());
+        updateChecks = new UpdateCheckCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+        assetLocations = new AssetLocationCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+        localMisses = new LocalMissCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+        redis = mock(StringRedisTemplate.class);
+        evictions = new LocalCacheEvictions(prerenderedResponses, updateChecks, assetLocations, localMisses, redis);
+        prerenderedResponses.put("foo", "bar", BASE_URL, false, response());
+        prerenderedResponses.put("foo", "baz", BASE_URL, false, response());
+        prerenderedResponses.put("foo", NAMESPACE_DETAILS, BASE_URL, false, response());
+        updateChecks.put(BASE_URL, 1, null, "foo.bar", mock(ExtensionQueryResult.Extension.class));
+        updateChecks.put(BASE_URL, 1, null, "foo.baz", null);
+        assetLocations.putByType("foo", "bar", "universal", "1.0.0", FileResource.MANIFEST, resource("bar"));
+        assetLocations.putByType("foo", "baz", "universal", "1.0.0", FileResource.MANIFEST, resource("baz"));
+        localMisses.put("foo", "bar", LocalMissCache.lookup("extension"));
+        localMisses.put("foo", "baz", LocalMissCache.lookup("extension"));
+    }
+
+    @Test
+    void testEvictionIsAppliedAndPublished() {
+        evictions.evictExtension("Foo", "Bar");
+        assertNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+        assertNotNull(prerenderedResponses.get("foo", "baz", BASE_URL, false));
+        verify(redis).convertAndSend(LocalCacheEvictions.CHANNEL, "EXTENSION:Foo.Bar");
+    }
+
+    @Test
+    void testPublishedEvictionsAreApplied() {
+        evictions.onMessage("EXTENSION:foo.baz");
+        assertNull(prerenderedResponses.get("foo", "baz", BASE_URL, false));
+        assertNotNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+
+        evictions.onMessage("NAMESPACE_DETAILS:foo");
+        assertNull(prerenderedResponses.get("foo", NAMESPACE_DETAILS, BASE_URL, false));
+
+        evictions.onMessage("EXTENSION:*");
+        assertNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+    }
+
+    @Test
+    void testUpdateCheckEvictions() {
+        evictions.evictUpdateChecks("foo", "bar");
+        assertEquals(1, updateChecks.get(BASE_URL, 1, null, List.of("foo.bar", "foo.baz")).size());
+        verify(redis).convertAndSend(LocalCacheEvictions.CHANNEL, "UPDATE_CHECK:foo.bar");
+        assertNotNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+
+        evictions.onMessage("UPDATE_CHECK:*");
+        assertTrue(updateChecks.get(BASE_URL, 1, null, List.of("foo.baz")).isEmpty());
+    }
+
+    @Test
+    void testAssetLocationEvictions() {
+        evictions.evictAssetLocations("foo", "bar");
+        assertNull(assetLocations.getByType("foo", "bar", "universal", "1.0.0", FileResource.MANIFEST));
+        assertNotNull(assetLocations.getByType("foo", "baz", "universal", "1.0.0", FileResource.MANIFEST));
+        verify(redis).convertAndSend(LocalCacheEvictions.CHANNEL, "ASSET_LOCATION:foo.bar");
+
+        evictions.onMessage("ASSET_LOCATION:*");
+        assertNull(assetLocations.getByType("foo", "baz", "universal", "1.0.0", FileResource.MANIFEST));
+    }
+
+    @Test
+    void testLocalMissEvictions() {
+        evictions.evictLocalMisses("foo", "bar");
+        assertFalse(localMisses.contains("foo", "bar", LocalMissCache.lookup("extension")));
+        assertTrue(localMisses.contains("foo", "baz", LocalMissCache.lookup("extension")));
+        verify(redis).convertAndSend(LocalCacheEvictions.CHANNEL, "LOCAL_MISS:foo.bar");
+
+        evictions.onMessage("LOCAL_MISS:*");
+        assertFalse(localMisses.contains("foo", "baz", LocalMissCache.lookup("extension")));
+    }
+
+    @Test
+    void testLocalMissLookup() {
+        assertEquals("extension;version=1.0.0", LocalMissCache.lookup("extension", "targetPlatform", null, "version", "1.0.0"));
+        assertEquals(
+                "file;targetPlatform=linux-x64;version=1.0.0;name=README.md",
+                LocalMissCache.lookup("file", "targetPlatform", "linux-x64", "version", "1.0.0", "name", "README.md")
+        );
+    }
+
+    @Test
+    void testUnknownEvictionIsIgnored() {
+        evictions.onMessage("UNKNOWN:foo.bar");
+        evictions.onMessage("foo.bar");
+        assertNotNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+    }
+
+    @Test
+    void testWithoutRedis() {
+        evictions = new LocalCacheEvictions(prerenderedResponses, updateChecks, assetLocations, localMisses, null);
+        evictions.evictNamespaceDetails();
+        assertNull(prerenderedResponses.get("foo", NAMESPACE_DETAILS, BASE_URL, false));
+        assertNotNull(prerenderedResponses.get("foo", "bar", BASE_URL, false));
+        verifyNoInteractions(redis);
+    }
+
+    private FileResource resource(String extensionName) {
+        var namespace = new Namespace();
+        namespace.setName("foo");
+        var extension = new Extension();
+        extension.setName(extensionName);
+        extension.setNamespace(namespace);
+        var extVersion = new ExtensionVersion();
+        extVersion.setVersion("1.0.0");
+        extVersion.setTargetPlatform("universal");
+        extVersion.setExtension(extension);
+        var resource = new FileResource();
+        resource.setName("package.json");
+        resource.setType(FileResource.MANIFEST);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        resource.setExtension(extVersion);
+        return resource;
+    }
+
+    private PrerenderedResponse response() {
+        return new PrerenderedResponse("{}".getBytes(), null, "\"0\"", "application/json", Map.of());
+    }
+}
@@ -0,0 +1,71 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache.PrerenderedResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.eclipse.openvsx.cache.PrerenderedResponseCache.NAMESPACE_DETAILS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerenderedResponseCacheTest {
+
+    private static final String BASE_URL = "https://open-vsx.org";
+
+    private PrerenderedResponseCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new PrerenderedResponseCache(Duration.ofMinutes(10), 1024 * 1024, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testVariants() {
+        var plain = response("plain");
+        var crossOrigin = response("cors");
+        cache.put("Foo", "Bar", BASE_URL, false, plain);
+        cache.put("foo", "bar", BASE_URL, true, crossOrigin);
+        assertSame(plain, cache.get("foo", "bar", BASE_URL, false));
+        assertSame(crossOrigin, cache.get("FOO", "BAR", BASE_URL, true));
+        assertNull(cache.get("foo", "bar", "http://localhost", false));
+    }
+
+    @Test
+    void testEvictExtension() {
+        cache.put("foo", "bar", BASE_URL, false, response("bar"));
+        cache.put("foo", "baz", BASE_URL, false, response("baz"));
+        cache.put("foo", NAMESPACE_DETAILS, BASE_URL, false, response("details"));
+        cache.evictExtension("Foo", "Bar");
+        assertNull(cache.get("foo", "bar", BASE_URL, false));
+        assertNotNull(cache.get("foo", "baz", BASE_URL, false));
+        assertNotNull(cache.get("foo", NAMESPACE_DETAILS, BASE_URL, false));
+    }
+
+    @Test
+    void testEvictExtensionsKeepsNamespaceDetails() {
+        cache.put("foo", "bar", BASE_URL, false, response("bar"));
+        cache.put("foo", NAMESPACE_DETAILS, BASE_URL, false, response("details"));
+        cache.evictExtensions();
+        assertNull(cache.get("foo", "bar", BASE_URL, false));
+        assertNotNull(cache.get("foo", NAMESPACE_DETAILS, BASE_URL, false));
+
+        cache.evictNamespaceDetails();
+        assertNull(cache.get("foo", NAMESPACE_DETAILS, BASE_URL, false));
+    }
+
+    private PrerenderedResponse response(String body) {
+        return new PrerenderedResponse(body.getBytes(), null, "\"" + body + "\"", "application/json", Map.of());
+    }
+}
@@ -0,0 +1,117 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshAheadCacheTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setup() {
+        clock = new MutableClock();
+        registry = new SimpleMeterRegistry();
+        cache = new RefreshAheadCache(new ConcurrentMapCache("test"), Duration.ofMinutes(10), new LocalRefreshAheadLock(), registry, clock);
+    }
+
+    @Test
+    void testLoadOnMiss() {
+        var loads = new AtomicInteger();
+        assertEquals("value-1", cache.get("key", () -> "value-" + loads.incrementAndGet()));
+        assertEquals("value-1", cache.get("key", () -> "value-" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        assertEquals("value-1", cache.get("key", String.class));
+        assertEquals(1.0, count("miss"));
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void testRefreshStaleValue() {
+        var loads = new AtomicInteger();
+        cache.get("key", () -> "value-" + loads.incrementAndGet());
+
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("value-2", cache.get("key", () -> "value-" + loads.incrementAndGet()));
+        assertEquals("value-2", cache.get("key", () -> "value-" + loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertEquals(1.0, count("refresh"));
+    }
+
+    @Test
+    void testServeStaleValueWhileRefreshing() {
+        var lock = new LocalRefreshAheadLock();
+        cache = new RefreshAheadCache(new ConcurrentMapCache("test"), Duration.ofMinutes(10), lock, registry, clock);
+        cache.get("key", () -> "value-1");
+
+        clock.advance(Duration.ofMinutes(11));
+        assertTrue(lock.tryLock("test", "key"));
+        assertEquals("value-1", cache.get("key", () -> fail("Entry is already being refreshed")));
+        assertEquals(1.0, count("stale"));
+        assertEquals(0.0, count("refresh"));
+    }
+
+    @Test
+    void testServeStaleValueWhenRefreshFails() {
+        cache.get("key", () -> "value-1");
+
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("value-1", cache.get("key", () -> { throw new IllegalStateException("upstream down"); }));
+        assertEquals(1.0, count("refresh_failure"));
+    }
+
+    @Test
+    void testLoadFailureOnMiss() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("key", () -> { throw new IllegalStateException(); }));
+        assertNull(cache.get("key"));
+    }
+
+    private double count(String outcome) {
+        return registry.get("ovsx_cache_refresh_ahead").tag("outcome", outcome).counter().count();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.adapter.ExtensionQueryResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UpdateCheckCacheTest {
+
+    private static final String BASE_URL = "https://open-vsx.org";
+
+    private UpdateCheckCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new UpdateCheckCache(Duration.ofMinutes(5), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testVariantsAndMisses() {
+        var extension = mock(ExtensionQueryResult.Extension.class);
+        cache.put(BASE_URL, 1, "universal", "Foo.Bar", extension);
+        cache.put(BASE_URL, 2, "universal", "foo.bar", null);
+
+        var results = cache.get(BASE_URL, 1, "universal", List.of("foo.bar", "foo.baz"));
+        assertEquals(1, results.size());
+        assertEquals(Optional.of(extension), results.get("foo.bar"));
+        assertEquals(Optional.empty(), cache.get(BASE_URL, 2, "universal", List.of("FOO.BAR")).get("foo.bar"));
+        assertTrue(cache.get(BASE_URL, 1, "linux-x64", List.of("foo.bar")).isEmpty());
+    }
+
+    @Test
+    void testEvictExtension() {
+        var extension = mock(ExtensionQueryResult.Extension.class);
+        cache.put(BASE_URL, 1, "universal", "foo.bar", extension);
+        cache.put(BASE_URL, 2, "universal", "foo.bar", extension);
+        cache.put(BASE_URL, 1, "universal", "foo.baz", extension);
+        cache.evict("Foo", "Bar");
+        assertTrue(cache.get(BASE_URL, 1, "universal", List.of("foo.bar")).isEmpty());
+        assertTrue(cache.get(BASE_URL, 2, "universal", List.of("foo.bar")).isEmpty());
+        assertEquals(1, cache.get(BASE_URL, 1, "universal", List.of("foo.baz")).size());
+    }
+}
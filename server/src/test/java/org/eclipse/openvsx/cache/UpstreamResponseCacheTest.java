@@ -0,0 +1,88 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamResponseCacheTest {
+
+    private static final String URL = "https://open-vsx.org/api/foo/bar";
+
+    private UpstreamResponseCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new UpstreamResponseCache(Duration.ofHours(1), 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testStoreWithETag() {
+        cache.put(URL, "body", headers("\"1\"", "public, max-age=60"));
+        var entry = cache.get(URL);
+        assertNotNull(entry);
+        assertEquals("body", entry.body());
+        assertEquals("\"1\"", entry.eTag());
+        assertTrue(entry.isFresh());
+    }
+
+    @Test
+    void testRevalidateWithoutMaxAge() {
+        cache.put(URL, "body", headers("\"1\"", "no-cache, public"));
+        var entry = cache.get(URL);
+        assertNotNull(entry);
+        assertFalse(entry.isFresh());
+    }
+
+    @Test
+    void testSharedMaxAgeWins() {
+        cache.put(URL, "body", headers("\"1\"", "max-age=0, s-maxage=60"));
+        assertTrue(cache.get(URL).isFresh());
+    }
+
+    @Test
+    void testSkipWithoutValidator() {
+        cache.put(URL, "body", headers(null, "max-age=60"));
+        assertNull(cache.get(URL));
+    }
+
+    @Test
+    void testSkipNoStore() {
+        cache.put(URL, "body", headers("\"1\"", "max-age=60, no-store"));
+        assertNull(cache.get(URL));
+    }
+
+    @Test
+    void testRevalidatedKeepsBodyAndETag() {
+        cache.put(URL, "body", headers("\"1\"", "no-cache"));
+        var entry = cache.get(URL);
+
+        cache.revalidated(URL, entry, headers(null, "max-age=60"));
+        var revalidated = cache.get(URL);
+        assertEquals("body", revalidated.body());
+        assertEquals("\"1\"", revalidated.eTag());
+        assertTrue(revalidated.isFresh());
+    }
+
+    private HttpHeaders headers(String eTag, String cacheControl) {
+        var headers = new HttpHeaders();
+        if(eTag != null) {
+            headers.setETag(eTag);
+        }
+        headers.setCacheControl(cacheControl);
+        return headers;
+    }
+}
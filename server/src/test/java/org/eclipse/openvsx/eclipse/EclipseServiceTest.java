@@ -21,6 +21,7 @@ import org.eclipse.openvsx.cache.CacheService;
 import org.eclipse.openvsx.cache.LatestExtensionVersionCacheKeyGenerator;
 import org.eclipse.openvsx.entities.*;
 import org.eclipse.openvsx.publish.PublishExtensionVersionHandler;
+import org.eclipse.openvsx.publish.PublishQueue;
 import org.eclipse.openvsx.repositories.RepositoryService;
 import org.eclipse.openvsx.search.SearchUtilService;
 import org.eclipse.openvsx.storage.*;
@@ -58,7 +59,7 @@ import static org.mockito.ArgumentMatchers.eq;
 @MockitoBean(types = {
     EntityManager.class, SearchUtilService.class, GoogleCloudStorageService.class, AzureBlobStorageService.class,
     AwsStorageService.class, VSCodeIdService.class, DownloadCountService.class, CacheService.class,
-    UserService.class, PublishExtensionVersionHandler.class, SimpleMeterRegistry.class, FileCacheDurationConfig.class,
+    UserService.class, PublishExtensionVersionHandler.class, PublishQueue.class, SimpleMeterRegistry.class, FileCacheDurationConfig.class,
     JobRequestScheduler.class, CdnServiceConfig.class
 })
 class EclipseServiceTest {
@@ -409,9 +410,10 @@ class EclipseServiceTest {
                 SearchUtilService search,
                 CacheService cache,
                 PublishExtensionVersionHandler publishHandler,
+                PublishQueue publishQueue,
                 JobRequestScheduler scheduler
         ) {
-            return new ExtensionService(entityManager, repositories, search, cache, publishHandler, scheduler);
+            return new ExtensionService(entityManager, repositories, search, cache, publishHandler, publishQueue, scheduler);
         }
 
         @Bean
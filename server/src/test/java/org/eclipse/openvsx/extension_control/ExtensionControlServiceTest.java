@@ -0,0 +1,144 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.extension_control;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtensionControlServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path source;
+    private ExtensionControlService service;
+
+    @BeforeEach
+    void setup() {
+        source = tempDir.resolve("extensions.json");
+        service = new ExtensionControlService(null, null, null, null, null, null);
+        service.enabled = true;
+        service.source = source.toString();
+        service.fallbackSource = "";
+    }
+
+    @Test
+    void testRefreshFromLocalFile() throws IOException {
+        write("{\"malicious\":[\"Foo.Bar\"],\"deprecated\":{}}", Instant.parse("2026-01-01T00:00:00Z"));
+        service.refreshSnapshot();
+
+        assertTrue(service.isMalicious("foo", "bar"));
+        assertTrue(service.isMalicious("FOO", "Bar"));
+        assertFalse(service.isMalicious("foo", "baz"));
+    }
+
+    @Test
+    void testSkipUnchangedFile() throws IOException {
+        var lastModified = Instant.parse("2026-01-01T00:00:00Z");
+        write("{\"malicious\":[\"foo.bar\"]}", lastModified);
+        service.refreshSnapshot();
+        var snapshot = service.getSnapshot();
+
+        service.refreshSnapshot();
+        assertSame(snapshot, service.getSnapshot());
+
+        write("{\"malicious\":[\"foo.baz\"]}", lastModified.plusSeconds(60));
+        service.refreshSnapshot();
+        assertFalse(service.isMalicious("foo", "bar"));
+        assertTrue(service.isMalicious("foo", "baz"));
+    }
+
+    @Test
+    void testKeepSnapshotWhenSourceIsInvalid() throws IOException {
+        write("{\"malicious\":[\"foo.bar\"]}", Instant.parse("2026-01-01T00:00:00Z"));
+        service.refreshSnapshot();
+
+        write("{\"malicious\":\"foo.bar\"}", Instant.parse("2026-01-02T00:00:00Z"));
+        service.refreshSnapshot();
+        assertTrue(service.isMalicious("foo", "bar"));
+
+        Files.delete(source);
+        service.refreshSnapshot();
+        assertTrue(service.isMalicious("foo", "bar"));
+    }
+
+    @Test
+    void testNotLoadedUntilSourceIsRead() throws IOException {
+        service.refreshSnapshot();
+        assertFalse(service.isLoaded());
+
+        // checking doesn't read the source
+        write("{\"malicious\":[\"foo.bar\"]}", Instant.parse("2026-01-01T00:00:00Z"));
+        assertFalse(service.isLoaded());
+
+        service.refreshSnapshot();
+        assertTrue(service.isLoaded());
+        assertTrue(service.isMalicious("foo", "bar"));
+    }
+
+    @Test
+    void testRetryUntilLoaded() throws Exception {
+        service.mirrorEnabled = true;
+        service.refreshInterval = Duration.ofHours(1);
+        service.retryInterval = Duration.ofMillis(10);
+        try {
+            service.applicationStarted(null);
+            assertFalse(service.isLoaded());
+
+            write("{\"malicious\":[\"foo.bar\"]}", Instant.parse("2026-01-01T00:00:00Z"));
+            for(var i = 0; i < 500 && !service.isLoaded(); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(service.isLoaded());
+            assertTrue(service.isMalicious("foo", "bar"));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testFallbackWhenSourceIsUnavailable() throws IOException {
+        var fallback = tempDir.resolve("fallback.json");
+        Files.writeString(fallback, "{\"malicious\":[\"foo.baz\"]}");
+        service.fallbackSource = fallback.toString();
+        service.refreshSnapshot();
+        assertTrue(service.isLoaded());
+        assertTrue(service.isMalicious("foo", "baz"));
+
+        write("{\"malicious\":[\"foo.bar\"]}", Instant.parse("2026-01-01T00:00:00Z"));
+        service.refreshSnapshot();
+        assertTrue(service.isMalicious("foo", "bar"));
+        assertFalse(service.isMalicious("foo", "baz"));
+    }
+
+    @Test
+    void testDisabled() throws IOException {
+        write("{\"malicious\":[\"foo.bar\"]}", Instant.parse("2026-01-01T00:00:00Z"));
+        service.refreshSnapshot();
+        service.enabled = false;
+
+        assertFalse(service.isMalicious("foo", "bar"));
+    }
+
+    private void write(String json, Instant lastModified) throws IOException {
+        Files.writeString(source, json);
+        Files.setLastModifiedTime(source, FileTime.from(lastModified));
+    }
+}
@@ -0,0 +1,224 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.migration;
+
+import jakarta.persistence.EntityManager;
+import org.eclipse.openvsx.cache.CacheService;
+import org.eclipse.openvsx.entities.*;
+import org.eclipse.openvsx.publish.ExtensionVersionIntegrityService;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD;
+import static org.eclipse.openvsx.entities.FileResource.DOWNLOAD_SIG;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(SpringExtension.class)
+@MockitoBean(types = { EntityManager.class })
+class ResignExtensionVersionsJobRequestHandlerTest {
+
+    @MockitoBean
+    RepositoryService repositories;
+
+    @MockitoBean
+    CacheService cache;
+
+    @MockitoBean
+    MigrationService migrations;
+
+    @MockitoBean
+    ResignExtensionVersionsService service;
+
+    @Autowired
+    GenerateKeyPairJobService keyPairService;
+
+    @Autowired
+    ResignExtensionVersionsJobRequestHandler handler;
+
+    @Test
+    void testResignBatch() throws Exception {
+        var keyPair = keyPairService.generateKeyPair();
+        var extension = mockExtension();
+        var version1 = mockExtensionVersion(extension, 1L, "1.0.0");
+        var version2 = mockExtensionVersion(extension, 2L, "1.1.0");
+        var download1 = mockFileResource(version1, 11L, DOWNLOAD);
+        var download2 = mockFileResource(version2, 12L, DOWNLOAD);
+        var oldSignature = mockFileResource(version1, 21L, DOWNLOAD_SIG);
+        mockBatch(keyPair, List.of(version1, version2), List.of(download1, download2, oldSignature));
+        when(migrations.readFile(any(FileResource.class))).thenReturn(createPackage());
+
+        handler.run(new HandlerJobRequest<>(ResignExtensionVersionsJobRequestHandler.class));
+
+        // the old signature has a different name, so it's deleted after the database no longer references it
+        var inOrder = inOrder(migrations, service);
+        inOrder.verify(migrations).uploadFileResource(argThat(file -> file.getResource().getExtension() == version1));
+        inOrder.verify(service).replaceSignatures(eq(keyPair), argThat(signatures -> signatures.getFirst().getExtension() == version1), eq(List.of(21L)));
+        inOrder.verify(migrations).removeFile(oldSignature);
+        verify(migrations, times(2)).uploadFileResource(any());
+        verify(service).replaceSignatures(eq(keyPair), argThat(signatures -> signatures.getFirst().getExtension() == version2), eq(List.of()));
+        verify(cache).evictExtensionJsons(version1);
+        verify(cache).evictExtensionJsons(version2);
+        verify(cache, times(1)).evictLatestExtensionVersion(extension);
+        verify(cache, times(1)).evictNamespaceDetails(extension.getNamespace());
+    }
+
+    @Test
+    void testOverwrittenSignatureIsNotRemoved() throws Exception {
+        var keyPair = keyPairService.generateKeyPair();
+        var extension = mockExtension();
+        var version = mockExtensionVersion(extension, 1L, "1.0.0");
+        var download = mockFileResource(version, 11L, DOWNLOAD);
+        var oldSignature = mockFileResource(version, 21L, DOWNLOAD_SIG);
+        oldSignature.setName("foo.bar-1.0.0.sigzip");
+        mockBatch(keyPair, List.of(version), List.of(download, oldSignature));
+        when(migrations.readFile(any(FileResource.class))).thenReturn(createPackage());
+
+        handler.run(new HandlerJobRequest<>(ResignExtensionVersionsJobRequestHandler.class));
+
+        verify(migrations).uploadFileResource(argThat(file -> file.getResource().getName().equals(oldSignature.getName())));
+        verify(service).replaceSignatures(eq(keyPair), anyList(), eq(List.of(21L)));
+        verify(migrations, never()).removeFile(any());
+    }
+
+    @Test
+    void testFailedVersionIsSkipped() throws Exception {
+        var keyPair = keyPairService.generateKeyPair();
+        var extension = mockExtension();
+        var version1 = mockExtensionVersion(extension, 1L, "1.0.0");
+        var version2 = mockExtensionVersion(extension, 2L, "1.1.0");
+        var download1 = mockFileResource(version1, 11L, DOWNLOAD);
+        var download2 = mockFileResource(version2, 12L, DOWNLOAD);
+        mockBatch(keyPair, List.of(version1, version2), List.of(download1, download2));
+        when(migrations.readFile(download1)).thenThrow(new IOException("Storage type is not available: local"));
+        when(migrations.readFile(download2)).thenReturn(createPackage());
+
+        handler.run(new HandlerJobRequest<>(ResignExtensionVersionsJobRequestHandler.class));
+
+        verify(service).replaceSignatures(eq(keyPair), argThat(signatures -> signatures.size() == 1
+                && signatures.getFirst().getExtension() == version2), eq(List.of()));
+        verify(service, times(1)).replaceSignatures(any(), anyList(), anyCollection());
+        verify(cache, never()).evictExtensionJsons(version1);
+        verify(cache).evictExtensionJsons(version2);
+    }
+
+    @Test
+    void testByteBudget() throws Exception {
+        var budget = new ResignExtensionVersionsJobRequestHandler.ByteBudget(10);
+        budget.add(4);
+        budget.awaitCapacity();
+        budget.add(6);
+
+        var read = new CountDownLatch(1);
+        var reader = Thread.ofPlatform().start(() -> {
+            try {
+                budget.awaitCapacity();
+                read.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        // the reader waits on the budget's monitor until capacity is released
+        while(reader.isAlive() && reader.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, read.getCount());
+
+        budget.release(6);
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+        budget.release(4);
+        assertEquals(0, budget.getBytes());
+    }
+
+    private void mockBatch(SignatureKeyPair keyPair, List<ExtensionVersion> batch, List<FileResource> resources) {
+        when(repositories.findActiveKeyPair()).thenReturn(keyPair);
+        when(repositories.findVersionsWithout(eq(keyPair), anyLong(), anyInt())).thenReturn(batch, List.of());
+        when(repositories.findFilesByType(batch, List.of(DOWNLOAD, DOWNLOAD_SIG))).thenReturn(resources);
+    }
+
+    private Extension mockExtension() {
+        var namespace = new Namespace();
+        namespace.setId(1L);
+        namespace.setName("foo");
+        var extension = new Extension();
+        extension.setId(1L);
+        extension.setName("bar");
+        extension.setNamespace(namespace);
+        return extension;
+    }
+
+    private ExtensionVersion mockExtensionVersion(Extension extension, long id, String version) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(id);
+        extVersion.setVersion(version);
+        extVersion.setTargetPlatform("universal");
+        extVersion.setExtension(extension);
+        return extVersion;
+    }
+
+    private FileResource mockFileResource(ExtensionVersion extVersion, long id, String type) {
+        var resource = new FileResource();
+        resource.setId(id);
+        resource.setExtension(extVersion);
+        resource.setType(type);
+        resource.setName(type);
+        resource.setStorageType(FileResource.STORAGE_LOCAL);
+        return resource;
+    }
+
+    private byte[] createPackage() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try(var zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("extension/package.json"));
+            zip.write("{\"name\":\"bar\",\"publisher\":\"foo\",\"version\":\"1.0.0\"}".getBytes());
+            zip.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        ExtensionVersionIntegrityService extensionVersionIntegrityService(EntityManager entityManager, CacheService cache) {
+            return new ExtensionVersionIntegrityService(entityManager, cache);
+        }
+
+        @Bean
+        GenerateKeyPairJobService generateKeyPairJobService(EntityManager entityManager, RepositoryService repositories) {
+            return new GenerateKeyPairJobService(entityManager, repositories);
+        }
+
+        @Bean
+        ResignExtensionVersionsJobRequestHandler resignExtensionVersionsJobRequestHandler(
+                RepositoryService repositories,
+                CacheService cache,
+                MigrationService migrations,
+                ExtensionVersionIntegrityService integrityService,
+                ResignExtensionVersionsService service
+        ) {
+            return new ResignExtensionVersionsJobRequestHandler(repositories, cache, migrations, integrityService, service);
+        }
+    }
+}
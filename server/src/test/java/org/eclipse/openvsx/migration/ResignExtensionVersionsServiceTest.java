@@ -0,0 +1,83 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.migration;
+
+import jakarta.persistence.EntityManager;
+import org.eclipse.openvsx.entities.ExtensionVersion;
+import org.eclipse.openvsx.entities.FileResource;
+import org.eclipse.openvsx.entities.SignatureKeyPair;
+import org.eclipse.openvsx.repositories.RepositoryService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResignExtensionVersionsServiceTest {
+
+    private EntityManager entityManager;
+    private Session session;
+    private RepositoryService repositories;
+    private ResignExtensionVersionsService service;
+
+    @BeforeEach
+    void setup() {
+        entityManager = mock(EntityManager.class);
+        session = mock(Session.class);
+        repositories = mock(RepositoryService.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        service = new ResignExtensionVersionsService(entityManager, repositories);
+    }
+
+    @Test
+    void testReplaceSignatures() {
+        var keyPair = new SignatureKeyPair();
+        var signature1 = signature(1L);
+        var signature2 = signature(2L);
+        service.replaceSignatures(keyPair, List.of(signature1, signature2), List.of(21L));
+
+        var inOrder = inOrder(repositories, session, entityManager);
+        inOrder.verify(repositories).setSignatureKeyPair(keyPair, List.of(1L, 2L));
+        inOrder.verify(repositories).deleteFiles(List.of(21L));
+        inOrder.verify(session).setJdbcBatchSize(2);
+        inOrder.verify(entityManager).persist(signature1);
+        inOrder.verify(entityManager).persist(signature2);
+        inOrder.verify(entityManager).flush();
+    }
+
+    @Test
+    void testReplaceSignaturesWithoutOldSignatures() {
+        var keyPair = new SignatureKeyPair();
+        service.replaceSignatures(keyPair, List.of(signature(1L)), List.of());
+
+        verify(repositories).setSignatureKeyPair(keyPair, List.of(1L));
+        verify(repositories, never()).deleteFiles(anyCollection());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void testReplaceNoSignatures() {
+        service.replaceSignatures(new SignatureKeyPair(), List.of(), List.of(21L));
+
+        verifyNoInteractions(repositories, entityManager);
+    }
+
+    private FileResource signature(long extVersionId) {
+        var extVersion = new ExtensionVersion();
+        extVersion.setId(extVersionId);
+        var resource = new FileResource();
+        resource.setExtension(extVersion);
+        resource.setType(FileResource.DOWNLOAD_SIG);
+        return resource;
+    }
+}
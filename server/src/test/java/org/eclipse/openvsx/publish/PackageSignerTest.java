@@ -0,0 +1,87 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import org.bouncycastle.crypto.generators.Ed25519KeyPairGenerator;
+import org.bouncycastle.crypto.params.Ed25519KeyGenerationParameters;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
+import org.bouncycastle.crypto.signers.Ed25519Signer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackageSignerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Ed25519PrivateKeyParameters privateKey;
+    private Ed25519PublicKeyParameters publicKey;
+    private byte[] content;
+
+    @BeforeEach
+    void setup() {
+        var generator = new Ed25519KeyPairGenerator();
+        generator.init(new Ed25519KeyGenerationParameters(new SecureRandom()));
+        var pair = generator.generateKeyPair();
+        privateKey = (Ed25519PrivateKeyParameters) pair.getPrivate();
+        publicKey = (Ed25519PublicKeyParameters) pair.getPublic();
+
+        content = new byte[100_000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    void testSameSignatureAsEd25519Signer() {
+        var expected = new Ed25519Signer();
+        expected.init(true, privateKey);
+        expected.update(content, 0, content.length);
+
+        var signer = new PackageSigner(privateKey.getEncoded(), content.length);
+        signer.write(content, 0, content.length);
+        assertArrayEquals(expected.generateSignature(), signer.sign());
+    }
+
+    @Test
+    void testGrowWhenSizeIsUnderestimated() {
+        var signer = new PackageSigner(privateKey.getEncoded(), 10);
+        signer.write(content, 0, 50_000);
+        signer.write(content, 50_000, content.length - 50_000);
+
+        var verifier = new Ed25519Signer();
+        verifier.init(false, publicKey);
+        verifier.update(content, 0, content.length);
+        assertTrue(verifier.verifySignature(signer.sign()));
+    }
+
+    @Test
+    void testVerify() throws IOException {
+        var file = tempDir.resolve("extension.vsix");
+        Files.write(file, content);
+        var signer = new PackageSigner(privateKey.getEncoded(), content.length);
+        signer.write(content, 0, content.length);
+        var signature = signer.sign();
+
+        assertTrue(PackageSigner.verify(file, signature, publicKey.getEncoded()));
+
+        signature[0] ^= 1;
+        assertFalse(PackageSigner.verify(file, signature, publicKey.getEncoded()));
+        assertFalse(PackageSigner.verify(file, new byte[10], publicKey.getEncoded()));
+    }
+}
@@ -0,0 +1,177 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.publish;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.openvsx.json.ExtensionJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublishQueueTest {
+
+    private PublishQueue queue;
+
+    @AfterEach
+    void shutdown() {
+        if(queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void testRejectWhenFull() {
+        queue = new PublishQueue(1, 2, 2, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        queue.admit();
+        queue.admit();
+
+        var exception = assertThrows(PublishRejectedException.class, queue::admit);
+        var response = exception.toResponseEntity(ExtensionJson.class);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("15", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testRejectWhenNamespaceFull() {
+        queue = new PublishQueue(1, 4, 1, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        queue.admit().claimNamespace("foo");
+        queue.admit().claimNamespace("bar");
+
+        var admission = queue.admit();
+        var exception = assertThrows(PublishRejectedException.class, () -> admission.claimNamespace("foo"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        admission.close();
+        assertEquals(2, queue.getAdmitted());
+    }
+
+    @Test
+    void testReleaseWhenCompleted() throws InterruptedException {
+        queue = new PublishQueue(1, 1, 1, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        var done = new CountDownLatch(1);
+        try(var admission = queue.admit()) {
+            admission.claimNamespace("foo");
+            queue.submit(admission, "foo.bar", done::countDown);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        waitUntilIdle();
+        try(var admission = queue.admit()) {
+            admission.claimNamespace("foo");
+        }
+        assertEquals(0, queue.getAdmitted());
+    }
+
+    @Test
+    void testNamespacesTakeTurns() throws InterruptedException {
+        queue = new PublishQueue(1, 8, 8, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        var order = Collections.synchronizedList(new ArrayList<String>());
+        var blocker = new CountDownLatch(1);
+        var done = new CountDownLatch(6);
+
+        // occupy the only worker, so that the following tasks are queued
+        var blocking = queue.admit();
+        blocking.claimNamespace("blocker");
+        queue.submit(blocking, "blocker", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for(var namespace : List.of("foo", "foo", "foo", "foo", "bar", "baz")) {
+            var admission = queue.admit();
+            admission.claimNamespace(namespace);
+            queue.submit(admission, namespace, () -> {
+                order.add(namespace);
+                done.countDown();
+            });
+        }
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("foo", "bar", "baz", "foo", "foo", "foo"), order);
+    }
+
+    @Test
+    void testDrainOnShutdown() throws InterruptedException {
+        queue = new PublishQueue(1, 8, 8, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        var blocker = new CountDownLatch(1);
+        var done = new CountDownLatch(3);
+
+        // occupy the only worker, so that the following tasks are still queued at shutdown
+        var blocking = queue.admit();
+        queue.submit(blocking, "blocker", () -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        for(var namespace : List.of("foo", "bar")) {
+            var admission = queue.admit();
+            admission.claimNamespace(namespace);
+            queue.submit(admission, namespace, done::countDown);
+        }
+
+        var shutdown = new Thread(queue::shutdown);
+        shutdown.start();
+        blocker.countDown();
+        shutdown.join(5000);
+
+        assertTrue(done.await(0, TimeUnit.SECONDS));
+        assertEquals(0, queue.getAdmitted());
+        var exception = assertThrows(PublishRejectedException.class, queue::admit);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+    }
+
+    @Test
+    void testDropAfterShutdownTimeout() throws InterruptedException {
+        queue = new PublishQueue(1, 8, 8, Duration.ofSeconds(15), new SimpleMeterRegistry());
+        queue.shutdownTimeout = Duration.ZERO;
+        var started = new CountDownLatch(1);
+        var ran = new AtomicBoolean();
+
+        var blocking = queue.admit();
+        queue.submit(blocking, "blocker", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.submit(queue.admit(), "foo.bar", () -> ran.set(true));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        queue.shutdown();
+        waitUntilIdle();
+        assertFalse(ran.get());
+        assertEquals(0, queue.getQueued());
+        assertEquals(0, queue.getAdmitted());
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        for(var i = 0; i < 500 && queue.getAdmitted() > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -143,6 +143,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findFileResourcesByExtensionVersionIdAndType(LONG_LIST, STRING_LIST),
                 () -> repositories.findActiveExtensionVersions(LONG_LIST, "targetPlatform"),
                 () -> repositories.findActiveExtension("name", "namespaceName"),
+                () -> repositories.findActiveExtensions(List.of(new ExtensionId("namespaceName", "extensionName"))),
                 () -> repositories.findActiveExtensionsById(LONG_LIST),
                 () -> repositories.findActiveExtensionsByPublicId(STRING_LIST, "namespaceName"),
                 () -> repositories.findNamespaceMemberships(LONG_LIST),
@@ -155,7 +156,10 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.findFilesByType(null),
                 () -> repositories.findVersions(),
                 () -> repositories.findVersionsWithout(keyPair),
+                () -> repositories.findVersionsWithout(keyPair, 0L, 1),
+                () -> repositories.setSignatureKeyPair(keyPair, LONG_LIST),
                 () -> repositories.deleteDownloadSigFiles(),
+                () -> repositories.deleteFiles(LONG_LIST),
                 () -> repositories.deleteAllKeyPairs(),
                 () -> repositories.findActiveVersionsSorted("namespaceName", "extensionName", page),
                 () -> repositories.findActiveVersionsSorted("namespaceName", "extensionName", "targetPlatform", page),
@@ -204,7 +208,7 @@ class RepositoryServiceSmokeTest {
                 () -> repositories.canPublishInNamespace(userData, namespace),
                 () -> repositories.findLatestVersion("namespaceName", "extensionName", "targetPlatform", false, false),
                 () -> repositories.hasMembership(userData, namespace),
-                () -> repositories.findFirstUnresolvedDependency(List.of(new ExtensionId("namespaceName", "extensionName"))),
+                () -> repositories.findUnresolvedDependencies(List.of(new ExtensionId("namespaceName", "extensionName"))),
                 () -> repositories.findAllAccessTokens(),
                 () -> repositories.hasAccessToken("tokenValue"),
                 () -> repositories.findSignatureKeyPairPublicId("namespaceName", "extensionName", "targetPlatform", "version"),
@@ -230,4 +234,40 @@ class RepositoryServiceSmokeTest {
                 .collect(toList());
         assertThat(invocations).containsAll(methodsToBeCalled);
     }
+
+    @Test
+    @Transactional
+    void testFindUnresolvedDependencies() {
+        var namespace1 = persistNamespace("dependencies1");
+        persistExtension(namespace1, "foo");
+        var namespace2 = persistNamespace("dependencies2");
+        persistExtension(namespace2, "bar");
+        em.flush();
+
+        // all unresolved ids are reported at once, in the given order
+        var unresolved = repositories.findUnresolvedDependencies(List.of(
+                new ExtensionId("dependencies1", "missing"),
+                new ExtensionId("Dependencies1", "Foo"),
+                new ExtensionId("unknown", "foo")
+        ));
+        assertThat(unresolved).containsExactly("dependencies1.missing", "unknown.foo");
+
+        // the namespace and the extension exist, but the extension belongs to another namespace
+        unresolved = repositories.findUnresolvedDependencies(List.of(new ExtensionId("dependencies1", "bar")));
+        assertThat(unresolved).containsExactly("dependencies1.bar");
+    }
+
+    private Namespace persistNamespace(String name) {
+        var namespace = new Namespace();
+        namespace.setName(name);
+        em.persist(namespace);
+        return namespace;
+    }
+
+    private void persistExtension(Namespace namespace, String name) {
+        var extension = new Extension();
+        extension.setName(name);
+        extension.setNamespace(namespace);
+        em.persist(extension);
+    }
 }
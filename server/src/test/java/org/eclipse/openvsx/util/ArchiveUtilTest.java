@@ -34,4 +34,24 @@ class ArchiveUtilTest {
         }
     }
 
+    @Test
+    void testSmallEntryInMemory() throws Exception {
+        var packageUrl = getClass().getResource("todo-tree.zip");
+        try (var archive = new ZipFile(packageUrl.getPath())) {
+            var iconFile = ArchiveUtil.readEntry(archive, "extension/resources/todo-tree.png");
+            assertThat(iconFile.isInMemory()).isTrue();
+            assertThat(iconFile.size()).isEqualTo(8854);
+            try (var in = iconFile.newInputStream()) {
+                assertThat(in.readAllBytes()).hasSize(8854);
+            }
+
+            var path = iconFile.getPath();
+            assertThat(iconFile.isInMemory()).isFalse();
+            assertThat(Files.size(path)).isEqualTo(8854);
+
+            iconFile.close();
+            assertThat(path).doesNotExist();
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChunkedListTest {
+
+    @Test
+    void testLoadChunksOnIteration() {
+        var loaded = new ArrayList<List<Integer>>();
+        var list = new ChunkedList<Integer, String>(List.of(1, 2, 3, 4, 5), 2, chunk -> {
+            loaded.add(List.copyOf(chunk));
+            return chunk.stream().map(i -> "e" + i).collect(Collectors.toList());
+        });
+
+        assertThat(loaded).isEmpty();
+        assertThat(list).hasSize(5);
+        assertThat(new ArrayList<>(list)).containsExactly("e1", "e2", "e3", "e4", "e5");
+        assertThat(loaded).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+    }
+
+    @Test
+    void testLoaderMustReturnOneElementPerKey() {
+        var list = new ChunkedList<Integer, String>(List.of(1, 2), 2, chunk -> List.of("e1"));
+        assertThatThrownBy(() -> list.get(0)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,56 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TempFileTest {
+
+    @Test
+    void testContentIsReleasedAfterOpenStreams() throws Exception {
+        var released = new ArrayList<byte[]>();
+        var content = "package.json".getBytes(StandardCharsets.UTF_8);
+        var file = TempFile.inMemory("test", ".json", content, content.length, released::add);
+
+        var in = file.newInputStream();
+        var path = file.getPath();
+        assertThat(released).isEmpty();
+
+        // the array isn't returned to the pool while the stream reads it
+        assertThat(in.readAllBytes()).isEqualTo(content);
+        in.close();
+        in.close();
+        assertThat(released).containsExactly(content);
+
+        file.close();
+        assertThat(released).hasSize(1);
+        assertThat(path).doesNotExist();
+    }
+
+    @Test
+    void testCloseWaitsForOpenStreams() throws Exception {
+        var released = new ArrayList<byte[]>();
+        var content = "package.json".getBytes(StandardCharsets.UTF_8);
+        var file = TempFile.inMemory("test", ".json", content, content.length, released::add);
+
+        try (var in = file.newInputStream()) {
+            file.close();
+            assertThat(released).isEmpty();
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+
+        assertThat(released).containsExactly(content);
+    }
+}
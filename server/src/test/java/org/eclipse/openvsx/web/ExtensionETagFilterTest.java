@@ -0,0 +1,196 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.openvsx.cache.CacheGenerations;
+import org.eclipse.openvsx.cache.ExtensionETagService;
+import org.eclipse.openvsx.cache.LocalCacheGenerations;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache;
+import org.eclipse.openvsx.entities.Extension;
+import org.eclipse.openvsx.entities.Namespace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtensionETagFilterTest {
+
+    private static final String URI = "/api/foo/bar/1.0.0";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private CacheGenerations generations;
+    private ExtensionETagService etags;
+    private ExtensionETagFilter filter;
+    private AtomicInteger calls;
+    private int status;
+    private boolean local;
+    private String body;
+
+    @BeforeEach
+    void setup() {
+        generations = new LocalCacheGenerations();
+        etags = new ExtensionETagService(generations, TTL);
+        filter = new ExtensionETagFilter(etags);
+        calls = new AtomicInteger();
+        status = HttpServletResponse.SC_OK;
+        local = true;
+        body = "{\"version\":\"1.0.0\"}";
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testOk() throws Exception {
+        var response = get(URI, null, filter, new ShallowEtagHeaderFilter());
+        assertEquals(200, response.getStatus());
+        assertEquals(body, response.getContentAsString());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testNotModifiedSkipsController() throws Exception {
+        var etag = get(URI, null, filter).getHeader(HttpHeaders.ETAG);
+        var response = get(URI, etag, filter);
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals("public, max-age=600", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testETagIsSharedByInstances() throws Exception {
+        var etag = get(URI, null, filter).getHeader(HttpHeaders.ETAG);
+        var otherInstance = new ExtensionETagFilter(new ExtensionETagService(generations, TTL));
+        var response = get(URI, etag, otherInstance);
+        // the other instance doesn't know the headers of a 304 yet, so the controller answers
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+
+        assertEquals(304, get(URI, etag, otherInstance).getStatus());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testEvictionOnOtherInstanceChangesETag() throws Exception {
+        var etag = get(URI, null, filter).getHeader(HttpHeaders.ETAG);
+        new ExtensionETagService(generations, TTL).evictExtension("foo", "bar");
+        body = "{\"version\":\"1.0.0\",\"downloadCount\":1}";
+        var response = get(URI, etag, filter);
+        assertEquals(200, response.getStatus());
+        assertEquals(body, response.getContentAsString());
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testETagChangesWithRoundedDownloadCount() throws Exception {
+        var extension = extension();
+        extension.setDownloadCount(1234);
+        etags.updateDownloadCount(extension);
+        var etag = get(URI, null, filter).getHeader(HttpHeaders.ETAG);
+
+        extension.setDownloadCount(1235);
+        etags.updateDownloadCount(extension);
+        assertEquals(304, get(URI, etag, filter).getStatus());
+
+        extension.setDownloadCount(1300);
+        etags.updateDownloadCount(extension);
+        assertEquals(200, get(URI, etag, filter).getStatus());
+    }
+
+    @Test
+    void testNotFound() throws Exception {
+        status = HttpServletResponse.SC_NOT_FOUND;
+        body = "{\"error\":\"Extension not found: foo.bar 1.0.0\"}";
+        var response = get(URI, null, filter, new ShallowEtagHeaderFilter());
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testUpstreamResponseHasNoETag() throws Exception {
+        local = false;
+        var response = get(URI, null, filter, new ShallowEtagHeaderFilter());
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testStalePrerenderedResponseIsRendered() throws Exception {
+        var prerendered = new PrerenderedResponseFilter(new PrerenderedResponseCache(TTL, 1024 * 1024, new SimpleMeterRegistry()));
+        get("/api/foo/bar", null, filter, prerendered);
+        get("/api/foo/bar", null, filter, prerendered);
+        assertEquals(1, calls.get());
+
+        // e.g. the eviction message of another instance didn't arrive
+        etags.evictExtension("foo", "bar");
+        body = "{\"version\":\"1.0.1\"}";
+        var response = get("/api/foo/bar", null, filter, prerendered);
+        assertEquals(2, calls.get());
+        assertEquals(body, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch, Filter... filters) throws Exception {
+        var request = new MockHttpServletRequest("GET", uri);
+        if(ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+
+        var response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        new MockFilterChain(new Controller(), filters).doFilter(request, response);
+        return response;
+    }
+
+    private Extension extension() {
+        var namespace = new Namespace();
+        namespace.setName("foo");
+        var extension = new Extension();
+        extension.setName("bar");
+        extension.setNamespace(namespace);
+        return extension;
+    }
+
+    private class Controller extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            calls.incrementAndGet();
+            if(local && status == HttpServletResponse.SC_OK) {
+                ExtensionETagFilter.markLocalResponse();
+            }
+
+            response.setStatus(status);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=600");
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/** ******************************************************************************
+ * Copyright (c) 2026 Precies. Software OU and others
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * ****************************************************************************** */
+package org.eclipse.openvsx.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.openvsx.cache.PrerenderedResponseCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.cors.CorsUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerenderedResponseFilterTest {
+
+    private static final String SMALL_BODY = "{\"name\":\"bar\"}";
+    private static final String LARGE_BODY = "{\"description\":\"" + "a".repeat(2048) + "\"}";
+
+    private PrerenderedResponseCache cache;
+    private PrerenderedResponseFilter filter;
+    private AtomicInteger renders;
+    private int status;
+    private boolean local;
+    private String body;
+
+    @BeforeEach
+    void setup() {
+        cache = new PrerenderedResponseCache(Duration.ofMinutes(10), 1024 * 1024, new SimpleMeterRegistry());
+        filter = new PrerenderedResponseFilter(cache);
+        renders = new AtomicInteger();
+        status = HttpServletResponse.SC_OK;
+        local = true;
+        body = SMALL_BODY;
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testMissIsRenderedByController() throws Exception {
+        var response = get("/api/foo/bar", null, null);
+        assertEquals(1, renders.get());
+        assertEquals(200, response.getStatus());
+        assertEquals(SMALL_BODY, response.getContentAsString());
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testHitSkipsController() throws Exception {
+        var miss = get("/api/foo/bar", null, null);
+        var hit = get("/api/foo/bar", null, null);
+        assertEquals(1, renders.get());
+        assertEquals(200, hit.getStatus());
+        assertEquals(SMALL_BODY, hit.getContentAsString());
+        assertEquals(miss.getHeader(HttpHeaders.ETAG), hit.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testNotModified() throws Exception {
+        var etag = get("/api/foo/bar", null, null).getHeader(HttpHeaders.ETAG);
+        var request = request("/api/foo/bar", null, null);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        var response = execute(request);
+        assertEquals(1, renders.get());
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testGzip() throws Exception {
+        body = LARGE_BODY;
+        get("/api/foo/bar", null, null);
+        var response = get("/api/foo/bar", null, "gzip, deflate");
+        assertEquals(1, renders.get());
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        try(var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(LARGE_BODY, new String(in.readAllBytes()));
+        }
+
+        var plain = get("/api/foo/bar", null, null);
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, plain.getContentAsString());
+    }
+
+    @Test
+    void testGzipHasOwnETag() throws Exception {
+        body = LARGE_BODY;
+        var plain = get("/api/foo/bar", null, null);
+        var gzip = get("/api/foo/bar", null, "gzip");
+        var etag = plain.getHeader(HttpHeaders.ETAG);
+        var gzipETag = gzip.getHeader(HttpHeaders.ETAG);
+        assertNotNull(gzipETag);
+        assertNotEquals(etag, gzipETag);
+
+        var request = request("/api/foo/bar", null, "gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertEquals(200, execute(request).getStatus());
+
+        request = request("/api/foo/bar", null, "gzip");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, gzipETag);
+        var response = execute(request);
+        assertEquals(304, response.getStatus());
+        assertEquals(gzipETag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void testSmallBodyIsNotCompressed() throws Exception {
+        get("/api/foo/bar", null, "gzip");
+        var response = get("/api/foo/bar", null, "gzip");
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Test
+    void testHeaderParity() throws Exception {
+        body = LARGE_BODY;
+        var miss = get("/api/foo/bar", "https://example.com", "gzip");
+        var hit = get("/api/foo/bar", "https://example.com", "gzip");
+        assertEquals(1, renders.get());
+        assertEquals(headers(miss), headers(hit));
+        assertEquals("*", hit.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("public, max-age=3600", hit.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void testCrossOriginHeadersOnlyForCorsRequests() throws Exception {
+        get("/api/foo/bar", "https://example.com", null);
+        var response = get("/api/foo/bar", null, null);
+        assertEquals(2, renders.get());
+        assertNull(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+
+        var hit = get("/api/foo/bar", null, null);
+        assertEquals(2, renders.get());
+        assertEquals(headers(response), headers(hit));
+    }
+
+    @Test
+    void testEviction() throws Exception {
+        get("/api/foo/bar", null, null);
+        get("/api/foo/details", null, null);
+        cache.evictExtension("Foo", "Bar");
+        get("/api/foo/bar", null, null);
+        get("/api/foo/details", null, null);
+        assertEquals(3, renders.get());
+
+        cache.evictNamespaceDetails("foo");
+        get("/api/foo/bar", null, null);
+        get("/api/foo/details", null, null);
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    void testErrorIsNotCached() throws Exception {
+        status = HttpServletResponse.SC_NOT_FOUND;
+        var response = get("/api/foo/bar", null, null);
+        get("/api/foo/bar", null, null);
+        assertEquals(2, renders.get());
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testUpstreamResponseIsNotCached() throws Exception {
+        local = false;
+        var response = get("/api/foo/bar", null, null);
+        get("/api/foo/bar", null, null);
+        assertEquals(2, renders.get());
+        assertEquals(SMALL_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void testQueryIsNotPrerenderable() throws Exception {
+        execute(request("/api/foo/bar", null, null));
+        var request = request("/api/foo/bar", null, null);
+        request.setQueryString("a=b");
+        var response = execute(request);
+        assertEquals(2, renders.get());
+        assertEquals(SMALL_BODY, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse get(String uri, String origin, String acceptEncoding) throws Exception {
+        return execute(request(uri, origin, acceptEncoding));
+    }
+
+    private MockHttpServletRequest request(String uri, String origin, String acceptEncoding) {
+        var request = new MockHttpServletRequest("GET", uri);
+        if(origin != null) {
+            request.addHeader(HttpHeaders.ORIGIN, origin);
+        }
+        if(acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        filter.doFilter(request, response, new MockFilterChain(new Controller()));
+        return response;
+    }
+
+    private Map<String, List<String>> headers(MockHttpServletResponse response) {
+        var headers = new LinkedHashMap<String, List<String>>();
+        for(var name : response.getHeaderNames()) {
+            headers.put(name, response.getHeaders(name));
+        }
+        return headers;
+    }
+
+    /**
+     * Writes the headers that a {@code @CrossOrigin} annotated controller method writes.
+     */
+    private class Controller extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            renders.incrementAndGet();
+            if(local && status == HttpServletResponse.SC_OK) {
+                ExtensionETagFilter.markLocalResponse();
+            }
+
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+            if(CorsUtils.isCorsRequest(request)) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+            }
+
+            response.setStatus(status);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=3600");
+            response.setContentType("application/json");
+            response.getWriter().write(body);
+        }
+    }
+}